@@ -1,11 +1,22 @@
 package co.edu.uniandes.dse.museoartemoderno.config;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import co.edu.uniandes.dse.museoartemoderno.controllers.CursorPagination;
+import co.edu.uniandes.dse.museoartemoderno.controllers.SparseFieldsFilter;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+
 @Configuration
 public class ApplicationConfig {
 	@Bean
@@ -19,9 +30,24 @@ public class ApplicationConfig {
 			@Override
 			public void addCorsMappings(CorsRegistry registry) {
 				registry.addMapping("/**").allowedOrigins("*").allowedMethods("GET", "POST", "PUT", "DELETE")
-						.maxAge(3600);
+						.exposedHeaders(CursorPagination.NEXT_CURSOR_HEADER, HttpHeaders.LINK).maxAge(3600);
 			}
 
 		};
 	}
+
+	/**
+	 * Asocia el filtro de ?fields= a los DTO (y a sus DTO de detalle); sin
+	 * seleccion se escriben todos los campos
+	 */
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+		return builder -> builder.filters(SparseFieldsFilter.ALL)
+				.mixIn(PaisDTO.class, SparseFieldsFilter.Filtered.class)
+				.mixIn(CiudadDTO.class, SparseFieldsFilter.Filtered.class)
+				.mixIn(MuseoDTO.class, SparseFieldsFilter.Filtered.class)
+				.mixIn(ArtistaDTO.class, SparseFieldsFilter.Filtered.class)
+				.mixIn(MovimientoArtisticoDTO.class, SparseFieldsFilter.Filtered.class)
+				.mixIn(ObraDTO.class, SparseFieldsFilter.Filtered.class);
+	}
 }
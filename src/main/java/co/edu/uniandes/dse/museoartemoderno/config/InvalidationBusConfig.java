@@ -0,0 +1,37 @@
+package co.edu.uniandes.dse.museoartemoderno.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import co.edu.uniandes.dse.museoartemoderno.services.JdbcInvalidationBus;
+
+/**
+ * Declara el InvalidationBus entre procesos (JdbcInvalidationBus, sobre la base
+ * de datos compartida) cuando museoartemoderno.invalidation.bus=jdbc, o cuando
+ * la propiedad vale auto (el valor por defecto) y museoartemoderno.cluster.nodes
+ * indica mas de un nodo. Con un solo nodo ClusterInvalidation usa el
+ * LoopbackInvalidationBus.
+ *
+ * El bus usa el DataSource de la aplicacion fuera de toda transaccion, asi que
+ * con replicas configuradas siempre escribe y lee en la primaria.
+ */
+@Configuration
+@ConditionalOnExpression("'${museoartemoderno.invalidation.bus:auto}' == 'jdbc' or "
+		+ "('${museoartemoderno.invalidation.bus:auto}' == 'auto' and ${museoartemoderno.cluster.nodes:1} > 1)")
+public class InvalidationBusConfig {
+
+	@Bean(destroyMethod = "close")
+	public JdbcInvalidationBus jdbcInvalidationBus(DataSource dataSource,
+			@Value("${museoartemoderno.invalidation.channel:museoartemoderno}") String channel,
+			@Value("${museoartemoderno.invalidation.poll-interval-ms:500}") long pollIntervalMillis,
+			@Value("${museoartemoderno.invalidation.overlap-ms:10000}") long overlapMillis,
+			@Value("${museoartemoderno.invalidation.retention-ms:600000}") long retentionMillis) {
+		JdbcInvalidationBus bus = new JdbcInvalidationBus(dataSource, channel, overlapMillis, retentionMillis);
+		bus.start(pollIntervalMillis);
+		return bus;
+	}
+}
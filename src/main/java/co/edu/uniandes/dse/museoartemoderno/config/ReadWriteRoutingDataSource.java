@@ -0,0 +1,142 @@
+package co.edu.uniandes.dse.museoartemoderno.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * DataSource que envia las transacciones de solo lectura
+ * (@Transactional(readOnly = true)) a las replicas, repartidas en orden
+ * circular, y todo lo demas (escrituras y lecturas fuera de una transaccion)
+ * a la primaria. Solo se usan las replicas que ReplicaLagMonitor reporta al
+ * dia y que ya ven el ultimo cambio confirmado; si ninguna lo esta la lectura
+ * va a la primaria y se cuenta como fallback.
+ *
+ * La ruta se decide al pedir la conexion, por eso debe usarse detras de un
+ * LazyConnectionDataSourceProxy: asi la conexion se pide con la primera
+ * sentencia, cuando la transaccion ya marco si es de solo lectura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	/**
+	 * Nombre de la ruta de la primaria
+	 */
+	public static final String PRIMARY = "primary";
+
+	private final Map<String, HikariDataSource> routes = new LinkedHashMap<>();
+
+	private final List<String> replicas;
+
+	private final ReplicaLagMonitor lagMonitor;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final Map<String, LongAdder> connections = new HashMap<>();
+
+	private final LongAdder fallbacks = new LongAdder();
+
+	/**
+	 * @param primary - Pool de la primaria
+	 * @param replicas - Pools de las replicas, por nombre de ruta
+	 * @param lagMonitor - Monitor del atraso de las replicas
+	 */
+	public ReadWriteRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas,
+			ReplicaLagMonitor lagMonitor) {
+		this.routes.put(PRIMARY, primary);
+		this.routes.putAll(replicas);
+		this.replicas = new ArrayList<>(replicas.keySet());
+		this.lagMonitor = lagMonitor;
+		for (String route : routes.keySet())
+			connections.put(route, new LongAdder());
+		setTargetDataSources(new HashMap<>(routes));
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String route = PRIMARY;
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !replicas.isEmpty()) {
+			route = replica();
+			if (route == null) {
+				route = PRIMARY;
+				fallbacks.increment();
+			}
+		}
+		connections.get(route).increment();
+		return route;
+	}
+
+	/**
+	 * @return - La siguiente replica al dia en orden circular, o null si ninguna lo esta
+	 */
+	private String replica() {
+		int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+		for (int i = 0; i < replicas.size(); i++) {
+			String replica = replicas.get((start + i) % replicas.size());
+			if (lagMonitor.isAvailable(replica))
+				return replica;
+		}
+		return null;
+	}
+
+	/**
+	 * @return - Metricas de cada ruta: conexiones entregadas, estado del pool y, en las replicas, atraso y disponibilidad
+	 */
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		for (Map.Entry<String, HikariDataSource> route : routes.entrySet()) {
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("connections", connections.get(route.getKey()).sum());
+			HikariPoolMXBean pool = route.getValue().getHikariPoolMXBean();
+			if (pool != null) {
+				values.put("active", pool.getActiveConnections());
+				values.put("idle", pool.getIdleConnections());
+				values.put("total", pool.getTotalConnections());
+				values.put("waiting", pool.getThreadsAwaitingConnection());
+			}
+			if (!PRIMARY.equals(route.getKey())) {
+				values.put("lagMillis", lagMonitor.getLag(route.getKey()));
+				values.put("available", lagMonitor.isAvailable(route.getKey()));
+			}
+			metrics.put(route.getKey(), values);
+		}
+		metrics.put("fallbacks", fallbacks.sum());
+		return metrics;
+	}
+
+	/**
+	 * @param route - Nombre de la ruta
+	 * @return - Numero de conexiones que se han entregado por la ruta
+	 */
+	public long getConnections(String route) {
+		LongAdder count = connections.get(route);
+		return count == null ? 0 : count.sum();
+	}
+
+	/**
+	 * @return - Numero de lecturas que fueron a la primaria porque ninguna replica estaba al dia
+	 */
+	public long getFallbacks() {
+		return fallbacks.sum();
+	}
+
+	/**
+	 * Cierra los pools de las replicas (el de la primaria es un bean aparte)
+	 */
+	@Override
+	public void close() {
+		for (String replica : replicas)
+			routes.get(replica).close();
+	}
+}
@@ -0,0 +1,195 @@
+package co.edu.uniandes.dse.museoartemoderno.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import co.edu.uniandes.dse.museoartemoderno.services.KeysAddedEvent;
+import co.edu.uniandes.dse.museoartemoderno.services.ResourceChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mide el atraso de cada replica con un latido: escribe la hora actual en la
+ * tabla replica_heartbeat de la base primaria y la lee en cada replica; el
+ * atraso es la diferencia entre la hora actual y el latido que ve la replica.
+ * Una replica esta disponible si la ultima medicion funciono y su atraso no
+ * supera el maximo. Antes de la primera medicion, y cuando no se puede escribir
+ * el latido en la primaria, ninguna replica esta disponible, de modo que las
+ * lecturas van a la primaria.
+ *
+ * Cada cambio confirmado (ResourceChangedEvent o KeysAddedEvent, propio o de
+ * otra instancia) tambien saca las replicas hasta que ven un latido escrito
+ * despues de la confirmacion: los caches se invalidan justo despues del cambio
+ * y, sin esto, la siguiente lectura podria volver a llenarlos desde una replica
+ * que aun no tiene el cambio, o no encontrar un recurso recien creado.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+	private static final String WRITE_BEAT = "update replica_heartbeat set beat = ? where id = 1";
+
+	private static final String READ_BEAT = "select beat from replica_heartbeat where id = 1";
+
+	private final DataSource primary;
+
+	private final Map<String, DataSource> replicas;
+
+	private final long maxLagMillis;
+
+	/**
+	 * Atraso medido de cada replica; -1 si la ultima medicion fallo
+	 */
+	private final Map<String, Long> lags = new ConcurrentHashMap<>();
+
+	/**
+	 * Ultimo latido que vio cada replica; -1 si la ultima medicion fallo
+	 */
+	private final Map<String, Long> beats = new ConcurrentHashMap<>();
+
+	/**
+	 * Hora del ultimo cambio confirmado: las replicas deben ver un latido posterior
+	 */
+	private final AtomicLong lastChange = new AtomicLong();
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "replica-lag-monitor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis) {
+		this.primary = primary;
+		this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+		this.maxLagMillis = maxLagMillis;
+		for (String replica : replicas.keySet()) {
+			lags.put(replica, -1L);
+			beats.put(replica, -1L);
+		}
+	}
+
+	/**
+	 * Empieza a medir el atraso periodicamente
+	 * @param intervalMillis - Tiempo entre mediciones
+	 */
+	public void start(long intervalMillis) {
+		scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Escribe un latido en la primaria y mide el atraso de cada replica
+	 */
+	public void check() {
+		long now = System.currentTimeMillis();
+		try (Connection connection = primary.getConnection(); PreparedStatement statement = connection.prepareStatement(WRITE_BEAT)) {
+			statement.setLong(1, now);
+			statement.executeUpdate();
+			if (!connection.getAutoCommit())
+				connection.commit();
+		} catch (SQLException e) {
+			// Sin latido nuevo no se puede medir el atraso: ninguna replica recibe lecturas hasta la siguiente medicion
+			log.debug("No se pudo escribir el latido en la primaria: {}", e.getMessage());
+			for (String replica : replicas.keySet())
+				update(replica, -1);
+			return;
+		}
+		for (Map.Entry<String, DataSource> replica : replicas.entrySet())
+			update(replica.getKey(), measure(replica.getKey(), replica.getValue()));
+	}
+
+	/**
+	 * Lleva las lecturas a la primaria hasta que las replicas vean el cambio.
+	 * Se ejecuta antes que los listeners que invalidan los caches.
+	 * @param event - Cambio confirmado en esta instancia o recibido de otra
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onResourceChanged(ResourceChangedEvent event) {
+		lastChange.accumulateAndGet(System.currentTimeMillis(), Math::max);
+	}
+
+	/**
+	 * Lleva las lecturas a la primaria hasta que las replicas vean los recursos creados
+	 * @param event - Llaves nuevas escritas en esta instancia o recibidas de otra
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onKeysAdded(KeysAddedEvent event) {
+		lastChange.accumulateAndGet(System.currentTimeMillis(), Math::max);
+	}
+
+	/**
+	 * @return - Replicas que se miden, por nombre
+	 */
+	public Map<String, DataSource> getReplicas() {
+		return replicas;
+	}
+
+	/**
+	 * @param replica - Nombre de la replica
+	 * @return - true si la replica se puede usar para lecturas
+	 */
+	public boolean isAvailable(String replica) {
+		return withinLag(getLag(replica)) && beats.getOrDefault(replica, -1L) > lastChange.get();
+	}
+
+	/**
+	 * @param replica - Nombre de la replica
+	 * @return - Atraso de la ultima medicion en milisegundos, -1 si fallo o no se ha medido
+	 */
+	public long getLag(String replica) {
+		return lags.getOrDefault(replica, -1L);
+	}
+
+	private boolean withinLag(long lag) {
+		return lag >= 0 && lag <= maxLagMillis;
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * @return - Latido que ve la replica, -1 si no se pudo leer
+	 */
+	private long measure(String name, DataSource replica) {
+		try (Connection connection = replica.getConnection();
+				PreparedStatement statement = connection.prepareStatement(READ_BEAT);
+				ResultSet result = statement.executeQuery()) {
+			if (!result.next())
+				return -1;
+			return result.getLong(1);
+		} catch (SQLException e) {
+			log.debug("No se pudo leer el latido de la replica {}: {}", name, e.getMessage());
+			return -1;
+		}
+	}
+
+	private void update(String replica, long beat) {
+		long lag = beat < 0 ? -1 : Math.max(0, System.currentTimeMillis() - beat);
+		// El aviso solo depende del atraso: lo que cambia con cada escritura no se registra
+		boolean wasAvailable = withinLag(getLag(replica));
+		lags.put(replica, lag);
+		beats.put(replica, beat);
+		boolean available = withinLag(lag);
+		if (wasAvailable && !available)
+			log.warn("La replica {} deja de recibir lecturas (atraso {} ms, maximo {} ms)", replica, lag, maxLagMillis);
+		else if (!wasAvailable && available)
+			log.info("La replica {} recibe lecturas (atraso {} ms)", replica, lag);
+	}
+}
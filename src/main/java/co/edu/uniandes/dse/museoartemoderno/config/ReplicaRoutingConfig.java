@@ -0,0 +1,91 @@
+package co.edu.uniandes.dse.museoartemoderno.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Separa lecturas y escrituras cuando se configuran replicas con
+ * museoartemoderno.datasource.replica-urls (URLs JDBC separadas por comas, con
+ * el mismo usuario y clave de la primaria). Sin esa propiedad la aplicacion
+ * usa el DataSource de siempre.
+ *
+ * Para pruebas locales una replica puede ser la misma base H2 en memoria
+ * (jdbc:h2:mem:museoartemoderno) abierta por un pool aparte, que siempre esta
+ * al dia.
+ */
+@Configuration
+@ConditionalOnProperty("museoartemoderno.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+	@Bean(destroyMethod = "close")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+		return primary;
+	}
+
+	@Bean(destroyMethod = "close")
+	public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, DataSourceProperties properties,
+			@Value("${museoartemoderno.datasource.replica-urls}") String replicaUrls,
+			@Value("${museoartemoderno.datasource.max-replica-lag-ms:5000}") long maxLagMillis,
+			@Value("${museoartemoderno.datasource.heartbeat-interval-ms:1000}") long intervalMillis) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		String[] urls = StringUtils.commaDelimitedListToStringArray(replicaUrls);
+		for (int i = 0; i < urls.length; i++) {
+			String name = "replica-" + (i + 1);
+			HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+					.url(urls[i].trim()).build();
+			replica.setPoolName(name);
+			replica.setReadOnly(true);
+			replicas.put(name, replica);
+		}
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource, replicas, maxLagMillis);
+		monitor.start(intervalMillis);
+		return monitor;
+	}
+
+	@Bean(destroyMethod = "close")
+	public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+			ReplicaLagMonitor replicaLagMonitor) {
+		Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+		for (Map.Entry<String, DataSource> replica : replicaLagMonitor.getReplicas().entrySet())
+			replicas.put(replica.getKey(), (HikariDataSource) replica.getValue());
+		return new ReadWriteRoutingDataSource(primaryDataSource, replicas, replicaLagMonitor);
+	}
+
+	/**
+	 * DataSource de la aplicacion (JPA y Flyway): pide la conexion real con la
+	 * primera sentencia, cuando ya se sabe si la transaccion es de solo lectura
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+	}
+
+	/**
+	 * Con open-in-view el EntityManager vive toda la peticion; Hibernate debe
+	 * devolver la conexion al terminar cada transaccion para que la siguiente
+	 * vuelva a elegir ruta (si no, una escritura despues de una lectura usaria la
+	 * conexion de la replica)
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+		return properties -> properties.put("hibernate.connection.handling_mode",
+				"DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+	}
+}
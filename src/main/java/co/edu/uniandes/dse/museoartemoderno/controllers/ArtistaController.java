@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
@@ -31,36 +35,70 @@ public class ArtistaController {
 	private ArtistaService artistaService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private SparseFieldsets sparseFieldsets;
+
+	@Autowired
+	private JsonListStreamer jsonListStreamer;
+
+	@Autowired
+	private DetailResponseCache detailResponseCache;
+
+	@Autowired
+	private DetailAssembler detailAssembler;
 
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public ArtistaDTO create(@RequestBody ArtistaDTO artistaDTO) throws IllegalOperationException, EntityNotFoundException {
-		ArtistaEntity artistaEntity = artistaService.createArtista(modelMapper.map(artistaDTO, ArtistaEntity.class));
-		return modelMapper.map(artistaEntity, ArtistaDTO.class);	
+		ArtistaEntity artistaEntity = artistaService.createArtista(dtoMapper.map(artistaDTO, ArtistaEntity.class));
+		return dtoMapper.map(artistaEntity, ArtistaDTO.class);	
 	}
 
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<ArtistaDetailDTO> findAll() {
-		List<ArtistaEntity> books = artistaService.getArtistas();
-		return modelMapper.map(books, new TypeToken<List<ArtistaDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<?> findAll(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException {
+		int pageSize = CursorPagination.limit(limit);
+		FieldSelection selection = FieldSelection.parse(fields);
+		if (sparseFieldsets.supports(ArtistaDTO.class, selection))
+			return sparseFieldsets.page(ArtistaEntity.class, ArtistaDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+					EntityTags.REVALIDATE);
+		Expansion expansion = Expansion.of(expand, selection);
+		List<ArtistaEntity> artistas = artistaService.getArtistas(CursorPagination.decode(after), pageSize,
+				expansion.getFetchPaths(ArtistaDetailDTO.class));
+		CursorPagination.writeNextCursor(response, artistas, pageSize);
+		return EntityTags.respond(request, artistas, () -> detailAssembler.artistaDetails(artistas, expansion));
+	}
+
+	/**
+	 * Devuelve todos los artistas como un arreglo JSON que se escribe por partes (ver JsonListStreamer)
+	 */
+	@GetMapping(value = "/stream")
+	public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe) {
+		FieldSelection selection = FieldSelection.parse(fields);
+		Expansion expansion = Expansion.of(expand, selection, dedupe);
+		List<String> paths = expansion.getFetchPaths(ArtistaDetailDTO.class);
+		return jsonListStreamer.stream((cursor, size) -> artistaService.getArtistas(cursor, size, paths),
+				ArtistaEntity::getId, artistas -> detailAssembler.artistaDetails(artistas, expansion), ArtistaDetailDTO.class, selection,
+				expansion);
 	}
 	
 	@GetMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public ArtistaDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-            ArtistaEntity artistaEntity = artistaService.getArtista(id);
-            return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+    public ResponseEntity<byte[]> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe, WebRequest request) throws EntityNotFoundException {
+            Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields), dedupe);
+            return detailResponseCache.get(ArtistaEntity.class, id, expansion, request,
+            		() -> artistaService.getArtista(id, expansion.getFetchPaths(ArtistaDetailDTO.class)),
+            		artista -> detailAssembler.artistaDetail(artista, expansion));
     }
 	
 	@PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public ArtistaDTO update(@PathVariable("id") Long id, @RequestBody ArtistaDTO artistaDTO)
                     throws EntityNotFoundException, IllegalOperationException {
-            ArtistaEntity artistaEntity = artistaService.updateArtista(id, modelMapper.map(artistaDTO, ArtistaEntity.class));
-            return modelMapper.map(artistaEntity, ArtistaDTO.class);
+            ArtistaEntity artistaEntity = artistaService.updateArtista(id, dtoMapper.map(artistaDTO, ArtistaEntity.class));
+            return dtoMapper.map(artistaEntity, ArtistaDTO.class);
     }
 	
 	@DeleteMapping(value = "/{id}")
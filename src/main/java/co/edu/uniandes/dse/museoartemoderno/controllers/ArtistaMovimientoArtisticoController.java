@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
@@ -31,38 +34,37 @@ public class ArtistaMovimientoArtisticoController {
 	private ArtistaMovimientoArtisticoService artistaMovimientoArtisticoService;
 	
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 	
 	@PostMapping(value = "/{artistaId}/movimientos/{movimientoId}")
     @ResponseStatus(code = HttpStatus.OK)
     public MovimientoArtisticoDetailDTO addMovimiento(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
             MovimientoArtisticoEntity movimientoEntity = artistaMovimientoArtisticoService.addMovimientoArtistico(artistaId, movimientoId);
-            return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+            return dtoMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{artistaId}/movimientos/{movimientoId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public MovimientoArtisticoDetailDTO getMovimiento(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException, IllegalOperationException {
+    public ResponseEntity<MovimientoArtisticoDetailDTO> getMovimiento(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 			MovimientoArtisticoEntity movimientoArtisticoEntity = artistaMovimientoArtisticoService.getMovimientoArtistico(artistaId, movimientoId);
-            return modelMapper.map(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class);
+            return EntityTags.respond(request, movimientoArtisticoEntity, () -> dtoMapper.map(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class));
     }
 	
 	@PutMapping(value = "/{artistaId}/movimientos")
     @ResponseStatus(code = HttpStatus.OK)
     public List<MovimientoArtisticoDetailDTO> addMovimientos(@PathVariable("artistaId") Long artistaId, @RequestBody List<MovimientoArtisticoDTO> movimientos) throws EntityNotFoundException {
-            List<MovimientoArtisticoEntity> entities = modelMapper.map(movimientos, new TypeToken<List<MovimientoArtisticoEntity>>() {
-            }.getType());
+            List<MovimientoArtisticoEntity> entities = dtoMapper.mapAll(movimientos, MovimientoArtisticoEntity.class);
             List<MovimientoArtisticoEntity> authorsList = artistaMovimientoArtisticoService.replaceMovimientosArtisticos(artistaId, entities);
-            return modelMapper.map(authorsList, new TypeToken<List<MovimientoArtisticoDetailDTO>>() {
-            }.getType());
+            return dtoMapper.mapAll(authorsList, MovimientoArtisticoDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{artistaId}/movimientos")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<MovimientoArtisticoDetailDTO> getMovimientos(@PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
-            List<MovimientoArtisticoEntity> movimientoArtisticoEntity = artistaMovimientoArtisticoService.getMovimientosArtisticos(artistaId);
-            return modelMapper.map(movimientoArtisticoEntity, new TypeToken<List<MovimientoArtisticoDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<MovimientoArtisticoDetailDTO>> getMovimientos(@PathVariable("artistaId") Long artistaId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<MovimientoArtisticoEntity> movimientoArtisticoEntity = artistaMovimientoArtisticoService.getMovimientosArtisticos(artistaId, CursorPagination.decode(after), pageSize);
+            CursorPagination.writeNextCursor(response, movimientoArtisticoEntity, pageSize);
+            return EntityTags.respond(request, movimientoArtisticoEntity, () -> dtoMapper.mapAll(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class));
     }
 
 	@DeleteMapping(value = "/{artistaId}/movimientos/{movimientoId}")
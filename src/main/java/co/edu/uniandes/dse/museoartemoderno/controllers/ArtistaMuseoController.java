@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
@@ -31,39 +34,38 @@ public class ArtistaMuseoController {
 	private ArtistaMuseoService artistaMuseoService;
 
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{artistaId}/museos/{museoId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public MuseoDetailDTO addMuseo(@PathVariable("museoId") Long museoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
 		MuseoEntity museoEntity = artistaMuseoService.addMuseo(artistaId, museoId);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return dtoMapper.map(museoEntity, MuseoDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{artistaId}/museos/{museoId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public MuseoDetailDTO getMuseo(@PathVariable("museoId") Long museoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException, IllegalOperationException {
+	public ResponseEntity<MuseoDetailDTO> getMuseo(@PathVariable("museoId") Long museoId, @PathVariable("artistaId") Long artistaId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 		MuseoEntity museoEntity = artistaMuseoService.getMuseo(artistaId, museoId);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return EntityTags.respond(request, museoEntity, () -> dtoMapper.map(museoEntity, MuseoDetailDTO.class));
 	}
 
 	@PutMapping(value = "/{artistaId}/museos")
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<MuseoDetailDTO> addMuseos(@PathVariable("artistaId") Long artistaId, @RequestBody List<MuseoDTO> museos)
 			throws EntityNotFoundException {
-		List<MuseoEntity> entities = modelMapper.map(museos, new TypeToken<List<MuseoEntity>>() {
-		}.getType());
+		List<MuseoEntity> entities = dtoMapper.mapAll(museos, MuseoEntity.class);
 		List<MuseoEntity> museosList = artistaMuseoService.replaceMuseos(artistaId, entities);
-		return modelMapper.map(museosList, new TypeToken<List<MuseoDetailDTO>>() {
-		}.getType());
+		return dtoMapper.mapAll(museosList, MuseoDetailDTO.class);
 	}
 	
 	@GetMapping(value = "/{artistaId}/museos")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<MuseoDetailDTO> getMuseos(@PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
-            List<MuseoEntity> museoEntity = artistaMuseoService.getMuseos(artistaId);
-            return modelMapper.map(museoEntity, new TypeToken<List<MuseoDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<MuseoDetailDTO>> getMuseos(@PathVariable("artistaId") Long artistaId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<MuseoEntity> museoEntity = artistaMuseoService.getMuseos(artistaId, CursorPagination.decode(after), pageSize);
+            CursorPagination.writeNextCursor(response, museoEntity, pageSize);
+            return EntityTags.respond(request, museoEntity, () -> dtoMapper.mapAll(museoEntity, MuseoDetailDTO.class));
     }
 	
 	@DeleteMapping(value = "/{artistaId}/museos/{museoId}")
@@ -2,18 +2,21 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
@@ -30,37 +33,37 @@ public class ArtistaObraController {
 	private ArtistaObraService artistaObraService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{artistaId}/obras/{obraId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ObraDetailDTO addObra(@PathVariable("obraId") Long obraId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
 		ObraEntity obraEntity = artistaObraService.addObra(artistaId, obraId);
-		return modelMapper.map(obraEntity, ObraDetailDTO.class);
+		return dtoMapper.map(obraEntity, ObraDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{artistaId}/obras/{obraId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public ObraDetailDTO getObra(@PathVariable("obraId") Long obraId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException, IllegalOperationException {
+    public ResponseEntity<ObraDetailDTO> getObra(@PathVariable("obraId") Long obraId, @PathVariable("artistaId") Long artistaId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 			ObraEntity obraEntity = artistaObraService.getObra(artistaId, obraId);
-            return modelMapper.map(obraEntity, ObraDetailDTO.class);
+            return EntityTags.respond(request, obraEntity, () -> dtoMapper.map(obraEntity, ObraDetailDTO.class));
     }
 	
 	@PutMapping(value = "/{artistaId}/obras")
     @ResponseStatus(code = HttpStatus.OK)
     public List<ObraDetailDTO> addObras(@PathVariable("artistaId") Long artistaId, @RequestBody List<ObraDTO> obras) throws EntityNotFoundException {
-            List<ObraEntity> entities = modelMapper.map(obras, new TypeToken<List<ObraEntity>>() {
-            }.getType());
+            List<ObraEntity> entities = dtoMapper.mapAll(obras, ObraEntity.class);
             List<ObraEntity> obrasList = artistaObraService.replaceObras(artistaId, entities);
-            return modelMapper.map(obrasList, new TypeToken<List<ObraDetailDTO>>() {
-            }.getType());
+            return dtoMapper.mapAll(obrasList, ObraDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{artistaId}/obras")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ObraDetailDTO> getObras(@PathVariable("artistaId") Long artistaId) throws EntityNotFoundException {
-            List<ObraEntity> obraEntity = artistaObraService.getObras(artistaId);
-            return modelMapper.map(obraEntity, new TypeToken<List<ObraDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<ObraDetailDTO>> getObras(@PathVariable("artistaId") Long artistaId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<ObraEntity> obras = artistaObraService.getObras(artistaId, CursorPagination.decode(after), pageSize,
+            		Expansion.parse(expand).getFetchPaths(ObraDetailDTO.class));
+            CursorPagination.writeNextCursor(response, obras, pageSize);
+            return EntityTags.respond(request, obras, () -> dtoMapper.mapAll(obras, ObraDetailDTO.class));
     }
 }
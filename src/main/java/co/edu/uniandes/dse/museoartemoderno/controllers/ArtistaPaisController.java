@@ -1,6 +1,5 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,19 +23,19 @@ public class ArtistaPaisController {
 	private ArtistaPaisService artistaPaisService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 	
 	@PutMapping(value = "/{artistaId}/lugarNacimiento")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ArtistaDetailDTO replacePaisNacimiento(@PathVariable("artistaId") Long artistaId, @RequestBody PaisDTO paisDTO) throws EntityNotFoundException {
 		ArtistaEntity artistaEntity = artistaPaisService.replaceLugarNacimiento(artistaId, paisDTO.getId());
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return dtoMapper.map(artistaEntity, ArtistaDetailDTO.class);
 	}
 	
 	@PutMapping(value = "/{artistaId}/lugarFallecimiento")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ArtistaDetailDTO replacePaisFallecimiento(@PathVariable("artistaId") Long artistaId, @RequestBody PaisDTO paisDTO) throws EntityNotFoundException {
 		ArtistaEntity artistaEntity = artistaPaisService.replaceLugarFallecimiento(artistaId, paisDTO.getId());
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return dtoMapper.map(artistaEntity, ArtistaDetailDTO.class);
 	}
 }
@@ -1,18 +1,21 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
 import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
@@ -25,36 +28,48 @@ public class CiudadController {
     @Autowired
 	private CiudadService ciudadService;
     @Autowired
-    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private SparseFieldsets sparseFieldsets;
+
     
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     public CiudadDTO create(@RequestBody CiudadDTO ciudadDTO) throws IllegalOperationException, EntityNotFoundException {
-    	CiudadEntity ciudadEntity = ciudadService.createCiudad(modelMapper.map(ciudadDTO, CiudadEntity.class));
+    	CiudadEntity ciudadEntity = ciudadService.createCiudad(dtoMapper.map(ciudadDTO, CiudadEntity.class));
     	
-     return modelMapper.map(ciudadEntity, CiudadDTO.class);
+     return dtoMapper.map(ciudadEntity, CiudadDTO.class);
     }
     
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<CiudadDTO> findAll() {
-            List<CiudadEntity> ciudades = ciudadService.getCiudades();
-            return modelMapper.map(ciudades, new TypeToken<List<CiudadDTO>>() {
-            }.getType());
+    public ResponseEntity<?> findAll(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            FieldSelection selection = FieldSelection.parse(fields);
+            if (sparseFieldsets.supports(CiudadDTO.class, selection))
+            	return sparseFieldsets.page(CiudadEntity.class, CiudadDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+            			EntityTags.REFERENCE_DATA);
+            Expansion expansion = Expansion.of(expand, selection);
+            List<CiudadEntity> ciudades = ciudadService.getCiudades(CursorPagination.decode(after), pageSize,
+            		expansion.getFetchPaths(CiudadDTO.class));
+            CursorPagination.writeNextCursor(response, ciudades, pageSize);
+            return EntityTags.respond(request, ciudades, EntityTags.REFERENCE_DATA, () -> dtoMapper.mapAll(ciudades, CiudadDTO.class));
     }
     
     @GetMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public CiudadDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-            CiudadEntity ciudadEntity = ciudadService.getCiudad(id);
-            return modelMapper.map(ciudadEntity, CiudadDTO.class);
+    public ResponseEntity<CiudadDTO> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, WebRequest request) throws EntityNotFoundException {
+            Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields));
+            CiudadEntity ciudadEntity = ciudadService.getCiudad(id, expansion.getFetchPaths(CiudadDTO.class));
+            return EntityTags.respond(request, ciudadEntity, EntityTags.REFERENCE_DATA, () -> dtoMapper.map(ciudadEntity, CiudadDTO.class));
     }
     @PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public CiudadDTO update(@PathVariable("id") Long id, @RequestBody CiudadDTO ciudadDTO)
                     throws EntityNotFoundException, IllegalOperationException {
-            CiudadEntity ciudadEntity = ciudadService.updateCiudad(id, modelMapper.map(ciudadDTO, CiudadEntity.class));
-            return modelMapper.map(ciudadEntity, CiudadDTO.class);
+            CiudadEntity ciudadEntity = ciudadService.updateCiudad(id, dtoMapper.map(ciudadDTO, CiudadEntity.class));
+            return dtoMapper.map(ciudadEntity, CiudadDTO.class);
     }
     
     
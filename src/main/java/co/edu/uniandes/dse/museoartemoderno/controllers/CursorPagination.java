@@ -0,0 +1,107 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.IllegalOperationException;
+
+/**
+ * Utilidades para la paginacion por cursor (?after=&lt;cursor&gt;&amp;limit=) de los
+ * endpoints que devuelven colecciones. El cursor es opaco para el cliente y
+ * codifica el id del ultimo elemento entregado, que los repositorios usan como
+ * predicado de busqueda (id &gt; cursor) en lugar de un OFFSET.
+ *
+ * Las colecciones siempre se entregan por paginas: una peticion sin limit
+ * recibe los primeros DEFAULT_LIMIT elementos, no la coleccion completa como
+ * antes de la paginacion. Cuando hay mas elementos, la respuesta trae el
+ * cursor siguiente en X-Next-Cursor y el enlace completo a la siguiente pagina
+ * en la cabecera Link (rel="next"), con los demas parametros de la peticion;
+ * el cliente sigue ese enlace hasta que la respuesta no lo trae.
+ */
+public final class CursorPagination {
+
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	public static final int DEFAULT_LIMIT = 50;
+
+	public static final int MAX_LIMIT = 500;
+
+	private CursorPagination() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Decodifica el cursor recibido por parametro
+	 * @param cursor - Cursor opaco entregado en una respuesta anterior, puede ser nulo
+	 * @return - Id a partir del cual se debe buscar (0 para la primera pagina)
+	 * @throws IllegalOperationException - Exception que se lanza si el cursor no es valido
+	 */
+	public static Long decode(String cursor) throws IllegalOperationException {
+		if (cursor == null || cursor.isEmpty())
+			return 0L;
+		try {
+			return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalOperationException("Cursor is not valid");
+		}
+	}
+
+	/**
+	 * Codifica el id del ultimo elemento de una pagina como cursor opaco
+	 * @param id - Id del ultimo elemento entregado
+	 * @return - Cursor para pedir la siguiente pagina
+	 */
+	public static String encode(Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Valida el tamano de pagina pedido por el cliente
+	 * @param limit - Tamano de pagina pedido, puede ser nulo
+	 * @return - Tamano de pagina a usar
+	 * @throws IllegalOperationException - Exception que se lanza si el limite no es valido
+	 */
+	public static int limit(Integer limit) throws IllegalOperationException {
+		if (limit == null)
+			return DEFAULT_LIMIT;
+		if (limit < 1 || limit > MAX_LIMIT)
+			throw new IllegalOperationException("Limit is not valid");
+		return limit;
+	}
+
+	/**
+	 * Agrega a la respuesta el cursor y el enlace de la siguiente pagina si la pagina actual esta llena
+	 * @param response - Respuesta HTTP
+	 * @param page - Elementos de la pagina actual, ordenados por id
+	 * @param limit - Tamano de pagina usado en la consulta
+	 */
+	public static void writeNextCursor(HttpServletResponse response, List<? extends BaseEntity> page, int limit) {
+		writeNextCursor(response, page, BaseEntity::getId, limit);
+	}
+
+	/**
+	 * Agrega a la respuesta el cursor y el enlace de la siguiente pagina si la pagina actual esta llena
+	 * @param response - Respuesta HTTP
+	 * @param page - Elementos de la pagina actual (entidades o proyecciones), ordenados por id
+	 * @param id - Funcion que extrae el id de un elemento de la pagina
+	 * @param limit - Tamano de pagina usado en la consulta
+	 */
+	public static <T> void writeNextCursor(HttpServletResponse response, List<T> page, Function<? super T, Long> id, int limit) {
+		if (page.size() != limit)
+			return;
+		String cursor = encode(id.apply(page.get(page.size() - 1)));
+		response.setHeader(NEXT_CURSOR_HEADER, cursor);
+		if (RequestContextHolder.getRequestAttributes() != null)
+			response.setHeader(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", cursor).replaceQueryParam("limit", limit).toUriString() + ">; rel=\"next\"");
+	}
+}
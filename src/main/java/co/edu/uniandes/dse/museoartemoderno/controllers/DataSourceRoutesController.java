@@ -0,0 +1,32 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.museoartemoderno.config.ReadWriteRoutingDataSource;
+
+/**
+ * Metricas de cada ruta del DataSource (primaria y replicas, ver
+ * ReadWriteRoutingDataSource). Responde 404 si no hay replicas configuradas.
+ */
+@RestController
+@RequestMapping("/datasource/routes")
+public class DataSourceRoutesController {
+
+	@Autowired
+	private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+	@GetMapping
+	public ResponseEntity<Map<String, Object>> routes() {
+		ReadWriteRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+		if (dataSource == null)
+			return ResponseEntity.notFound().build();
+		return ResponseEntity.ok(dataSource.getMetrics());
+	}
+}
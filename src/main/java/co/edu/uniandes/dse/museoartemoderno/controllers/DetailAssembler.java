@@ -0,0 +1,135 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+
+/**
+ * Arma los DTOs de detalle a partir de los fragmentos del DtoFragmentCache: los
+ * campos propios del recurso salen de su fragmento plano y cada museo, artista,
+ * obra o movimiento anidado es el fragmento de esa entidad, compartido con las
+ * demas respuestas que la contienen. Las entidades deben venir con las
+ * asociaciones de la expansion ya cargadas (ver FetchPlanService).
+ */
+@Component
+public class DetailAssembler {
+
+	@Autowired
+	private DtoFragmentCache fragments;
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	/**
+	 * Arma el detalle de un museo
+	 * @param museo - Entidad del museo
+	 * @param expansion - Asociaciones expandidas (cargadas en la entidad)
+	 * @return - Detalle del museo
+	 */
+	public MuseoDetailDTO museoDetail(MuseoEntity museo, Expansion expansion) {
+		MuseoDetailDTO detail = dtoMapper.map(fragments.get(MuseoEntity.class, museo, MuseoDTO.class, expansion), MuseoDetailDTO.class);
+		detail.setArtistas(fragments.getAll(ArtistaEntity.class, museo.getArtistas(), ArtistaDTO.class, expansion.get("artistas")));
+		detail.setObras(fragments.getAll(ObraEntity.class, museo.getObras(), ObraDTO.class, expansion.get("obras")));
+		detail.setMovimientos(fragments.getAll(MovimientoArtisticoEntity.class, museo.getMovimientos(), MovimientoArtisticoDTO.class,
+				expansion.get("movimientos")));
+		return detail;
+	}
+
+	/**
+	 * Arma el detalle de un artista
+	 * @param artista - Entidad del artista
+	 * @param expansion - Asociaciones expandidas (cargadas en la entidad)
+	 * @return - Detalle del artista
+	 */
+	public ArtistaDetailDTO artistaDetail(ArtistaEntity artista, Expansion expansion) {
+		ArtistaDetailDTO detail = dtoMapper.map(fragments.get(ArtistaEntity.class, artista, ArtistaDTO.class, expansion),
+				ArtistaDetailDTO.class);
+		detail.setMuseos(fragments.getAll(MuseoEntity.class, artista.getMuseos(), MuseoDTO.class, expansion.get("museos")));
+		detail.setObras(fragments.getAll(ObraEntity.class, artista.getObras(), ObraDTO.class, expansion.get("obras")));
+		detail.setMovimientos(fragments.getAll(MovimientoArtisticoEntity.class, artista.getMovimientos(), MovimientoArtisticoDTO.class,
+				expansion.get("movimientos")));
+		return detail;
+	}
+
+	/**
+	 * Arma el detalle de un movimiento artistico
+	 * @param movimiento - Entidad del movimiento
+	 * @param expansion - Asociaciones expandidas (cargadas en la entidad)
+	 * @return - Detalle del movimiento
+	 */
+	public MovimientoArtisticoDetailDTO movimientoArtisticoDetail(MovimientoArtisticoEntity movimiento, Expansion expansion) {
+		MovimientoArtisticoDetailDTO detail = dtoMapper.map(
+				fragments.get(MovimientoArtisticoEntity.class, movimiento, MovimientoArtisticoDTO.class, expansion),
+				MovimientoArtisticoDetailDTO.class);
+		detail.setObras(fragments.getAll(ObraEntity.class, movimiento.getObras(), ObraDTO.class, expansion.get("obras")));
+		detail.setMuseos(fragments.getAll(MuseoEntity.class, movimiento.getMuseos(), MuseoDTO.class, expansion.get("museos")));
+		detail.setArtistas(fragments.getAll(ArtistaEntity.class, movimiento.getArtistas(), ArtistaDTO.class, expansion.get("artistas")));
+		return detail;
+	}
+
+	/**
+	 * Arma el detalle de una obra
+	 * @param obra - Entidad de la obra
+	 * @param expansion - Asociaciones expandidas (cargadas en la entidad)
+	 * @return - Detalle de la obra
+	 */
+	public ObraDetailDTO obraDetail(ObraEntity obra, Expansion expansion) {
+		ObraDetailDTO detail = dtoMapper.map(fragments.get(ObraEntity.class, obra, ObraDTO.class, expansion), ObraDetailDTO.class);
+		return detail;
+	}
+
+	/**
+	 * Arma el detalle de cada museo de una pagina
+	 * @param museos - Entidades de los museos
+	 * @param expansion - Asociaciones expandidas (cargadas en las entidades)
+	 * @return - Detalles de los museos, en el mismo orden
+	 */
+	public List<MuseoDetailDTO> museoDetails(Collection<MuseoEntity> museos, Expansion expansion) {
+		List<MuseoDetailDTO> details = new ArrayList<>(museos.size());
+		for (MuseoEntity museo : museos)
+			details.add(museoDetail(museo, expansion));
+		return details;
+	}
+
+	/**
+	 * Arma el detalle de cada artista de una pagina
+	 * @param artistas - Entidades de los artistas
+	 * @param expansion - Asociaciones expandidas (cargadas en las entidades)
+	 * @return - Detalles de los artistas, en el mismo orden
+	 */
+	public List<ArtistaDetailDTO> artistaDetails(Collection<ArtistaEntity> artistas, Expansion expansion) {
+		List<ArtistaDetailDTO> details = new ArrayList<>(artistas.size());
+		for (ArtistaEntity artista : artistas)
+			details.add(artistaDetail(artista, expansion));
+		return details;
+	}
+
+	/**
+	 * Arma el detalle de cada movimiento artistico de una pagina
+	 * @param movimientos - Entidades de los movimientos
+	 * @param expansion - Asociaciones expandidas (cargadas en las entidades)
+	 * @return - Detalles de los movimientos, en el mismo orden
+	 */
+	public List<MovimientoArtisticoDetailDTO> movimientoArtisticoDetails(Collection<MovimientoArtisticoEntity> movimientos, Expansion expansion) {
+		List<MovimientoArtisticoDetailDTO> details = new ArrayList<>(movimientos.size());
+		for (MovimientoArtisticoEntity movimiento : movimientos)
+			details.add(movimientoArtisticoDetail(movimiento, expansion));
+		return details;
+	}
+}
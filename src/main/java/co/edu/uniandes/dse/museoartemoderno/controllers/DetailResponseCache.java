@@ -0,0 +1,224 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.museoartemoderno.services.ResourceChangedEvent;
+import co.edu.uniandes.dse.museoartemoderno.services.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache acotado (LRU) del JSON ya serializado de los endpoints de detalle
+ * (GET /{recurso}/{id}). Cada entrada guarda las dependencias del DTO que la
+ * genero: el recurso mismo y cada entidad anidada (museos, artistas, obras,
+ * movimientos y paises). Cuando un servicio publica un ResourceChangedEvent y la
+ * transaccion confirma, se borran exactamente las entradas que dependen del
+ * recurso que cambio.
+ *
+ * Cada entrada guarda tambien el ETag calculado con las versiones de las
+ * entidades (ver EntityTags); una peticion con If-None-Match que coincide
+ * con la entrada recibe 304 sin cuerpo.
+ *
+ * Cuando una respuesta no esta en el cache, las peticiones concurrentes por el
+ * mismo recurso comparten una sola carga (ver SingleFlight).
+ *
+ * Cada expansion (?expand=, con o sin dedupe) de un recurso es una entrada
+ * distinta, serializada con los objetos anidados no expandidos como
+ * referencias (ver SparseFieldsFilter).
+ */
+@Slf4j
+@Component
+public class DetailResponseCache {
+
+	/**
+	 * Carga la entidad del recurso cuando la respuesta no esta en el cache
+	 */
+	@FunctionalInterface
+	public interface Loader<E> {
+		E load() throws EntityNotFoundException;
+	}
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private SingleFlight singleFlight;
+
+	private final int maxEntries;
+
+	private final Map<String, Entry> entries;
+
+	/**
+	 * Para cada recurso, las llaves de las entradas que dependen de el
+	 */
+	private final Map<String, Set<String>> dependents = new HashMap<>();
+
+	/**
+	 * Aumenta con cada invalidacion; una respuesta calculada mientras ocurria una
+	 * invalidacion no se guarda porque pudo leer datos viejos
+	 */
+	private long generation;
+
+	public DetailResponseCache(@Value("${museoartemoderno.response-cache.max-entries:1000}") int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Devuelve la respuesta de detalle de un recurso, desde el cache o calculandola con el loader
+	 * @param type - Tipo de la entidad del recurso
+	 * @param id - Id del recurso
+	 * @param expansion - Asociaciones que se escriben completas
+	 * @param request - Peticion HTTP, de la que se lee If-None-Match
+	 * @param loader - Carga la entidad del recurso con las asociaciones de la expansion
+	 * @param mapper - Mapea la entidad al DTO de detalle
+	 * @return - Respuesta HTTP con el JSON del DTO, o 304 si el cliente ya lo tiene
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	public <E> ResponseEntity<byte[]> get(Class<? extends BaseEntity> type, Long id, Expansion expansion, WebRequest request,
+			Loader<E> loader, Function<E, ?> mapper) throws EntityNotFoundException {
+		String key = key(type, id, expansion);
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(key);
+		}
+		if (entry == null)
+			entry = singleFlight.execute("DetailResponseCache:" + key, () -> load(key, expansion, loader, mapper));
+		return response(request, entry.body, entry.etag);
+	}
+
+	/**
+	 * Calcula y guarda la respuesta de detalle de un recurso si no esta en el cache (precarga al arrancar)
+	 * @param type - Tipo de la entidad del recurso
+	 * @param id - Id del recurso
+	 * @param expansion - Asociaciones que se escriben completas
+	 * @param loader - Carga la entidad del recurso con las asociaciones de la expansion
+	 * @param mapper - Mapea la entidad al DTO de detalle
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	public <E> void preload(Class<? extends BaseEntity> type, Long id, Expansion expansion, Loader<E> loader, Function<E, ?> mapper)
+			throws EntityNotFoundException {
+		String key = key(type, id, expansion);
+		synchronized (this) {
+			if (entries.containsKey(key))
+				return;
+		}
+		singleFlight.execute("DetailResponseCache:" + key, () -> load(key, expansion, loader, mapper));
+	}
+
+	/**
+	 * Invalida las respuestas que dependen del recurso que cambio, una vez la transaccion confirma
+	 * @param event - Evento publicado por el servicio que hizo el cambio
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onResourceChanged(ResourceChangedEvent event) {
+		generation++;
+		Set<String> keys = dependents.remove(DtoDependencies.key(event.getType(), event.getId()));
+		if (keys == null)
+			return;
+		for (String key : keys)
+			remove(key);
+		log.debug("Se invalidaron {} respuestas por el cambio de {}", keys.size(), DtoDependencies.key(event.getType(), event.getId()));
+	}
+
+	private static String key(Class<? extends BaseEntity> type, Long id, Expansion expansion) {
+		String key = DtoDependencies.key(type, id);
+		if (expansion.isNone())
+			return key;
+		return key + "?" + expansion + (expansion.isDeduplicated() ? "&" + Expansion.DEDUPLICATE : "");
+	}
+
+	private void put(String key, Entry entry) {
+		remove(key);
+		entries.put(key, entry);
+		for (String dependency : entry.dependencies)
+			dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(key);
+		Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+		while (entries.size() > maxEntries) {
+			Map.Entry<String, Entry> next = eldest.next();
+			eldest.remove();
+			unindex(next.getKey(), next.getValue());
+		}
+	}
+
+	private void remove(String key) {
+		Entry entry = entries.remove(key);
+		if (entry != null)
+			unindex(key, entry);
+	}
+
+	private void unindex(String key, Entry entry) {
+		for (String dependency : entry.dependencies) {
+			Set<String> keys = dependents.get(dependency);
+			if (keys != null) {
+				keys.remove(key);
+				if (keys.isEmpty())
+					dependents.remove(dependency);
+			}
+		}
+	}
+
+	/**
+	 * Carga la entidad, calcula su ETag, la mapea y serializa el DTO, y guarda la
+	 * entrada si no hubo invalidaciones mientras tanto
+	 */
+	private <E> Entry load(String key, Expansion expansion, Loader<E> loader, Function<E, ?> mapper) throws EntityNotFoundException {
+		long start;
+		synchronized (this) {
+			start = generation;
+		}
+
+		E entity = loader.load();
+		String etag = EntityTags.of(entity);
+		Object dto = mapper.apply(entity);
+		byte[] body;
+		try {
+			body = objectMapper.writer(SparseFieldsFilter.filters(FieldSelection.ALL, expansion)).writeValueAsBytes(dto);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo serializar la respuesta de " + key, e);
+		}
+		Entry entry = new Entry(body, etag, DtoDependencies.of(dto));
+
+		synchronized (this) {
+			if (generation == start)
+				put(key, entry);
+		}
+		return entry;
+	}
+
+	private static ResponseEntity<byte[]> response(WebRequest request, byte[] body, String etag) {
+		if (EntityTags.matches(request, etag))
+			return EntityTags.notModified(etag, EntityTags.REVALIDATE);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).eTag(etag).cacheControl(EntityTags.REVALIDATE).body(body);
+	}
+
+	private static final class Entry {
+		private final byte[] body;
+		private final String etag;
+		private final Set<String> dependencies;
+
+		private Entry(byte[] body, String etag, Set<String> dependencies) {
+			this.body = body;
+			this.etag = etag;
+			this.dependencies = dependencies;
+		}
+	}
+}
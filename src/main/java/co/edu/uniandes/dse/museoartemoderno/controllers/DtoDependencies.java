@@ -0,0 +1,127 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+
+/**
+ * Calcula de que recursos depende un DTO: el recurso que representa y cada
+ * museo, artista, obra, movimiento o pais anidado. Los caches de respuestas y de
+ * fragmentos usan estas llaves para saber que invalidar cuando un recurso cambia.
+ */
+final class DtoDependencies {
+
+	private DtoDependencies() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Llave de un recurso, igual para el DTO y para el ResourceChangedEvent
+	 * @param type - Tipo de la entidad
+	 * @param id - Id de la entidad
+	 * @return - Llave del recurso
+	 */
+	static String key(Class<? extends BaseEntity> type, Long id) {
+		return type.getSimpleName() + ":" + id;
+	}
+
+	/**
+	 * @param dto - Objeto que se va a serializar
+	 * @return - Id del recurso si es el DTO de un museo, artista, obra, movimiento, pais o ciudad; si no, null
+	 */
+	static Long id(Object dto) {
+		if (dto instanceof MuseoDTO)
+			return ((MuseoDTO) dto).getId();
+		if (dto instanceof ArtistaDTO)
+			return ((ArtistaDTO) dto).getId();
+		if (dto instanceof ObraDTO)
+			return ((ObraDTO) dto).getId();
+		if (dto instanceof MovimientoArtisticoDTO)
+			return ((MovimientoArtisticoDTO) dto).getId();
+		if (dto instanceof PaisDTO)
+			return ((PaisDTO) dto).getId();
+		if (dto instanceof CiudadDTO)
+			return ((CiudadDTO) dto).getId();
+		return null;
+	}
+
+	/**
+	 * Recorre el DTO y devuelve la llave de cada recurso que aparece en el
+	 * @param dto - DTO a recorrer
+	 * @return - Llaves de los recursos de los que depende el DTO
+	 */
+	static Set<String> of(Object dto) {
+		Set<String> dependencies = new HashSet<>();
+		collect(dto, dependencies);
+		return dependencies;
+	}
+
+	private static void collect(Object dto, Set<String> dependencies) {
+		if (dto instanceof MuseoDTO) {
+			MuseoDTO museo = (MuseoDTO) dto;
+			if (!dependencies.add(key(MuseoEntity.class, museo.getId())))
+				return;
+			collect(museo.getUbicacion(), dependencies);
+			if (dto instanceof MuseoDetailDTO) {
+				MuseoDetailDTO detail = (MuseoDetailDTO) dto;
+				collectAll(detail.getArtistas(), dependencies);
+				collectAll(detail.getObras(), dependencies);
+				collectAll(detail.getMovimientos(), dependencies);
+			}
+		} else if (dto instanceof ArtistaDTO) {
+			ArtistaDTO artista = (ArtistaDTO) dto;
+			if (!dependencies.add(key(ArtistaEntity.class, artista.getId())))
+				return;
+			collect(artista.getLugarNacimiento(), dependencies);
+			collect(artista.getLugarFallecimiento(), dependencies);
+			if (dto instanceof ArtistaDetailDTO) {
+				ArtistaDetailDTO detail = (ArtistaDetailDTO) dto;
+				collectAll(detail.getMuseos(), dependencies);
+				collectAll(detail.getObras(), dependencies);
+				collectAll(detail.getMovimientos(), dependencies);
+			}
+		} else if (dto instanceof MovimientoArtisticoDTO) {
+			MovimientoArtisticoDTO movimiento = (MovimientoArtisticoDTO) dto;
+			if (!dependencies.add(key(MovimientoArtisticoEntity.class, movimiento.getId())))
+				return;
+			collect(movimiento.getLugarOrigen(), dependencies);
+			if (dto instanceof MovimientoArtisticoDetailDTO) {
+				MovimientoArtisticoDetailDTO detail = (MovimientoArtisticoDetailDTO) dto;
+				collectAll(detail.getObras(), dependencies);
+				collectAll(detail.getMuseos(), dependencies);
+				collectAll(detail.getArtistas(), dependencies);
+			}
+		} else if (dto instanceof ObraDTO) {
+			ObraDTO obra = (ObraDTO) dto;
+			if (!dependencies.add(key(ObraEntity.class, obra.getId())))
+				return;
+			collect(obra.getMuseo(), dependencies);
+			collect(obra.getArtista(), dependencies);
+			collect(obra.getMovimiento(), dependencies);
+		} else if (dto instanceof PaisDTO) {
+			dependencies.add(key(PaisEntity.class, ((PaisDTO) dto).getId()));
+		}
+	}
+
+	private static void collectAll(Collection<?> dtos, Set<String> dependencies) {
+		if (dtos != null)
+			for (Object dto : dtos)
+				collect(dto, dependencies);
+	}
+}
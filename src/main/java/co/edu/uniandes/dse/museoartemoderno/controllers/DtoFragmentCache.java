@@ -0,0 +1,102 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+
+/**
+ * Cache acotado (LRU) de los DTOs planos (MuseoDTO, ArtistaDTO, ObraDTO,
+ * MovimientoArtisticoDTO) ya mapeados desde sus entidades. Las respuestas
+ * compuestas se arman con estos fragmentos en lugar de volver a mapear cada
+ * entidad anidada.
+ *
+ * Un fragmento guarda la columna version de la entidad y de cada entidad
+ * anidada con la que se mapeo (ver EntityTags), y solo se reutiliza para una
+ * entidad cargada con exactamente esas versiones. Como las versiones salen de
+ * las mismas filas que se mapean, un fragmento nunca se asocia a versiones mas
+ * nuevas que sus datos: una lectura vieja guarda un fragmento con versiones
+ * viejas que las lecturas posteriores no usan. Cambiar un artista solo invalida
+ * los fragmentos que lo contienen.
+ *
+ * Lo que trae un fragmento depende de las asociaciones que se cargaron (ver
+ * Expansion), asi que la llave incluye la expansion con la que se mapeo.
+ */
+@Component
+public class DtoFragmentCache {
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	private final int maxEntries;
+
+	private final Map<String, Fragment> fragments;
+
+	public DtoFragmentCache(@Value("${museoartemoderno.fragment-cache.max-entries:5000}") int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.fragments = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Devuelve el DTO de una entidad, desde el cache o mapeandolo
+	 * @param type - Tipo de la entidad
+	 * @param entity - Entidad a mapear
+	 * @param dtoType - Tipo del DTO
+	 * @param expansion - Asociaciones de la entidad que se cargaron para la respuesta
+	 * @return - DTO de la entidad, compartido entre respuestas (no se debe modificar)
+	 */
+	public <T> T get(Class<? extends BaseEntity> type, BaseEntity entity, Class<T> dtoType, Expansion expansion) {
+		if (entity == null)
+			return null;
+		String key = dtoType.getSimpleName() + "@" + DtoDependencies.key(type, entity.getId())
+				+ (expansion.isNone() ? "" : "?" + expansion);
+		String versions = EntityTags.versions(entity);
+		synchronized (this) {
+			Fragment fragment = fragments.get(key);
+			if (fragment != null && fragment.versions.equals(versions))
+				return dtoType.cast(fragment.dto);
+		}
+
+		T dto = dtoMapper.map(entity, dtoType);
+
+		synchronized (this) {
+			fragments.put(key, new Fragment(dto, versions));
+			if (fragments.size() > maxEntries)
+				fragments.remove(fragments.keySet().iterator().next());
+		}
+		return dto;
+	}
+
+	/**
+	 * Devuelve los DTOs de una coleccion de entidades, en el mismo orden
+	 * @param type - Tipo de las entidades
+	 * @param entities - Entidades a mapear
+	 * @param dtoType - Tipo de los DTOs
+	 * @param expansion - Asociaciones de las entidades que se cargaron para la respuesta
+	 * @return - DTOs de las entidades
+	 */
+	public <T> List<T> getAll(Class<? extends BaseEntity> type, Collection<? extends BaseEntity> entities, Class<T> dtoType,
+			Expansion expansion) {
+		List<T> dtos = new ArrayList<>(entities.size());
+		for (BaseEntity entity : entities)
+			dtos.add(get(type, entity, dtoType, expansion));
+		return dtos;
+	}
+
+	private static final class Fragment {
+		private final Object dto;
+		private final String versions;
+
+		private Fragment(Object dto, String versions) {
+			this.dto = dto;
+			this.versions = versions;
+		}
+	}
+}
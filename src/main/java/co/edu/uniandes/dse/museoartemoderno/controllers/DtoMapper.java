@@ -0,0 +1,143 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Punto unico de conversion entre entidades y DTO para los controladores.
+ *
+ * Con museoartemoderno.mapping.mode=direct (por defecto) usa las conversiones
+ * de DtoMappers, sin reflexion; con museoartemoderno.mapping.mode=modelmapper
+ * usa el ModelMapper como antes, para poder comparar ambos caminos. Un par de
+ * tipos sin conversion directa se resuelve con el ModelMapper.
+ */
+@Slf4j
+@Component
+public class DtoMapper {
+
+	/**
+	 * Modo de conversion
+	 */
+	public enum Mode {
+		DIRECT, MODELMAPPER
+	}
+
+	@Autowired
+	private ModelMapper modelMapper;
+
+	private final Mode mode;
+
+	/**
+	 * Conversiones directas por tipo de origen y tipo de destino
+	 */
+	private final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> mappings = new HashMap<>();
+
+	public DtoMapper(@Value("${museoartemoderno.mapping.mode:direct}") String mode) {
+		this.mode = Mode.valueOf(mode.trim().toUpperCase());
+		register(PaisEntity.class, PaisDTO.class, DtoMappers::paisDTO);
+		register(PaisEntity.class, PaisDetailDTO.class, DtoMappers::paisDetailDTO);
+		register(CiudadEntity.class, CiudadDTO.class, DtoMappers::ciudadDTO);
+		register(MuseoEntity.class, MuseoDTO.class, DtoMappers::museoDTO);
+		register(MuseoEntity.class, MuseoDetailDTO.class, DtoMappers::museoDetailDTO);
+		register(ArtistaEntity.class, ArtistaDTO.class, DtoMappers::artistaDTO);
+		register(ArtistaEntity.class, ArtistaDetailDTO.class, DtoMappers::artistaDetailDTO);
+		register(MovimientoArtisticoEntity.class, MovimientoArtisticoDTO.class, DtoMappers::movimientoArtisticoDTO);
+		register(MovimientoArtisticoEntity.class, MovimientoArtisticoDetailDTO.class, DtoMappers::movimientoArtisticoDetailDTO);
+		register(ObraEntity.class, ObraDTO.class, DtoMappers::obraDTO);
+		register(ObraEntity.class, ObraDetailDTO.class, DtoMappers::obraDetailDTO);
+
+		register(PaisDTO.class, PaisEntity.class, DtoMappers::paisEntity);
+		register(CiudadDTO.class, CiudadEntity.class, DtoMappers::ciudadEntity);
+		register(MuseoDTO.class, MuseoEntity.class, DtoMappers::museoEntity);
+		register(ArtistaDTO.class, ArtistaEntity.class, DtoMappers::artistaEntity);
+		register(MovimientoArtisticoDTO.class, MovimientoArtisticoEntity.class, DtoMappers::movimientoArtisticoEntity);
+		register(ObraDTO.class, ObraEntity.class, DtoMappers::obraEntity);
+
+		register(MuseoDTO.class, MuseoDetailDTO.class, DtoMappers::museoDetailDTO);
+		register(ArtistaDTO.class, ArtistaDetailDTO.class, DtoMappers::artistaDetailDTO);
+		register(MovimientoArtisticoDTO.class, MovimientoArtisticoDetailDTO.class, DtoMappers::movimientoArtisticoDetailDTO);
+		register(ObraDTO.class, ObraDetailDTO.class, DtoMappers::obraDetailDTO);
+	}
+
+	/**
+	 * Convierte un objeto
+	 * @param source - Entidad o DTO de origen
+	 * @param type - Tipo de destino
+	 * @return - Objeto convertido
+	 */
+	public <D> D map(Object source, Class<D> type) {
+		if (mode == Mode.MODELMAPPER)
+			return modelMapper.map(source, type);
+		Function<Object, Object> mapping = find(source.getClass(), type);
+		if (mapping == null)
+			return modelMapper.map(source, type);
+		return type.cast(mapping.apply(source));
+	}
+
+	/**
+	 * Convierte cada elemento de una coleccion
+	 * @param sources - Entidades o DTO de origen
+	 * @param type - Tipo de destino de cada elemento
+	 * @return - Lista con los elementos convertidos, en el mismo orden
+	 */
+	public <D> List<D> mapAll(Collection<?> sources, Class<D> type) {
+		List<D> list = new ArrayList<>(sources.size());
+		for (Object source : sources)
+			list.add(map(source, type));
+		return list;
+	}
+
+	/**
+	 * @return - Modo de conversion configurado
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <S, D> void register(Class<S> source, Class<D> type, Function<S, D> mapping) {
+		mappings.computeIfAbsent(source, k -> new HashMap<>()).put(type, (Function<Object, Object>) mapping);
+	}
+
+	/**
+	 * Busca la conversion del tipo de origen o de la clase mas cercana que la
+	 * tenga (los proxies de Hibernate extienden la clase de la entidad)
+	 */
+	private Function<Object, Object> find(Class<?> source, Class<?> type) {
+		for (Class<?> current = source; current != null; current = current.getSuperclass()) {
+			Map<Class<?>, Function<Object, Object>> byType = mappings.get(current);
+			if (byType != null && byType.containsKey(type))
+				return byType.get(type);
+		}
+		log.debug("No hay conversion directa de {} a {}", source.getName(), type.getName());
+		return null;
+	}
+}
@@ -0,0 +1,378 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+
+/**
+ * Conversiones entre entidades y DTO escritas campo a campo, sin reflexion.
+ * Producen lo mismo que el ModelMapper con su configuracion por defecto
+ * (incluidos los nombres que este empareja por tokens, como coordenadas y
+ * coordenadasPais); DtoMappersTest compara ambos caminos. Un campo nuevo en un
+ * DTO o una entidad debe agregarse aqui.
+ *
+ * Una asociacion a uno que no se cargo (proxy sin inicializar) se convierte en
+ * un DTO con solo el id, sin leerla; lo que se carga depende del plan de carga
+ * de la peticion (ver Expansion).
+ */
+public final class DtoMappers {
+
+	private DtoMappers() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	// Entidades a DTO
+
+	public static PaisDTO paisDTO(PaisEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new PaisDTO(), PaisDTO::setId);
+		return copy(entity, new PaisDTO());
+	}
+
+	public static PaisDetailDTO paisDetailDTO(PaisEntity entity) {
+		if (entity == null)
+			return null;
+		PaisDetailDTO dto = copy(entity, new PaisDetailDTO());
+		dto.setCiudades(list(entity.getCiudades(), DtoMappers::ciudadDTO));
+		dto.setMuseos(list(entity.getMuseos(), DtoMappers::museoDTO));
+		dto.setArtistasFallecimiento(list(entity.getArtistasFallecimiento(), DtoMappers::artistaDTO));
+		dto.setArtistasNacimiento(list(entity.getArtistasNacimiento(), DtoMappers::artistaDTO));
+		return dto;
+	}
+
+	public static CiudadDTO ciudadDTO(CiudadEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new CiudadDTO(), CiudadDTO::setId);
+		CiudadDTO dto = new CiudadDTO();
+		dto.setId(entity.getId());
+		dto.setNombre(entity.getNombreCiudad());
+		dto.setCoordenadasCiudad(entity.getCoordenadasCiudad());
+		dto.setImagen(entity.getImagen());
+		dto.setPais(paisDTO(entity.getPais()));
+		return dto;
+	}
+
+	public static MuseoDTO museoDTO(MuseoEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new MuseoDTO(), MuseoDTO::setId);
+		return copy(entity, new MuseoDTO());
+	}
+
+	public static MuseoDetailDTO museoDetailDTO(MuseoEntity entity) {
+		if (entity == null)
+			return null;
+		MuseoDetailDTO dto = copy(entity, new MuseoDetailDTO());
+		dto.setArtistas(list(entity.getArtistas(), DtoMappers::artistaDTO));
+		dto.setObras(list(entity.getObras(), DtoMappers::obraDTO));
+		dto.setMovimientos(list(entity.getMovimientos(), DtoMappers::movimientoArtisticoDTO));
+		return dto;
+	}
+
+	public static ArtistaDTO artistaDTO(ArtistaEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new ArtistaDTO(), ArtistaDTO::setId);
+		return copy(entity, new ArtistaDTO());
+	}
+
+	public static ArtistaDetailDTO artistaDetailDTO(ArtistaEntity entity) {
+		if (entity == null)
+			return null;
+		ArtistaDetailDTO dto = copy(entity, new ArtistaDetailDTO());
+		dto.setMuseos(list(entity.getMuseos(), DtoMappers::museoDTO));
+		dto.setObras(list(entity.getObras(), DtoMappers::obraDTO));
+		dto.setMovimientos(list(entity.getMovimientos(), DtoMappers::movimientoArtisticoDTO));
+		return dto;
+	}
+
+	public static MovimientoArtisticoDTO movimientoArtisticoDTO(MovimientoArtisticoEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new MovimientoArtisticoDTO(), MovimientoArtisticoDTO::setId);
+		return copy(entity, new MovimientoArtisticoDTO());
+	}
+
+	public static MovimientoArtisticoDetailDTO movimientoArtisticoDetailDTO(MovimientoArtisticoEntity entity) {
+		if (entity == null)
+			return null;
+		MovimientoArtisticoDetailDTO dto = copy(entity, new MovimientoArtisticoDetailDTO());
+		dto.setObras(list(entity.getObras(), DtoMappers::obraDTO));
+		dto.setMuseos(list(entity.getMuseos(), DtoMappers::museoDTO));
+		dto.setArtistas(list(entity.getArtistas(), DtoMappers::artistaDTO));
+		return dto;
+	}
+
+	public static ObraDTO obraDTO(ObraEntity entity) {
+		if (entity == null)
+			return null;
+		if (!Hibernate.isInitialized(entity))
+			return reference(entity, new ObraDTO(), ObraDTO::setId);
+		return copy(entity, new ObraDTO());
+	}
+
+	public static ObraDetailDTO obraDetailDTO(ObraEntity entity) {
+		if (entity == null)
+			return null;
+		return copy(entity, new ObraDetailDTO());
+	}
+
+	// DTO a entidades
+
+	public static PaisEntity paisEntity(PaisDTO dto) {
+		if (dto == null)
+			return null;
+		PaisEntity entity = new PaisEntity();
+		entity.setId(dto.getId());
+		entity.setNombrePais(dto.getNombrePais());
+		entity.setCoordenadasPais(dto.getCoordenadas());
+		entity.setImagen(dto.getImagen());
+		return entity;
+	}
+
+	public static CiudadEntity ciudadEntity(CiudadDTO dto) {
+		if (dto == null)
+			return null;
+		CiudadEntity entity = new CiudadEntity();
+		entity.setId(dto.getId());
+		entity.setNombreCiudad(dto.getNombre());
+		entity.setCoordenadasCiudad(dto.getCoordenadasCiudad());
+		entity.setImagen(dto.getImagen());
+		entity.setPais(paisEntity(dto.getPais()));
+		return entity;
+	}
+
+	public static MuseoEntity museoEntity(MuseoDTO dto) {
+		if (dto == null)
+			return null;
+		MuseoEntity entity = new MuseoEntity();
+		entity.setId(dto.getId());
+		entity.setNombre(dto.getNombre());
+		entity.setImg(dto.getImg());
+		entity.setDireccion(dto.getDireccion());
+		entity.setTotalObrasExhibidas(dto.getTotalObrasExhibidas());
+		entity.setUbicacion(paisEntity(dto.getUbicacion()));
+		return entity;
+	}
+
+	public static ArtistaEntity artistaEntity(ArtistaDTO dto) {
+		if (dto == null)
+			return null;
+		ArtistaEntity entity = new ArtistaEntity();
+		entity.setId(dto.getId());
+		entity.setNombre(dto.getNombre());
+		entity.setImagen(dto.getImagen());
+		entity.setFechaNacimiento(dto.getFechaNacimiento());
+		entity.setFechaFallecimiento(dto.getFechaFallecimiento());
+		entity.setLugarNacimiento(paisEntity(dto.getLugarNacimiento()));
+		entity.setLugarFallecimiento(paisEntity(dto.getLugarFallecimiento()));
+		return entity;
+	}
+
+	public static MovimientoArtisticoEntity movimientoArtisticoEntity(MovimientoArtisticoDTO dto) {
+		if (dto == null)
+			return null;
+		MovimientoArtisticoEntity entity = new MovimientoArtisticoEntity();
+		entity.setId(dto.getId());
+		entity.setNombre(dto.getNombre());
+		entity.setImagen(dto.getImagen());
+		entity.setDescripcion(dto.getDescripcion());
+		entity.setFechaApogeo(dto.getFechaApogeo());
+		entity.setLugarOrigen(paisEntity(dto.getLugarOrigen()));
+		return entity;
+	}
+
+	public static ObraEntity obraEntity(ObraDTO dto) {
+		if (dto == null)
+			return null;
+		ObraEntity entity = new ObraEntity();
+		entity.setId(dto.getId());
+		entity.setNombre(dto.getNombre());
+		entity.setTipo(dto.getTipo());
+		entity.setDescripcion(dto.getDescripcion());
+		entity.setFechaPublicacion(dto.getFechaPublicacion());
+		entity.setImagen(dto.getImagen());
+		entity.setMuseo(museoEntity(dto.getMuseo()));
+		entity.setArtista(artistaEntity(dto.getArtista()));
+		entity.setMovimiento(movimientoArtisticoEntity(dto.getMovimiento()));
+		return entity;
+	}
+
+	// DTO a DTO de detalle (fragmentos del DtoFragmentCache)
+
+	public static MuseoDetailDTO museoDetailDTO(MuseoDTO fragment) {
+		return copy(fragment, new MuseoDetailDTO());
+	}
+
+	public static ArtistaDetailDTO artistaDetailDTO(ArtistaDTO fragment) {
+		return copy(fragment, new ArtistaDetailDTO());
+	}
+
+	public static MovimientoArtisticoDetailDTO movimientoArtisticoDetailDTO(MovimientoArtisticoDTO fragment) {
+		return copy(fragment, new MovimientoArtisticoDetailDTO());
+	}
+
+	public static ObraDetailDTO obraDetailDTO(ObraDTO fragment) {
+		return copy(fragment, new ObraDetailDTO());
+	}
+
+	/**
+	 * DTO con solo el id de una entidad que no se ha cargado (proxy de una
+	 * asociacion perezosa); leer el id no inicializa el proxy
+	 */
+	private static <D> D reference(BaseEntity entity, D dto, BiConsumer<D, Long> id) {
+		id.accept(dto, (Long) ((HibernateProxy) entity).getHibernateLazyInitializer().getIdentifier());
+		return dto;
+	}
+
+	/**
+	 * Convierte cada elemento de una coleccion
+	 * @param sources - Elementos a convertir (null produce null)
+	 * @param mapper - Conversion de un elemento
+	 * @return - Lista con los elementos convertidos, en el orden de la coleccion
+	 */
+	public static <S, D> List<D> list(Collection<? extends S> sources, Function<? super S, ? extends D> mapper) {
+		if (sources == null)
+			return null;
+		List<D> list = new ArrayList<>(sources.size());
+		for (S source : sources)
+			list.add(mapper.apply(source));
+		return list;
+	}
+
+	private static <D extends PaisDTO> D copy(PaisEntity entity, D dto) {
+		dto.setId(entity.getId());
+		dto.setNombrePais(entity.getNombrePais());
+		dto.setCoordenadas(entity.getCoordenadasPais());
+		dto.setImagen(entity.getImagen());
+		return dto;
+	}
+
+	private static <D extends MuseoDTO> D copy(MuseoEntity entity, D dto) {
+		dto.setId(entity.getId());
+		dto.setNombre(entity.getNombre());
+		dto.setImg(entity.getImg());
+		dto.setDireccion(entity.getDireccion());
+		dto.setTotalObrasExhibidas(entity.getTotalObrasExhibidas());
+		dto.setUbicacion(paisDTO(entity.getUbicacion()));
+		return dto;
+	}
+
+	private static <D extends ArtistaDTO> D copy(ArtistaEntity entity, D dto) {
+		dto.setId(entity.getId());
+		dto.setNombre(entity.getNombre());
+		dto.setImagen(entity.getImagen());
+		dto.setFechaNacimiento(entity.getFechaNacimiento());
+		dto.setFechaFallecimiento(entity.getFechaFallecimiento());
+		dto.setLugarNacimiento(paisDTO(entity.getLugarNacimiento()));
+		dto.setLugarFallecimiento(paisDTO(entity.getLugarFallecimiento()));
+		return dto;
+	}
+
+	private static <D extends MovimientoArtisticoDTO> D copy(MovimientoArtisticoEntity entity, D dto) {
+		dto.setId(entity.getId());
+		dto.setNombre(entity.getNombre());
+		dto.setImagen(entity.getImagen());
+		dto.setDescripcion(entity.getDescripcion());
+		dto.setFechaApogeo(entity.getFechaApogeo());
+		dto.setLugarOrigen(paisDTO(entity.getLugarOrigen()));
+		return dto;
+	}
+
+	private static <D extends ObraDTO> D copy(ObraEntity entity, D dto) {
+		dto.setId(entity.getId());
+		dto.setNombre(entity.getNombre());
+		dto.setTipo(entity.getTipo());
+		dto.setDescripcion(entity.getDescripcion());
+		dto.setFechaPublicacion(entity.getFechaPublicacion());
+		dto.setImagen(entity.getImagen());
+		dto.setMuseo(museoDTO(entity.getMuseo()));
+		dto.setArtista(artistaDTO(entity.getArtista()));
+		dto.setMovimiento(movimientoArtisticoDTO(entity.getMovimiento()));
+		return dto;
+	}
+
+	private static <D extends MuseoDTO> D copy(MuseoDTO source, D dto) {
+		if (source == null)
+			return null;
+		dto.setId(source.getId());
+		dto.setNombre(source.getNombre());
+		dto.setImg(source.getImg());
+		dto.setDireccion(source.getDireccion());
+		dto.setSalasExposicion(source.getSalasExposicion() == null ? null : new ArrayList<>(source.getSalasExposicion()));
+		dto.setTotalObrasExhibidas(source.getTotalObrasExhibidas());
+		dto.setUbicacion(source.getUbicacion());
+		return dto;
+	}
+
+	private static <D extends ArtistaDTO> D copy(ArtistaDTO source, D dto) {
+		if (source == null)
+			return null;
+		dto.setId(source.getId());
+		dto.setNombre(source.getNombre());
+		dto.setImagen(source.getImagen());
+		dto.setFechaNacimiento(source.getFechaNacimiento());
+		dto.setFechaFallecimiento(source.getFechaFallecimiento());
+		dto.setLugarNacimiento(source.getLugarNacimiento());
+		dto.setLugarFallecimiento(source.getLugarFallecimiento());
+		return dto;
+	}
+
+	private static <D extends MovimientoArtisticoDTO> D copy(MovimientoArtisticoDTO source, D dto) {
+		if (source == null)
+			return null;
+		dto.setId(source.getId());
+		dto.setNombre(source.getNombre());
+		dto.setImagen(source.getImagen());
+		dto.setDescripcion(source.getDescripcion());
+		dto.setFechaApogeo(source.getFechaApogeo());
+		dto.setLugarOrigen(source.getLugarOrigen());
+		return dto;
+	}
+
+	private static <D extends ObraDTO> D copy(ObraDTO source, D dto) {
+		if (source == null)
+			return null;
+		dto.setId(source.getId());
+		dto.setNombre(source.getNombre());
+		dto.setTipo(source.getTipo());
+		dto.setDescripcion(source.getDescripcion());
+		dto.setFechaPublicacion(source.getFechaPublicacion());
+		dto.setImagen(source.getImagen());
+		dto.setMuseo(source.getMuseo());
+		dto.setArtista(source.getArtista());
+		dto.setMovimiento(source.getMovimiento());
+		return dto;
+	}
+}
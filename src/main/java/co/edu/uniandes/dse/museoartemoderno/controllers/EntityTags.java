@@ -0,0 +1,224 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.ProjectedRow;
+
+/**
+ * Utilidades para los GET condicionales (ETag / If-None-Match). El ETag de una
+ * respuesta se calcula con el id y la version de cada entidad que aparece en
+ * el DTO (el recurso, sus asociaciones y las entidades anidadas en ellas), sin
+ * mapear ni serializar; si el cliente ya tiene esa representacion se responde
+ * 304 sin cuerpo. En los listados el ETag agrega las versiones de todos los
+ * elementos de la pagina. Las asociaciones que no se cargaron (ver Expansion)
+ * solo aportan su id, sin leerlas.
+ */
+public final class EntityTags {
+
+	/**
+	 * Politica de cache por defecto: el cliente puede guardar la respuesta pero
+	 * debe revalidarla con el ETag en cada uso
+	 */
+	public static final CacheControl REVALIDATE = CacheControl.noCache();
+
+	/**
+	 * Politica de cache de los datos de referencia (paises y ciudades), que casi
+	 * nunca cambian
+	 */
+	public static final CacheControl REFERENCE_DATA = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+	private EntityTags() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Calcula el ETag fuerte de la representacion de detalle de una entidad o de una pagina de entidades
+	 * @param source - Entidad, fila ProjectedRow o coleccion de ellas
+	 * @return - ETag entre comillas
+	 */
+	public static String of(Object source) {
+		Set<String> versions = new LinkedHashSet<>();
+		if (source instanceof Collection)
+			for (Object element : (Collection<?>) source)
+				collect(element, true, versions);
+		else
+			collect(source, true, versions);
+		return "\"" + DigestUtils.md5DigestAsHex(String.join(",", versions).getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+
+	/**
+	 * Indica si el cliente ya tiene la representacion con el ETag dado
+	 * @param request - Peticion HTTP
+	 * @param etag - ETag actual del recurso
+	 * @return - true si algun valor de If-None-Match coincide con el ETag
+	 */
+	public static boolean matches(WebRequest request, String etag) {
+		String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+		if (headers == null)
+			return false;
+		for (String header : headers) {
+			for (String candidate : header.split(",")) {
+				String tag = candidate.trim();
+				if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Responde 304 si el cliente ya tiene la representacion, o 200 con el cuerpo y su ETag
+	 * @param request - Peticion HTTP
+	 * @param source - Entidades de las que sale el cuerpo
+	 * @param body - Mapea las entidades al cuerpo, solo se llama si hay que responder 200
+	 * @return - Respuesta HTTP
+	 */
+	public static <T> ResponseEntity<T> respond(WebRequest request, Object source, Supplier<T> body) {
+		return respond(request, source, REVALIDATE, body);
+	}
+
+	/**
+	 * Responde 304 si el cliente ya tiene la representacion, o 200 con el cuerpo y su ETag
+	 * @param request - Peticion HTTP
+	 * @param source - Entidades de las que sale el cuerpo
+	 * @param cacheControl - Politica de cache de la respuesta
+	 * @param body - Mapea las entidades al cuerpo, solo se llama si hay que responder 200
+	 * @return - Respuesta HTTP
+	 */
+	public static <T> ResponseEntity<T> respond(WebRequest request, Object source, CacheControl cacheControl, Supplier<T> body) {
+		String etag = of(source);
+		if (matches(request, etag))
+			return notModified(etag, cacheControl);
+		return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+	}
+
+	/**
+	 * Respuesta 304 sin cuerpo
+	 * @param etag - ETag actual del recurso
+	 * @param cacheControl - Politica de cache de la respuesta
+	 * @return - Respuesta HTTP
+	 */
+	public static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+	}
+
+	/**
+	 * Versiones de la entidad y de las entidades a uno que anida su DTO plano (sin
+	 * colecciones), leidas de la columna version de las instancias cargadas
+	 * @param source - Entidad
+	 * @return - Versiones separadas por comas
+	 */
+	static String versions(Object source) {
+		Set<String> versions = new LinkedHashSet<>();
+		collect(source, false, versions);
+		return String.join(",", versions);
+	}
+
+	/**
+	 * Agrega la version de la entidad y de las entidades que su DTO anida; las
+	 * colecciones solo se recorren en el nivel de detalle (el elemento raiz)
+	 */
+	private static void collect(Object source, boolean detail, Set<String> versions) {
+		if (!Hibernate.isInitialized(source)) {
+			reference((HibernateProxy) source, versions);
+		} else if (source instanceof MuseoEntity) {
+			MuseoEntity museo = (MuseoEntity) source;
+			add(MuseoEntity.class, museo, versions);
+			collect(museo.getUbicacion(), false, versions);
+			if (detail) {
+				collectAll(museo.getArtistas(), versions);
+				collectAll(museo.getObras(), versions);
+				collectAll(museo.getMovimientos(), versions);
+			}
+		} else if (source instanceof ArtistaEntity) {
+			ArtistaEntity artista = (ArtistaEntity) source;
+			add(ArtistaEntity.class, artista, versions);
+			collect(artista.getLugarNacimiento(), false, versions);
+			collect(artista.getLugarFallecimiento(), false, versions);
+			if (detail) {
+				collectAll(artista.getMuseos(), versions);
+				collectAll(artista.getObras(), versions);
+				collectAll(artista.getMovimientos(), versions);
+			}
+		} else if (source instanceof MovimientoArtisticoEntity) {
+			MovimientoArtisticoEntity movimiento = (MovimientoArtisticoEntity) source;
+			add(MovimientoArtisticoEntity.class, movimiento, versions);
+			collect(movimiento.getLugarOrigen(), false, versions);
+			if (detail) {
+				collectAll(movimiento.getObras(), versions);
+				collectAll(movimiento.getMuseos(), versions);
+				collectAll(movimiento.getArtistas(), versions);
+			}
+		} else if (source instanceof ObraEntity) {
+			ObraEntity obra = (ObraEntity) source;
+			add(ObraEntity.class, obra, versions);
+			collect(obra.getMuseo(), false, versions);
+			collect(obra.getArtista(), false, versions);
+			collect(obra.getMovimiento(), false, versions);
+		} else if (source instanceof PaisEntity) {
+			PaisEntity pais = (PaisEntity) source;
+			add(PaisEntity.class, pais, versions);
+			if (detail) {
+				collectAll(pais.getCiudades(), versions);
+				collectAll(pais.getMovimientoArtisticos(), versions);
+				collectAll(pais.getMuseos(), versions);
+				collectAll(pais.getArtistasFallecimiento(), versions);
+				collectAll(pais.getArtistasNacimiento(), versions);
+			}
+		} else if (source instanceof CiudadEntity) {
+			CiudadEntity ciudad = (CiudadEntity) source;
+			add(CiudadEntity.class, ciudad, versions);
+			collect(ciudad.getPais(), false, versions);
+		} else if (source instanceof ProjectedRow) {
+			ProjectedRow row = (ProjectedRow) source;
+			add(row.getType(), row.getId(), row.getVersion(), versions);
+		}
+	}
+
+	/**
+	 * Una asociacion que no se cargo se escribe como referencia: solo aporta su id
+	 */
+	@SuppressWarnings("unchecked")
+	private static void reference(HibernateProxy proxy, Set<String> versions) {
+		LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+		versions.add(DtoDependencies.key((Class<? extends BaseEntity>) initializer.getPersistentClass(),
+				(Long) initializer.getIdentifier()));
+	}
+
+	private static void collectAll(Collection<?> entities, Set<String> versions) {
+		if (entities != null)
+			for (Object entity : entities)
+				collect(entity, false, versions);
+	}
+
+	private static void add(Class<? extends BaseEntity> type, BaseEntity entity, Set<String> versions) {
+		add(type, entity.getId(), entity.getVersion(), versions);
+	}
+
+	private static void add(Class<? extends BaseEntity> type, Long id, Long version, Set<String> versions) {
+		if (id != null)
+			versions.add(DtoDependencies.key(type, id) + ":" + version);
+	}
+}
@@ -0,0 +1,198 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDetailDTO;
+
+/**
+ * Asociaciones que se incluyen completas en la respuesta, pedidas con el
+ * parametro ?expand= (por ejemplo expand=museo,artista.lugarNacimiento). Por
+ * defecto cada objeto anidado (museo, artista, movimiento, pais y los elementos
+ * de las colecciones de los detalles) se escribe solo con su id; una ruta en
+ * expand lo escribe completo, y sus propios objetos anidados siguen como
+ * referencias salvo que la ruta continue. Los campos anidados pedidos con
+ * ?fields= (museo.nombre) expanden su ruta. Las rutas son tambien el plan de
+ * carga (ver FetchPlanService): lo que no se expande no se lee.
+ *
+ * Con ?dedupe=true cada objeto expandido se escribe completo solo la primera
+ * vez que aparece en una ruta de la respuesta; las siguientes veces en esa
+ * misma ruta se escribe como referencia (ver SparseFieldsFilter).
+ */
+public final class Expansion {
+
+	/**
+	 * Nombre del parametro de la peticion
+	 */
+	public static final String PARAM = "expand";
+
+	/**
+	 * Nombre del parametro que pide escribir cada objeto expandido una sola vez
+	 */
+	public static final String DEDUPLICATE = "dedupe";
+
+	/**
+	 * Sin asociaciones expandidas: todos los objetos anidados son referencias
+	 */
+	public static final Expansion NONE = new Expansion(Collections.emptyMap());
+
+	/**
+	 * Colecciones que escribe cada DTO de detalle; se cargan siempre porque sus
+	 * referencias hacen parte de la respuesta
+	 */
+	private static final Map<Class<?>, List<String>> COLLECTIONS = Map.of(
+			MuseoDetailDTO.class, List.of("artistas", "obras", "movimientos"),
+			ArtistaDetailDTO.class, List.of("museos", "obras", "movimientos"),
+			MovimientoArtisticoDetailDTO.class, List.of("obras", "museos", "artistas"),
+			PaisDetailDTO.class, List.of("ciudades", "museos", "artistasFallecimiento", "artistasNacimiento"));
+
+	/**
+	 * Asociaciones expandidas, ordenadas por nombre
+	 */
+	private final Map<String, Expansion> children;
+
+	/**
+	 * Si los objetos expandidos que se repiten se escriben como referencias
+	 */
+	private final boolean deduplicated;
+
+	private Expansion(Map<String, Expansion> children) {
+		this(children, false);
+	}
+
+	private Expansion(Map<String, Expansion> children, boolean deduplicated) {
+		this.children = children;
+		this.deduplicated = deduplicated;
+	}
+
+	/**
+	 * Interpreta el valor del parametro expand
+	 * @param value - Lista de rutas separadas por comas, puede ser nulo o vacio
+	 * @return - Asociaciones expandidas (NONE si no se pidio ninguna)
+	 */
+	public static Expansion parse(String value) {
+		return of(value, FieldSelection.ALL);
+	}
+
+	/**
+	 * Interpreta el parametro expand y le agrega las rutas de los campos anidados del parametro fields
+	 * @param value - Lista de rutas separadas por comas, puede ser nulo o vacio
+	 * @param selection - Campos pedidos
+	 * @return - Asociaciones expandidas (NONE si no hay ninguna)
+	 */
+	public static Expansion of(String value, FieldSelection selection) {
+		return of(value, selection, false);
+	}
+
+	/**
+	 * Interpreta los parametros expand y dedupe y le agrega las rutas de los campos anidados del parametro fields
+	 * @param value - Lista de rutas separadas por comas, puede ser nulo o vacio
+	 * @param selection - Campos pedidos
+	 * @param deduplicated - Si cada objeto expandido se escribe completo una sola vez por ruta
+	 * @return - Asociaciones expandidas (NONE si no hay ninguna)
+	 */
+	public static Expansion of(String value, FieldSelection selection, boolean deduplicated) {
+		Map<String, Expansion> root = new TreeMap<>();
+		if (value != null) {
+			for (String path : value.split(",")) {
+				Map<String, Expansion> level = root;
+				for (String name : path.split("\\.")) {
+					String trimmed = name.trim();
+					if (trimmed.isEmpty())
+						break;
+					level = level.computeIfAbsent(trimmed, k -> new Expansion(new TreeMap<>())).children;
+				}
+			}
+		}
+		add(root, selection);
+		return root.isEmpty() ? NONE : new Expansion(root, deduplicated);
+	}
+
+	private static void add(Map<String, Expansion> level, FieldSelection selection) {
+		for (Map.Entry<String, FieldSelection> field : selection.getFields().entrySet()) {
+			if (!field.getValue().isAll())
+				add(level.computeIfAbsent(field.getKey(), k -> new Expansion(new TreeMap<>())).children, field.getValue());
+		}
+	}
+
+	/**
+	 * @return - true si no hay asociaciones expandidas
+	 */
+	public boolean isNone() {
+		return children.isEmpty();
+	}
+
+	/**
+	 * @return - true si los objetos expandidos que se repiten en una ruta se escriben como referencias
+	 */
+	public boolean isDeduplicated() {
+		return deduplicated;
+	}
+
+	/**
+	 * @param name - Nombre de una asociacion
+	 * @return - Asociaciones expandidas dentro de ella (NONE si no esta expandida)
+	 */
+	public Expansion get(String name) {
+		return children.getOrDefault(name, NONE);
+	}
+
+	/**
+	 * Indica si el objeto al que se llega por una ruta se escribe completo
+	 * @param path - Campos por los que se llega al objeto desde la raiz (vacio para la raiz)
+	 * @return - true si cada asociacion de la ruta esta expandida
+	 */
+	public boolean includes(List<String> path) {
+		Expansion current = this;
+		for (String name : path) {
+			current = current.children.get(name);
+			if (current == null)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Rutas que hay que cargar para escribir un DTO: las colecciones que escribe mas las expandidas
+	 * @param dtoType - Tipo del DTO de la respuesta
+	 * @return - Rutas con los nombres separados por puntos
+	 */
+	public List<String> getFetchPaths(Class<?> dtoType) {
+		List<String> paths = new ArrayList<>(COLLECTIONS.getOrDefault(dtoType, Collections.emptyList()));
+		collect("", paths);
+		return paths;
+	}
+
+	private void collect(String prefix, List<String> paths) {
+		for (Map.Entry<String, Expansion> child : children.entrySet()) {
+			String path = prefix + child.getKey();
+			if (child.getValue().isNone())
+				paths.add(path);
+			else
+				child.getValue().collect(path + ".", paths);
+		}
+	}
+
+	/**
+	 * @return - Forma canonica de las rutas (por ejemplo artista(lugarNacimiento),museo), usada en las llaves de los caches;
+	 *         no incluye dedupe porque no cambia los DTO
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		for (Map.Entry<String, Expansion> child : children.entrySet()) {
+			if (text.length() > 0)
+				text.append(',');
+			text.append(child.getKey());
+			if (!child.getValue().isNone())
+				text.append('(').append(child.getValue()).append(')');
+		}
+		return text.toString();
+	}
+}
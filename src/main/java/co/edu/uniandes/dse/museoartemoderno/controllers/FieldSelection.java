@@ -0,0 +1,141 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+/**
+ * Campos pedidos con el parametro ?fields= (sparse fieldsets), por ejemplo
+ * fields=id,nombre,museo.nombre. Un campo sin subcampos incluye el objeto
+ * completo; un campo con subcampos (museo.nombre) incluye solo esos subcampos
+ * del objeto anidado. En las colecciones la seleccion aplica a cada elemento.
+ * Los nombres que no existen en el DTO y los nombres vacios se ignoran.
+ */
+public final class FieldSelection {
+
+	/**
+	 * Nombre del parametro de la peticion
+	 */
+	public static final String PARAM = "fields";
+
+	/**
+	 * Seleccion que incluye todos los campos
+	 */
+	public static final FieldSelection ALL = new FieldSelection(Collections.emptyMap());
+
+	/**
+	 * Subcampos seleccionados; vacio significa todos
+	 */
+	private final Map<String, FieldSelection> fields;
+
+	private FieldSelection(Map<String, FieldSelection> fields) {
+		this.fields = fields;
+	}
+
+	/**
+	 * Interpreta el valor del parametro fields
+	 * @param value - Lista de campos separados por comas, puede ser nulo o vacio
+	 * @return - Seleccion pedida (ALL si no se pidio ninguna)
+	 */
+	public static FieldSelection parse(String value) {
+		if (value == null || value.trim().isEmpty())
+			return ALL;
+		Map<String, FieldSelection> root = new LinkedHashMap<>();
+		for (String field : value.split(",")) {
+			String path = field.trim();
+			if (path.isEmpty())
+				continue;
+			Map<String, FieldSelection> level = root;
+			String[] names = path.split("\\.");
+			for (int i = 0; i < names.length; i++) {
+				String name = names[i].trim();
+				if (name.isEmpty())
+					break;
+				FieldSelection current = level.get(name);
+				if (current == ALL)
+					break;
+				if (i == names.length - 1 || names[i + 1].trim().isEmpty()) {
+					level.put(name, ALL);
+				} else {
+					if (current == null) {
+						current = new FieldSelection(new LinkedHashMap<>());
+						level.put(name, current);
+					}
+					level = current.fields;
+				}
+			}
+		}
+		return root.isEmpty() ? ALL : new FieldSelection(root);
+	}
+
+	/**
+	 * @return - true si la seleccion incluye todos los campos
+	 */
+	public boolean isAll() {
+		return fields.isEmpty();
+	}
+
+	/**
+	 * @return - Campos del primer nivel, en el orden en que se pidieron (vacio si son todos)
+	 */
+	public Map<String, FieldSelection> getFields() {
+		return Collections.unmodifiableMap(fields);
+	}
+
+	/**
+	 * @return - true si solo se pidieron campos del primer nivel, sin subcampos
+	 */
+	public boolean isFlat() {
+		for (FieldSelection child : fields.values())
+			if (!child.isAll())
+				return false;
+		return true;
+	}
+
+	/**
+	 * Indica si un campo esta seleccionado
+	 * @param path - Campos de los objetos que contienen al campo, desde la raiz
+	 * @param name - Nombre del campo
+	 * @return - true si el campo se debe incluir
+	 */
+	public boolean includes(List<String> path, String name) {
+		FieldSelection current = this;
+		for (String parent : path) {
+			if (current.isAll())
+				return true;
+			current = current.fields.get(parent);
+			if (current == null)
+				return false;
+		}
+		return current.isAll() || current.fields.containsKey(name);
+	}
+
+	/**
+	 * Indica si un campo que Jackson esta por escribir esta seleccionado
+	 * @param context - Contexto de escritura del objeto que contiene al campo
+	 * @param name - Nombre del campo
+	 * @return - true si el campo se debe incluir
+	 */
+	public boolean includes(JsonStreamContext context, String name) {
+		if (isAll())
+			return true;
+		return includes(path(context), name);
+	}
+
+	/**
+	 * Campos por los que se llega al objeto que se esta escribiendo (los arreglos no agregan nombre)
+	 * @param context - Contexto de escritura del objeto
+	 * @return - Nombres de los campos desde la raiz (vacio para la raiz)
+	 */
+	static List<String> path(JsonStreamContext context) {
+		LinkedList<String> path = new LinkedList<>();
+		for (JsonStreamContext current = context.getParent(); current != null; current = current.getParent())
+			if (current.inObject() && current.getCurrentName() != null)
+				path.addFirst(current.getCurrentName());
+		return path;
+	}
+}
@@ -0,0 +1,121 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escribe una coleccion completa como un arreglo JSON a medida que se lee, en
+ * lugar de armar la lista de DTO y el cuerpo completos en memoria. La lee por
+ * bloques con la misma paginacion por cursor de los listados (id &gt; cursor,
+ * ordenada por id), cada bloque en su propia transaccion de solo lectura; al
+ * terminar un bloque se escriben sus elementos, se envian al cliente y se
+ * limpia el contexto de persistencia. La memoria por peticion queda acotada por
+ * el tamano del bloque sin importar cuantas filas tenga la coleccion.
+ *
+ * La respuesta no tiene Content-Length (se envia por partes) ni ETag, porque no
+ * se conoce hasta leer la ultima fila.
+ *
+ * El cuerpo se escribe como peticion asincrona, asi que su duracion maxima es
+ * spring.mvc.async.request-timeout (10 minutos en application.properties); sin
+ * esa propiedad Tomcat corta la respuesta a los 30 segundos.
+ */
+@Slf4j
+@Component
+public class JsonListStreamer {
+
+	/**
+	 * Lee un bloque de la coleccion
+	 */
+	@FunctionalInterface
+	public interface ChunkLoader<T> {
+		List<T> load(Long after, int limit);
+	}
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final int chunkSize;
+
+	public JsonListStreamer(@Value("${museoartemoderno.streaming.chunk-size:500}") int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Respuesta que escribe toda la coleccion como un arreglo JSON
+	 * @param loader - Lee un bloque de elementos con id mayor al cursor
+	 * @param id - Extrae el id de un elemento (cursor del siguiente bloque)
+	 * @param mapper - Convierte un bloque de elementos en sus DTO, dentro de la transaccion del bloque
+	 * @param type - Tipo de los DTO
+	 * @param selection - Campos de cada DTO que se escriben (ver FieldSelection)
+	 * @param expansion - Objetos anidados que se escriben completos (ver Expansion)
+	 * @return - Respuesta HTTP que se escribe por partes
+	 */
+	public <T, D> ResponseEntity<StreamingResponseBody> stream(ChunkLoader<T> loader, Function<? super T, Long> id,
+			Function<List<T>, List<D>> mapper, Class<D> type, FieldSelection selection, Expansion expansion) {
+		ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+				.with(SparseFieldsFilter.filters(selection, expansion));
+		StreamingResponseBody body = output -> {
+			TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+			transaction.setReadOnly(true);
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+				generator.writeStartArray();
+				Long after = 0L;
+				long total = 0;
+				while (after != null) {
+					Long cursor = after;
+					Chunk<D> chunk = transaction.execute(status -> {
+						List<T> page = loader.load(cursor, chunkSize);
+						Chunk<D> result = new Chunk<>(mapper.apply(page),
+								page.size() == chunkSize ? id.apply(page.get(page.size() - 1)) : null);
+						entityManager.clear();
+						return result;
+					});
+					for (D dto : chunk.dtos)
+						writer.writeValue(generator, dto);
+					generator.flush();
+					total += chunk.dtos.size();
+					after = chunk.next;
+				}
+				generator.writeEndArray();
+				log.debug("Se enviaron {} elementos de tipo {}", total, type.getSimpleName());
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).cacheControl(CacheControl.noStore()).body(body);
+	}
+
+	private static final class Chunk<D> {
+		private final List<D> dtos;
+		private final Long next;
+
+		private Chunk(List<D> dtos, Long next) {
+			this.dtos = dtos;
+			this.next = next;
+		}
+	}
+}
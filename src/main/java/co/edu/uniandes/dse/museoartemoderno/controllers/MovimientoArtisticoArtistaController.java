@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
@@ -31,17 +34,17 @@ public class MovimientoArtisticoArtistaController
 	private MovimientoArtisticoArtistaService movimientoArtisticoArtistaService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	/**
 	 * Busca y devuelve el artista con el Id recibido en la URL, relacionado a un movimiento artistico
 	 */
 	@GetMapping(value = "/{movimientoId}/artistas/{artistaId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public ArtistaDetailDTO getArtista(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException, IllegalOperationException
+	public ResponseEntity<ArtistaDetailDTO> getArtista(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
 		ArtistaEntity artistaEntity = movimientoArtisticoArtistaService.getArtista(movimientoId, artistaId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return EntityTags.respond(request, artistaEntity, () -> dtoMapper.map(artistaEntity, ArtistaDetailDTO.class));
 	}
 	
 	/**
@@ -49,11 +52,12 @@ public class MovimientoArtisticoArtistaController
 	 */
 	@GetMapping(value = "/{movimientoId}/artistas")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<ArtistaDetailDTO> getArtistas(@PathVariable("movimientoId") Long movimientoId) throws EntityNotFoundException
+	public ResponseEntity<List<ArtistaDetailDTO>> getArtistas(@PathVariable("movimientoId") Long movimientoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
-		List<ArtistaEntity> artistas = movimientoArtisticoArtistaService.getArtistas(movimientoId);
-		return modelMapper.map(artistas, new TypeToken<List<ArtistaDetailDTO>>() {
-		}.getType());
+		int pageSize = CursorPagination.limit(limit);
+		List<ArtistaEntity> artistas = movimientoArtisticoArtistaService.getArtistas(movimientoId, CursorPagination.decode(after), pageSize);
+		CursorPagination.writeNextCursor(response, artistas, pageSize);
+		return EntityTags.respond(request, artistas, () -> dtoMapper.mapAll(artistas, ArtistaDetailDTO.class));
 
 	}
 	
@@ -65,7 +69,7 @@ public class MovimientoArtisticoArtistaController
 	public ArtistaDetailDTO addArtista(@PathVariable("movimientoId") Long movimientoId, @PathVariable("artistaId") Long artistaId) throws EntityNotFoundException
 	{
 		ArtistaEntity artistaEntity = movimientoArtisticoArtistaService.addArtista(movimientoId, artistaId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return dtoMapper.map(artistaEntity, ArtistaDetailDTO.class);
 	}
 	
 	/**
@@ -75,11 +79,9 @@ public class MovimientoArtisticoArtistaController
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<ArtistaDetailDTO> replaceArtistas(@PathVariable("movimientoId") Long movimientoId, @RequestBody List<ArtistaDTO> artistas) throws EntityNotFoundException
 	{
-		List<ArtistaEntity> entidades = modelMapper.map(artistas, new TypeToken<List<ArtistaEntity>>() {
-		}.getType());
+		List<ArtistaEntity> entidades = dtoMapper.mapAll(artistas, ArtistaEntity.class);
 		List<ArtistaEntity> artistaList = movimientoArtisticoArtistaService.addArtistas(movimientoId, entidades);
-		return modelMapper.map(artistaList, new TypeToken<List<ArtistaDetailDTO>>() {
-		}.getType());
+		return dtoMapper.mapAll(artistaList, ArtistaDetailDTO.class);
 	}
 	
 	/**
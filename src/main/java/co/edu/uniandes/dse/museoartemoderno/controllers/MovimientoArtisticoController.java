@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
@@ -31,40 +35,75 @@ public class MovimientoArtisticoController
       private MovimientoArtisticoService movimientoArtisticoService;
 
       @Autowired
-      private ModelMapper modelMapper;
+      private DtoMapper dtoMapper;
+
+      @Autowired
+      private SparseFieldsets sparseFieldsets;
+
+      @Autowired
+      private JsonListStreamer jsonListStreamer;
+
+      @Autowired
+      private DetailResponseCache detailResponseCache;
+
+      @Autowired
+      private DetailAssembler detailAssembler;
+
       
       @PostMapping
       @ResponseStatus(code = HttpStatus.CREATED)
       public MovimientoArtisticoDTO create(@RequestBody MovimientoArtisticoDTO movimientoDTO) throws EntityNotFoundException, IllegalOperationException
       {
-    	  MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.createMovimientoArtistico(modelMapper.map(movimientoDTO, MovimientoArtisticoEntity.class));
+    	  MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.createMovimientoArtistico(dtoMapper.map(movimientoDTO, MovimientoArtisticoEntity.class));
     	  //Aca se retorna un DTO, solo que ahora si tiene un Id
-    	  return modelMapper.map(movimientoEntity, MovimientoArtisticoDTO.class);
+    	  return dtoMapper.map(movimientoEntity, MovimientoArtisticoDTO.class);
       }
       
       @GetMapping
       @ResponseStatus(code = HttpStatus.OK)
-      public List<MovimientoArtisticoDetailDTO> findall()
+      public ResponseEntity<?> findall(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException
       {
-    	  List<MovimientoArtisticoEntity> movimientos = movimientoArtisticoService.getMovimientosArtisticos();
-    	  return modelMapper.map(movimientos, new TypeToken<List<MovimientoArtisticoDetailDTO>>() {
-  		}.getType());
+    	  int pageSize = CursorPagination.limit(limit);
+    	  FieldSelection selection = FieldSelection.parse(fields);
+    	  if (sparseFieldsets.supports(MovimientoArtisticoDTO.class, selection))
+    	  	return sparseFieldsets.page(MovimientoArtisticoEntity.class, MovimientoArtisticoDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+    	  			EntityTags.REVALIDATE);
+    	  Expansion expansion = Expansion.of(expand, selection);
+    	  List<MovimientoArtisticoEntity> movimientos = movimientoArtisticoService.getMovimientosArtisticos(CursorPagination.decode(after), pageSize,
+    	  		expansion.getFetchPaths(MovimientoArtisticoDetailDTO.class));
+    	  CursorPagination.writeNextCursor(response, movimientos, pageSize);
+    	  return EntityTags.respond(request, movimientos, () -> detailAssembler.movimientoArtisticoDetails(movimientos, expansion));
+      }
+
+      /**
+       * Devuelve todos los movimientos artisticos como un arreglo JSON que se escribe por partes (ver JsonListStreamer)
+       */
+      @GetMapping(value = "/stream")
+      public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe) {
+    	  FieldSelection selection = FieldSelection.parse(fields);
+    	  Expansion expansion = Expansion.of(expand, selection, dedupe);
+    	  List<String> paths = expansion.getFetchPaths(MovimientoArtisticoDetailDTO.class);
+    	  return jsonListStreamer.stream((cursor, size) -> movimientoArtisticoService.getMovimientosArtisticos(cursor, size, paths),
+    			  MovimientoArtisticoEntity::getId, movimientos -> detailAssembler.movimientoArtisticoDetails(movimientos, expansion),
+    			  MovimientoArtisticoDetailDTO.class, selection, expansion);
       }
       
       @GetMapping(value = "/{id}")
       @ResponseStatus(code = HttpStatus.OK)
-      public MovimientoArtisticoDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException
+      public ResponseEntity<byte[]> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe, WebRequest request) throws EntityNotFoundException
       {
-    	  MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.getMovimientoArtistico(id);
-    	  return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+    	  Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields), dedupe);
+    	  return detailResponseCache.get(MovimientoArtisticoEntity.class, id, expansion, request,
+    			  () -> movimientoArtisticoService.getMovimientoArtistico(id, expansion.getFetchPaths(MovimientoArtisticoDetailDTO.class)),
+    			  movimiento -> detailAssembler.movimientoArtisticoDetail(movimiento, expansion));
       }
       
       @PutMapping(value = "/{id}")
       @ResponseStatus(code = HttpStatus.OK)
       public MovimientoArtisticoDTO update(@PathVariable("id") Long id, @RequestBody MovimientoArtisticoDTO movimientoDTO) throws EntityNotFoundException, IllegalOperationException
       {
-    	 MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.updateMovimientoArtistico(id, modelMapper.map(movimientoDTO, MovimientoArtisticoEntity.class));
-    	 return modelMapper.map(movimientoEntity, MovimientoArtisticoDTO.class);
+    	 MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.updateMovimientoArtistico(id, dtoMapper.map(movimientoDTO, MovimientoArtisticoEntity.class));
+    	 return dtoMapper.map(movimientoEntity, MovimientoArtisticoDTO.class);
       }
       
       @DeleteMapping(value = "/{id}")
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
@@ -31,17 +34,17 @@ public class MovimientoArtisticoMuseoController
 	MovimientoArtisticoMuseoService movimientoArtisticoMuseoService;
 	
 	@Autowired 
-	ModelMapper modelMapper;
+	DtoMapper dtoMapper;
 	
 	/**
 	 * Busca y devuelve el museo con el Id recibido en la URL, relacionado a un movimiento artistico
 	 */
 	@GetMapping(value = "/{movimientoId}/museos/{museoId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public MuseoDetailDTO getMuseo(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException, IllegalOperationException
+	public ResponseEntity<MuseoDetailDTO> getMuseo(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoId") Long museoId, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
 		MuseoEntity museoEntity = movimientoArtisticoMuseoService.getMuseo(museoId, movimientoId);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return EntityTags.respond(request, museoEntity, () -> dtoMapper.map(museoEntity, MuseoDetailDTO.class));
 	}
 	
 	/**
@@ -49,11 +52,12 @@ public class MovimientoArtisticoMuseoController
 	 */
 	@GetMapping(value = "/{movimientoId}/museos")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<MuseoDetailDTO> getMuseos(@PathVariable("movimientoId") Long movimientoId) throws EntityNotFoundException
+	public ResponseEntity<List<MuseoDetailDTO>> getMuseos(@PathVariable("movimientoId") Long movimientoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
-		List<MuseoEntity> museos = movimientoArtisticoMuseoService.getMuseos(movimientoId);
-		return modelMapper.map(museos, new TypeToken<List<MuseoDetailDTO>>() {
-		}.getType());
+		int pageSize = CursorPagination.limit(limit);
+		List<MuseoEntity> museos = movimientoArtisticoMuseoService.getMuseos(movimientoId, CursorPagination.decode(after), pageSize);
+		CursorPagination.writeNextCursor(response, museos, pageSize);
+		return EntityTags.respond(request, museos, () -> dtoMapper.mapAll(museos, MuseoDetailDTO.class));
 
 	}
 	
@@ -65,7 +69,7 @@ public class MovimientoArtisticoMuseoController
 	public MuseoDetailDTO addMuseo(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoID") Long museoID) throws EntityNotFoundException
 	{
 		MuseoEntity museoEntity = movimientoArtisticoMuseoService.addMuseo(movimientoId, museoID);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return dtoMapper.map(museoEntity, MuseoDetailDTO.class);
 	}
 	
 	/**
@@ -75,11 +79,9 @@ public class MovimientoArtisticoMuseoController
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<MuseoDetailDTO> replaceMuseo(@PathVariable("movimientoId") Long movimientoId, @RequestBody List<MuseoDTO> museos) throws EntityNotFoundException
 	{
-		List<MuseoEntity> entidades = modelMapper.map(museos, new TypeToken<List<MuseoEntity>>() {
-		}.getType());
+		List<MuseoEntity> entidades = dtoMapper.mapAll(museos, MuseoEntity.class);
 		List<MuseoEntity> museoList = movimientoArtisticoMuseoService.addMuseos(movimientoId, entidades);
-		return modelMapper.map(museoList, new TypeToken<List<MuseoDetailDTO>>() {
-		}.getType());
+		return dtoMapper.mapAll(museoList, MuseoDetailDTO.class);
 	}
 	
 	/**
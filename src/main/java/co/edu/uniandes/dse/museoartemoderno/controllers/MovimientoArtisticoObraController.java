@@ -2,18 +2,21 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
@@ -30,7 +33,7 @@ public class MovimientoArtisticoObraController
 	MovimientoArtisticoObraService movimientoArtisticoObraService;
 
 	@Autowired 
-	ModelMapper modelMapper;
+	DtoMapper dtoMapper;
 
 	/**
 	 * Guarda una obra dentro de un movimiento artistico
@@ -40,7 +43,7 @@ public class MovimientoArtisticoObraController
 	public ObraDetailDTO addObra(@PathVariable("movimientoId") Long movimientoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException
 	{
 		ObraEntity obraEntity = movimientoArtisticoObraService.addObra(movimientoId, obraId);
-		return modelMapper.map(obraEntity, ObraDetailDTO.class);
+		return dtoMapper.map(obraEntity, ObraDetailDTO.class);
 	}
 	
 	/**
@@ -50,11 +53,9 @@ public class MovimientoArtisticoObraController
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<ObraDetailDTO> addObras(@PathVariable("movimientoId") Long movimientoId, @RequestBody List<ObraDTO> obras) throws EntityNotFoundException
 	{
-		List<ObraEntity> entities = modelMapper.map(obras, new TypeToken<List<ObraEntity>>() {
-        }.getType());
+		List<ObraEntity> entities = dtoMapper.mapAll(obras, ObraEntity.class);
 		List<ObraEntity> entidades = movimientoArtisticoObraService.replaceObras(movimientoId, entities);
-		return modelMapper.map(entidades, new TypeToken<List<ObraDetailDTO>>() {
-        }.getType());
+		return dtoMapper.mapAll(entidades, ObraDetailDTO.class);
 	}
 	
 	
@@ -63,10 +64,10 @@ public class MovimientoArtisticoObraController
 	 */
 	@GetMapping(value = "/{movimientoId}/obras/{obraId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public ObraDetailDTO getObra(@PathVariable("movimientoId") Long movimientoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException, IllegalOperationException
+	public ResponseEntity<ObraDetailDTO> getObra(@PathVariable("movimientoId") Long movimientoId, @PathVariable("obraId") Long obraId, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
 		ObraEntity obraEntity = movimientoArtisticoObraService.getObra(movimientoId, obraId);
-		return modelMapper.map(obraEntity, ObraDetailDTO.class);
+		return EntityTags.respond(request, obraEntity, () -> dtoMapper.map(obraEntity, ObraDetailDTO.class));
 	}
 	
 	/**
@@ -74,11 +75,13 @@ public class MovimientoArtisticoObraController
 	 */
 	@GetMapping(value = "/{movimientoId}/obras")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<ObraDetailDTO> getObras(@PathVariable("movimientoId") Long movimientoId) throws EntityNotFoundException
+	public ResponseEntity<List<ObraDetailDTO>> getObras(@PathVariable("movimientoId") Long movimientoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException
 	{
-		List<ObraEntity> obraEntity = movimientoArtisticoObraService.getObras(movimientoId);
-        return modelMapper.map(obraEntity, new TypeToken<List<ObraDetailDTO>>() {
-        }.getType());
+		int pageSize = CursorPagination.limit(limit);
+		List<ObraEntity> obras = movimientoArtisticoObraService.getObras(movimientoId, CursorPagination.decode(after), pageSize,
+				Expansion.parse(expand).getFetchPaths(ObraDetailDTO.class));
+		CursorPagination.writeNextCursor(response, obras, pageSize);
+		return EntityTags.respond(request, obras, () -> dtoMapper.mapAll(obras, ObraDetailDTO.class));
 	}
 	
 }
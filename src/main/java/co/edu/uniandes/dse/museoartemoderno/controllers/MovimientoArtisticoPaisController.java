@@ -1,6 +1,5 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,7 +23,7 @@ public class MovimientoArtisticoPaisController
 	MovimientoArtisticoPaisService movimientoArtisticoPaisService;
 	
 	@Autowired
-	ModelMapper modelMapper;
+	DtoMapper dtoMapper;
 	
 	/**
 	 * Reemplaza la instancia de pais asociada a un movimiento artistico
@@ -34,7 +33,7 @@ public class MovimientoArtisticoPaisController
 	public MovimientoArtisticoDetailDTO replacePais(@PathVariable("movimientoId") Long movimientoId, @RequestBody PaisDTO paisDTO) throws EntityNotFoundException
 	{
 		MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoPaisService.replacePais(movimientoId, paisDTO.getId());
-		return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+		return dtoMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
 	}
 	
 	
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
@@ -31,39 +34,38 @@ public class MuseoArtistaController {
 	private MuseoArtistaService museoArtistaService;
 
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{museoId}/artistas/{artistaId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ArtistaDetailDTO addArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException {
 		ArtistaEntity artistaEntity = museoArtistaService.addArtista(museoId, artistaId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return dtoMapper.map(artistaEntity, ArtistaDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{museoId}/artistas/{artistaId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public ArtistaDetailDTO getArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException, IllegalOperationException {
+	public ResponseEntity<ArtistaDetailDTO> getArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("museoId") Long museoId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 		ArtistaEntity artistaEntity = museoArtistaService.getArtista(museoId, artistaId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return EntityTags.respond(request, artistaEntity, () -> dtoMapper.map(artistaEntity, ArtistaDetailDTO.class));
 	}
 
 	@PutMapping(value = "/{museoId}/artistas")
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<ArtistaDetailDTO> addArtistas(@PathVariable("museoId") Long museoId, @RequestBody List<ArtistaDTO> artistas)
 			throws EntityNotFoundException {
-		List<ArtistaEntity> entities = modelMapper.map(artistas, new TypeToken<List<ArtistaEntity>>() {
-		}.getType());
+		List<ArtistaEntity> entities = dtoMapper.mapAll(artistas, ArtistaEntity.class);
 		List<ArtistaEntity> artistasList = museoArtistaService.replaceArtistas(museoId, entities);
-		return modelMapper.map(artistasList, new TypeToken<List<ArtistaDetailDTO>>() {
-		}.getType());
+		return dtoMapper.mapAll(artistasList, ArtistaDetailDTO.class);
 	}
 	
 	@GetMapping(value = "/{museoId}/artistas")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ArtistaDetailDTO> getArtistas(@PathVariable("museoId") Long museoId) throws EntityNotFoundException {
-            List<ArtistaEntity> artistaEntity = museoArtistaService.getArtistas(museoId);
-            return modelMapper.map(artistaEntity, new TypeToken<List<ArtistaDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<ArtistaDetailDTO>> getArtistas(@PathVariable("museoId") Long museoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<ArtistaEntity> artistaEntity = museoArtistaService.getArtistas(museoId, CursorPagination.decode(after), pageSize);
+            CursorPagination.writeNextCursor(response, artistaEntity, pageSize);
+            return EntityTags.respond(request, artistaEntity, () -> dtoMapper.mapAll(artistaEntity, ArtistaDetailDTO.class));
     }
 	
 	@DeleteMapping(value = "/{museoId}/artistas/{artistaId}")
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
@@ -31,36 +35,69 @@ public class MuseoController {
 	private MuseoService museoService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private SparseFieldsets sparseFieldsets;
+
+	@Autowired
+	private JsonListStreamer jsonListStreamer;
+
+	@Autowired
+	private DetailResponseCache detailResponseCache;
+
+	@Autowired
+	private DetailAssembler detailAssembler;
 
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public MuseoDTO create(@RequestBody MuseoDTO MuseoDTO) throws IllegalOperationException, EntityNotFoundException {
-		MuseoEntity museoEntity = museoService.createMuseo(modelMapper.map(MuseoDTO, MuseoEntity.class));
-		return modelMapper.map(museoEntity, MuseoDTO.class);	
+		MuseoEntity museoEntity = museoService.createMuseo(dtoMapper.map(MuseoDTO, MuseoEntity.class));
+		return dtoMapper.map(museoEntity, MuseoDTO.class);	
 	}
 
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<MuseoDetailDTO> findAll() {
-		List<MuseoEntity> museoEntity = museoService.getMuseos();
-		return modelMapper.map(museoEntity, new TypeToken<List<MuseoDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<?> findAll(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException {
+		int pageSize = CursorPagination.limit(limit);
+		FieldSelection selection = FieldSelection.parse(fields);
+		if (sparseFieldsets.supports(MuseoDTO.class, selection))
+			return sparseFieldsets.page(MuseoEntity.class, MuseoDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+					EntityTags.REVALIDATE);
+		Expansion expansion = Expansion.of(expand, selection);
+		List<MuseoEntity> museoEntity = museoService.getMuseos(CursorPagination.decode(after), pageSize,
+				expansion.getFetchPaths(MuseoDetailDTO.class));
+		CursorPagination.writeNextCursor(response, museoEntity, pageSize);
+		return EntityTags.respond(request, museoEntity, () -> detailAssembler.museoDetails(museoEntity, expansion));
+	}
+
+	/**
+	 * Devuelve todos los museos como un arreglo JSON que se escribe por partes (ver JsonListStreamer)
+	 */
+	@GetMapping(value = "/stream")
+	public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe) {
+		FieldSelection selection = FieldSelection.parse(fields);
+		Expansion expansion = Expansion.of(expand, selection, dedupe);
+		List<String> paths = expansion.getFetchPaths(MuseoDetailDTO.class);
+		return jsonListStreamer.stream((cursor, size) -> museoService.getMuseos(cursor, size, paths),
+				MuseoEntity::getId, museos -> detailAssembler.museoDetails(museos, expansion), MuseoDetailDTO.class, selection, expansion);
 	}
 	
 	@GetMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public MuseoDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-            MuseoEntity museoEntity = museoService.getMuseo(id);
-            return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+    public ResponseEntity<byte[]> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe, WebRequest request) throws EntityNotFoundException {
+            Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields), dedupe);
+            return detailResponseCache.get(MuseoEntity.class, id, expansion, request,
+            		() -> museoService.getMuseo(id, expansion.getFetchPaths(MuseoDetailDTO.class)),
+            		museo -> detailAssembler.museoDetail(museo, expansion));
     }
 	
 	@PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public MuseoDTO update(@PathVariable("id") Long id, @RequestBody MuseoDTO MuseoDTO)
                     throws EntityNotFoundException, IllegalOperationException {
-            MuseoEntity museoEntity = museoService.updateMuseo(id, modelMapper.map(MuseoDTO, MuseoEntity.class));
-            return modelMapper.map(museoEntity, MuseoDTO.class);
+            MuseoEntity museoEntity = museoService.updateMuseo(id, dtoMapper.map(MuseoDTO, MuseoEntity.class));
+            return dtoMapper.map(museoEntity, MuseoDTO.class);
     }
 	
 	@DeleteMapping(value = "/{id}")
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
@@ -31,38 +34,37 @@ public class MuseoMovimientoArtisticoController {
 	private MuseoMovimientoArtisticoService museoMovimientoArtisticoService;
 	
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 	
 	@PostMapping(value = "/{museoId}/movimientos/{movimientoId}")
     @ResponseStatus(code = HttpStatus.OK)
     public MovimientoArtisticoDetailDTO addAuthor(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException {
             MovimientoArtisticoEntity movimientoEntity = museoMovimientoArtisticoService.addMovimientoArtistico(museoId, movimientoId);
-            return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+            return dtoMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{museoId}/movimientos/{movimientoId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public MovimientoArtisticoDetailDTO getAuthor(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException, IllegalOperationException {
+    public ResponseEntity<MovimientoArtisticoDetailDTO> getAuthor(@PathVariable("movimientoId") Long movimientoId, @PathVariable("museoId") Long museoId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 			MovimientoArtisticoEntity movimientoArtisticoEntity = museoMovimientoArtisticoService.getMovimientoArtistico(museoId, movimientoId);
-            return modelMapper.map(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class);
+            return EntityTags.respond(request, movimientoArtisticoEntity, () -> dtoMapper.map(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class));
     }
 	
 	@PutMapping(value = "/{museoId}/movimientos")
     @ResponseStatus(code = HttpStatus.OK)
     public List<MovimientoArtisticoDetailDTO> addAuthors(@PathVariable("museoId") Long museoId, @RequestBody List<MovimientoArtisticoDTO> movimientos) throws EntityNotFoundException {
-            List<MovimientoArtisticoEntity> entities = modelMapper.map(movimientos, new TypeToken<List<MovimientoArtisticoEntity>>() {
-            }.getType());
+            List<MovimientoArtisticoEntity> entities = dtoMapper.mapAll(movimientos, MovimientoArtisticoEntity.class);
             List<MovimientoArtisticoEntity> authorsList = museoMovimientoArtisticoService.replaceMovimientoArtisticos(museoId, entities);
-            return modelMapper.map(authorsList, new TypeToken<List<MovimientoArtisticoDetailDTO>>() {
-            }.getType());
+            return dtoMapper.mapAll(authorsList, MovimientoArtisticoDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{museoId}/movimientos")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<MovimientoArtisticoDetailDTO> getAuthors(@PathVariable("museoId") Long museoId) throws EntityNotFoundException {
-            List<MovimientoArtisticoEntity> movimientoArtisticoEntity = museoMovimientoArtisticoService.getMovimientoArtisticos(museoId);
-            return modelMapper.map(movimientoArtisticoEntity, new TypeToken<List<MovimientoArtisticoDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<MovimientoArtisticoDetailDTO>> getAuthors(@PathVariable("museoId") Long museoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<MovimientoArtisticoEntity> movimientoArtisticoEntity = museoMovimientoArtisticoService.getMovimientoArtisticos(museoId, CursorPagination.decode(after), pageSize);
+            CursorPagination.writeNextCursor(response, movimientoArtisticoEntity, pageSize);
+            return EntityTags.respond(request, movimientoArtisticoEntity, () -> dtoMapper.mapAll(movimientoArtisticoEntity, MovimientoArtisticoDetailDTO.class));
     }
 
 	@DeleteMapping(value = "/{museoId}/movimientos/{movimientoId}")
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
@@ -31,38 +34,38 @@ public class MuseoObraController {
 	private MuseoObraService museoObraService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{museoId}/obras/{obraId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ObraDetailDTO addObra(@PathVariable("obraId") Long obraId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException {
 		ObraEntity obraEntity = museoObraService.addObra(museoId, obraId);
-		return modelMapper.map(obraEntity, ObraDetailDTO.class);
+		return dtoMapper.map(obraEntity, ObraDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{museoId}/obras/{obraId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public ObraDetailDTO getObra(@PathVariable("obraId") Long obraId, @PathVariable("museoId") Long museoId) throws EntityNotFoundException, IllegalOperationException {
+    public ResponseEntity<ObraDetailDTO> getObra(@PathVariable("obraId") Long obraId, @PathVariable("museoId") Long museoId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 			ObraEntity obraEntity = museoObraService.getObra(museoId, obraId);
-            return modelMapper.map(obraEntity, ObraDetailDTO.class);
+            return EntityTags.respond(request, obraEntity, () -> dtoMapper.map(obraEntity, ObraDetailDTO.class));
     }
 	
 	@PutMapping(value = "/{museoId}/obras")
     @ResponseStatus(code = HttpStatus.OK)
     public List<ObraDetailDTO> addObras(@PathVariable("museoId") Long museoId, @RequestBody List<ObraDTO> obras) throws EntityNotFoundException {
-            List<ObraEntity> entities = modelMapper.map(obras, new TypeToken<List<ObraEntity>>() {
-            }.getType());
+            List<ObraEntity> entities = dtoMapper.mapAll(obras, ObraEntity.class);
             List<ObraEntity> obrasList = museoObraService.replaceObras(museoId, entities);
-            return modelMapper.map(obrasList, new TypeToken<List<ObraDetailDTO>>() {
-            }.getType());
+            return dtoMapper.mapAll(obrasList, ObraDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{museoId}/obras")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<ObraDetailDTO> getObras(@PathVariable("museoId") Long museoId) throws EntityNotFoundException {
-            List<ObraEntity> obraEntity = museoObraService.getObras(museoId);
-            return modelMapper.map(obraEntity, new TypeToken<List<ObraDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<ObraDetailDTO>> getObras(@PathVariable("museoId") Long museoId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
+            int pageSize = CursorPagination.limit(limit);
+            List<ObraEntity> obras = museoObraService.getObras(museoId, CursorPagination.decode(after), pageSize,
+            		Expansion.parse(expand).getFetchPaths(ObraDetailDTO.class));
+            CursorPagination.writeNextCursor(response, obras, pageSize);
+            return EntityTags.respond(request, obras, () -> dtoMapper.mapAll(obras, ObraDetailDTO.class));
     }
 
 	@DeleteMapping(value = "/{museoId}/obras/{obraId}")
@@ -1,6 +1,5 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,13 +21,13 @@ public class MuseoPaisController {
 	private MuseoPaisService museoPaisService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 	
 	@PutMapping(value = "/{museoId}/ubicacion")
 	@ResponseStatus(code = HttpStatus.OK)
 	public MuseoDetailDTO replacePaisNacimiento(@PathVariable("museoId") Long museoId, @RequestBody PaisDTO paisDTO) throws EntityNotFoundException {
 		MuseoEntity museoEntity = museoPaisService.replacePais(museoId, paisDTO.getId());
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return dtoMapper.map(museoEntity, MuseoDetailDTO.class);
 	}
 
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
 import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
@@ -25,20 +26,20 @@ public class ObraArtistaController {
 	private ObraArtistaService obraArtistaService;
 
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{obraId}/artistas/{artistaId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public ArtistaDetailDTO addArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException {
 		ArtistaEntity artistaEntity = obraArtistaService.addArtista(obraId, artistaId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return dtoMapper.map(artistaEntity, ArtistaDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{obraId}/artistas/{artistaId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public ArtistaDetailDTO getArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException, IllegalOperationException {
+	public ResponseEntity<ArtistaDetailDTO> getArtista(@PathVariable("artistaId") Long artistaId, @PathVariable("obraId") Long obraId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 		ArtistaEntity artistaEntity = obraArtistaService.getArtista(obraId);
-		return modelMapper.map(artistaEntity, ArtistaDetailDTO.class);
+		return EntityTags.respond(request, artistaEntity, () -> dtoMapper.map(artistaEntity, ArtistaDetailDTO.class));
 	}
 	
 	@DeleteMapping(value = "/{obraId}/artistas/{artistaId}")
@@ -2,10 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
 import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
@@ -31,38 +35,72 @@ public class ObraController {
 	private ObraService obraService;
 	
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private SparseFieldsets sparseFieldsets;
+
+	@Autowired
+	private JsonListStreamer jsonListStreamer;
+
+	@Autowired
+	private DetailResponseCache detailResponseCache;
+
+	@Autowired
+	private DetailAssembler detailAssembler;
+
 	
 	@PostMapping 
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public ObraDTO create (@RequestBody ObraDTO obraDTO) throws IllegalOperationException, EntityNotFoundException{
 		
-		ObraEntity obraEntity = obraService.createObra(modelMapper.map(obraDTO, ObraEntity.class));
+		ObraEntity obraEntity = obraService.createObra(dtoMapper.map(obraDTO, ObraEntity.class));
 		
-		return modelMapper.map(obraEntity, ObraDTO.class);
+		return dtoMapper.map(obraEntity, ObraDTO.class);
 	}
 	
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<ObraDetailDTO> findAll() {
-		List<ObraEntity> obras = obraService.getAllObras();
-		return modelMapper.map(obras, new TypeToken<List<ObraDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<?> findAll(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException {
+		int pageSize = CursorPagination.limit(limit);
+		FieldSelection selection = FieldSelection.parse(fields);
+		if (sparseFieldsets.supports(ObraDTO.class, selection))
+			return sparseFieldsets.page(ObraEntity.class, ObraDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+					EntityTags.REVALIDATE);
+		Expansion expansion = Expansion.of(expand, selection);
+		List<ObraEntity> obras = obraService.getAllObras(CursorPagination.decode(after), pageSize,
+				expansion.getFetchPaths(ObraDetailDTO.class));
+		CursorPagination.writeNextCursor(response, obras, pageSize);
+		return EntityTags.respond(request, obras, () -> dtoMapper.mapAll(obras, ObraDetailDTO.class));
+	}
+
+	/**
+	 * Devuelve todas las obras como un arreglo JSON que se escribe por partes (ver JsonListStreamer)
+	 */
+	@GetMapping(value = "/stream")
+	public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe) {
+		FieldSelection selection = FieldSelection.parse(fields);
+		Expansion expansion = Expansion.of(expand, selection, dedupe);
+		List<String> paths = expansion.getFetchPaths(ObraDetailDTO.class);
+		return jsonListStreamer.stream((cursor, size) -> obraService.getAllObras(cursor, size, paths), ObraEntity::getId,
+				obras -> dtoMapper.mapAll(obras, ObraDetailDTO.class), ObraDetailDTO.class, selection, expansion);
 	}
 	
 	@GetMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public ObraDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-            ObraEntity obraEntity = obraService.getObra(id);
-            return modelMapper.map(obraEntity, ObraDetailDTO.class);
+    public ResponseEntity<byte[]> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, @RequestParam(value = Expansion.DEDUPLICATE, required = false) boolean dedupe, WebRequest request) throws EntityNotFoundException {
+            Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields), dedupe);
+            return detailResponseCache.get(ObraEntity.class, id, expansion, request,
+            		() -> obraService.getObra(id, expansion.getFetchPaths(ObraDetailDTO.class)),
+            		obra -> detailAssembler.obraDetail(obra, expansion));
     }
 	
 	@PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     public ObraDTO update(@PathVariable("id") Long id, @RequestBody ObraDTO obraDTO)
                     throws EntityNotFoundException, IllegalOperationException {
-            ObraEntity obraEntity = obraService.updateObra(id, modelMapper.map(obraDTO, ObraEntity.class));
-            return modelMapper.map(obraEntity, ObraDTO.class);
+            ObraEntity obraEntity = obraService.updateObra(id, dtoMapper.map(obraDTO, ObraEntity.class));
+            return dtoMapper.map(obraEntity, ObraDTO.class);
     }
 	
 	@DeleteMapping(value = "/{id}")
@@ -1,8 +1,8 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
 import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
@@ -25,20 +26,20 @@ public class ObraMovimientoArtisticoController {
 	private ObraMovimientoArtisticoService obraMovimientoArtisticoService;
 
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{obraId}/movimientoartisticos/{movimientoArtisticoId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public MovimientoArtisticoDetailDTO addMovimientoArtistico(@PathVariable("movimientoArtisticoId") Long movimientoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException {
 		MovimientoArtisticoEntity movimientoEntity = obraMovimientoArtisticoService.addMovimientoArtistico(obraId, movimientoId);
-		return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+		return dtoMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{obraId}/movimientoartisticos/{movimientoArtisticoId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public MovimientoArtisticoDetailDTO getMovimientoArtistico(@PathVariable("movimientoArtisticoId") Long movimientoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException, IllegalOperationException {
+	public ResponseEntity<MovimientoArtisticoDetailDTO> getMovimientoArtistico(@PathVariable("movimientoArtisticoId") Long movimientoId, @PathVariable("obraId") Long obraId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 		MovimientoArtisticoEntity movimientoEntity = obraMovimientoArtisticoService.getMovimientoArtistico(obraId);
-		return modelMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class);
+		return EntityTags.respond(request, movimientoEntity, () -> dtoMapper.map(movimientoEntity, MovimientoArtisticoDetailDTO.class));
 	}
 	
 	@DeleteMapping(value = "/{obraId}/movimientoartisticos/{movimientoArtisticoId}")
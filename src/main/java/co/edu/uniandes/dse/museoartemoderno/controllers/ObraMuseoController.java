@@ -1,8 +1,8 @@
 package co.edu.uniandes.dse.museoartemoderno.controllers;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
 import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
@@ -25,20 +26,20 @@ public class ObraMuseoController {
 	private ObraMuseoService obraArtistaService;
 
 	@Autowired 
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
 
 	@PostMapping(value = "/{obraId}/museos/{museoId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public MuseoDetailDTO addMuseo(@PathVariable("museoId") Long museoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException {
 		MuseoEntity museoEntity = obraArtistaService.addMuseo(obraId, museoId);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return dtoMapper.map(museoEntity, MuseoDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{obraId}/museos/{museoId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public MuseoDetailDTO getMuseo(@PathVariable("museoId") Long museoId, @PathVariable("obraId") Long obraId) throws EntityNotFoundException, IllegalOperationException {
+	public ResponseEntity<MuseoDetailDTO> getMuseo(@PathVariable("museoId") Long museoId, @PathVariable("obraId") Long obraId, WebRequest request) throws EntityNotFoundException, IllegalOperationException {
 		MuseoEntity museoEntity = obraArtistaService.getMuseo(obraId);
-		return modelMapper.map(museoEntity, MuseoDetailDTO.class);
+		return EntityTags.respond(request, museoEntity, () -> dtoMapper.map(museoEntity, MuseoDetailDTO.class));
 	}
 	
 	@DeleteMapping(value = "/{obraId}/museos/{museoId}")
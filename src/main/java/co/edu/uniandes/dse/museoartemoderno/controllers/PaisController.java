@@ -2,18 +2,21 @@ package co.edu.uniandes.dse.museoartemoderno.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
 
@@ -31,28 +34,39 @@ public class PaisController {
 	private PaisService paisService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private SparseFieldsets sparseFieldsets;
 
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public PaisDTO create(@RequestBody PaisDTO paisDTO) throws IllegalOperationException, EntityNotFoundException {
-		PaisEntity paisEntity = paisService.createPais(modelMapper.map(paisDTO, PaisEntity.class));
-		return modelMapper.map(paisEntity, PaisDTO.class);
+		PaisEntity paisEntity = paisService.createPais(dtoMapper.map(paisDTO, PaisEntity.class));
+		return dtoMapper.map(paisEntity, PaisDTO.class);
 	}
 
 	@GetMapping(value = "/{id}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public PaisDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-		PaisEntity paisEntity = paisService.getPais(id);
-		return modelMapper.map(paisEntity, PaisDetailDTO.class);
+	public ResponseEntity<PaisDetailDTO> findOne(@PathVariable("id") Long id, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, WebRequest request) throws EntityNotFoundException {
+		Expansion expansion = Expansion.of(expand, FieldSelection.parse(fields));
+		PaisEntity paisEntity = paisService.getPais(id, expansion.getFetchPaths(PaisDetailDTO.class));
+		return EntityTags.respond(request, paisEntity, EntityTags.REFERENCE_DATA, () -> dtoMapper.map(paisEntity, PaisDetailDTO.class));
 	}
 
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<PaisDetailDTO> findAll() {
-		List<PaisEntity> paises = paisService.getPaises();
-		return modelMapper.map(paises, new TypeToken<List<PaisDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<?> findAll(@RequestParam(value = "after", required = false) String after, @RequestParam(value = "limit", required = false) Integer limit, @RequestParam(value = FieldSelection.PARAM, required = false) String fields, @RequestParam(value = Expansion.PARAM, required = false) String expand, HttpServletResponse response, WebRequest request) throws IllegalOperationException {
+		int pageSize = CursorPagination.limit(limit);
+		FieldSelection selection = FieldSelection.parse(fields);
+		if (sparseFieldsets.supports(PaisDTO.class, selection))
+			return sparseFieldsets.page(PaisEntity.class, PaisDTO.class, selection, CursorPagination.decode(after), pageSize, response, request,
+					EntityTags.REFERENCE_DATA);
+		Expansion expansion = Expansion.of(expand, selection);
+		List<PaisEntity> paises = paisService.getPaises(CursorPagination.decode(after), pageSize,
+				expansion.getFetchPaths(PaisDetailDTO.class));
+		CursorPagination.writeNextCursor(response, paises, pageSize);
+		return EntityTags.respond(request, paises, EntityTags.REFERENCE_DATA, () -> dtoMapper.mapAll(paises, PaisDetailDTO.class));
 	}
 	
 		
@@ -60,8 +74,8 @@ public class PaisController {
 	@ResponseStatus(code = HttpStatus.OK)
 	public PaisDTO update(@PathVariable("id") Long id, @RequestBody PaisDTO paisDTO) 
 			throws EntityNotFoundException, IllegalOperationException {
-		PaisEntity paisEntity = paisService.updatePais(id, modelMapper.map(paisDTO, PaisEntity.class));
-		return modelMapper.map(paisEntity, PaisDTO.class);
+		PaisEntity paisEntity = paisService.updatePais(id, dtoMapper.map(paisDTO, PaisEntity.class));
+		return dtoMapper.map(paisEntity, PaisDTO.class);
 	}
 	
 	@DeleteMapping(value = "/{id}")
@@ -0,0 +1,39 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Sonda de disponibilidad: 200 cuando la aplicacion acepta trafico, 503
+ * mientras arranca (incluido el calentamiento, ver StartupWarmUp). El cuerpo
+ * incluye la duracion de cada paso del calentamiento.
+ */
+@RestController
+@RequestMapping("/readiness")
+public class ReadinessController {
+
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Autowired
+	private StartupWarmUp startupWarmUp;
+
+	@GetMapping
+	public ResponseEntity<Map<String, Object>> readiness() {
+		ReadinessState state = applicationAvailability.getReadinessState();
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("readiness", state);
+		body.put("warmUp", startupWarmUp.getReport());
+		HttpStatus status = state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+		return ResponseEntity.status(status).body(body);
+	}
+}
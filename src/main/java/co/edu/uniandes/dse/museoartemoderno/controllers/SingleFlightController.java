@@ -0,0 +1,30 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.museoartemoderno.services.SingleFlight;
+
+/**
+ * Metricas de SingleFlight por llave (lecturas ejecutadas, llamadas agrupadas y
+ * esperas agotadas) de las llaves usadas mas recientemente, ordenadas por llave.
+ */
+@RestController
+@RequestMapping("/single-flight/metrics")
+public class SingleFlightController {
+
+	@Autowired
+	private SingleFlight singleFlight;
+
+	@GetMapping
+	public ResponseEntity<Map<String, SingleFlight.Metrics>> metrics() {
+		return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(new TreeMap<>(singleFlight.getMetrics()));
+	}
+}
@@ -0,0 +1,101 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Aplica los parametros ?fields= (ver FieldSelection) y ?expand= (ver
+ * Expansion) a las respuestas JSON exitosas de todos los controladores: los
+ * DTO se serializan con SparseFieldsFilter, que escribe los objetos anidados no
+ * expandidos como referencias, y las respuestas que ya vienen serializadas
+ * (detalles del DetailResponseCache, que ya aplican la expansion) se recortan a
+ * los campos pedidos. Solo los endpoints que reciben el parametro expand (y
+ * cargan sus asociaciones con FetchPlanService) lo aplican; en los demas los
+ * objetos anidados siempre son referencias. El parametro ?dedupe=true se
+ * aplica igual que expand (ver Expansion). Las respuestas de error no se
+ * tocan.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Para cada endpoint, si recibe el parametro expand
+	 */
+	private final Map<Method, Boolean> expandable = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+			Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request, ServerHttpResponse response) {
+		if (body == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+				|| !(request instanceof ServletServerHttpRequest) || !(response instanceof ServletServerHttpResponse))
+			return body;
+		HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+		HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+		if (servletResponse.getStatus() >= 300)
+			return body;
+		FieldSelection selection = FieldSelection.parse(servletRequest.getParameter(FieldSelection.PARAM));
+
+		boolean deduplicated = Boolean.parseBoolean(servletRequest.getParameter(Expansion.DEDUPLICATE));
+
+		if (body instanceof byte[]) {
+			if (selection.isAll())
+				return body;
+			try {
+				return objectMapper.writeValueAsBytes(
+						SparseFieldsFilter.retain(objectMapper.readTree((byte[]) body), selection, deduplicated));
+			} catch (IOException e) {
+				return body;
+			}
+		}
+		if (!AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType))
+			return body;
+		MappingJacksonValue value = body instanceof MappingJacksonValue ? (MappingJacksonValue) body : new MappingJacksonValue(body);
+		Expansion expansion = isExpandable(returnType.getMethod())
+				? Expansion.of(servletRequest.getParameter(Expansion.PARAM), selection, deduplicated) : Expansion.NONE;
+		value.setFilters(SparseFieldsFilter.filters(selection, expansion));
+		return value;
+	}
+
+	private boolean isExpandable(Method method) {
+		if (method == null)
+			return false;
+		return expandable.computeIfAbsent(method, m -> {
+			for (Parameter parameter : m.getParameters()) {
+				RequestParam param = parameter.getAnnotation(RequestParam.class);
+				if (param != null && (Expansion.PARAM.equals(param.value()) || Expansion.PARAM.equals(param.name())))
+					return true;
+			}
+			return false;
+		});
+	}
+}
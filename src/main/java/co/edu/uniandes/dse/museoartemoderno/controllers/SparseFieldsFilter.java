@@ -0,0 +1,189 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Filtro de Jackson que escribe solo los campos de una FieldSelection y
+ * escribe como referencia ({"id": ...}) cada objeto anidado que no esta en la
+ * Expansion. Se asocia a los DTO con un mix-in (ver ApplicationConfig); el
+ * filtro por defecto escribe todos los campos. Como decide mientras serializa,
+ * los campos que no se piden no se escriben ni se recorren.
+ *
+ * Si la expansion pide dedupe, cada filtro guarda los objetos expandidos que
+ * ya escribio (ruta e id): la primera vez que un objeto aparece en una ruta se
+ * escribe completo y las siguientes se escribe como referencia, de modo que el
+ * cliente lo encuentra por su id en la primera aparicion de esa ruta. Por eso
+ * el id de los objetos anidados siempre se escribe en ese modo, y cada
+ * respuesta debe usar un filtro nuevo (ver filters).
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+	/**
+	 * Id del filtro en los DTO
+	 */
+	public static final String ID = "sparseFields";
+
+	/**
+	 * Filtros que escriben todos los campos
+	 */
+	public static final FilterProvider ALL = filters(FieldSelection.ALL, null);
+
+	/**
+	 * Mix-in que asocia el filtro a un DTO
+	 */
+	@JsonFilter(ID)
+	public interface Filtered {
+	}
+
+	/**
+	 * Campo que se escribe en las referencias
+	 */
+	private static final String REFERENCE = "id";
+
+	private final FieldSelection selection;
+
+	private final Expansion expansion;
+
+	/**
+	 * Ruta e id de los objetos expandidos ya escritos (null si no se pidio dedupe)
+	 */
+	private final Set<String> written;
+
+	private SparseFieldsFilter(FieldSelection selection, Expansion expansion) {
+		this.selection = selection;
+		this.expansion = expansion;
+		this.written = expansion != null && expansion.isDeduplicated() ? new HashSet<>() : null;
+	}
+
+	/**
+	 * @param selection - Campos pedidos
+	 * @param expansion - Objetos anidados que se escriben completos (null para escribirlos todos)
+	 * @return - Filtros para escribir solo los campos pedidos; con dedupe guardan estado, asi que sirven para una sola respuesta
+	 */
+	public static FilterProvider filters(FieldSelection selection, Expansion expansion) {
+		return new SimpleFilterProvider().addFilter(ID, selection.isAll() && expansion == null
+				? SimpleBeanPropertyFilter.serializeAll() : new SparseFieldsFilter(selection, expansion));
+	}
+
+	@Override
+	public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer)
+			throws Exception {
+		List<String> path = FieldSelection.path(generator.getOutputContext());
+		String name = writer.getName();
+		if (!includes(path, name)) {
+			if (!generator.canOmitFields())
+				writer.serializeAsOmittedField(pojo, generator, provider);
+			return;
+		}
+		if (written != null && writer instanceof BeanPropertyWriter) {
+			List<String> child = new ArrayList<>(path);
+			child.add(name);
+			if (expansion.includes(child)) {
+				serializeOnce(pojo, generator, provider, (BeanPropertyWriter) writer, String.join(".", child));
+				return;
+			}
+		}
+		writer.serializeAsField(pojo, generator, provider);
+	}
+
+	private boolean includes(List<String> path, String name) {
+		if (REFERENCE.equals(name) && written != null && !path.isEmpty())
+			return true;
+		if (expansion != null && !REFERENCE.equals(name) && !expansion.includes(path))
+			return false;
+		return selection.isAll() || selection.includes(path, name);
+	}
+
+	/**
+	 * Escribe un campo expandido (objeto o coleccion) escribiendo como referencia
+	 * los objetos que ya se escribieron en la misma ruta
+	 */
+	private void serializeOnce(Object pojo, JsonGenerator generator, SerializerProvider provider, BeanPropertyWriter writer,
+			String path) throws Exception {
+		Object value = writer.get(pojo);
+		if (value instanceof Collection) {
+			generator.writeFieldName(writer.getName());
+			generator.writeStartArray();
+			for (Object element : (Collection<?>) value)
+				writeOnce(element, generator, provider, path);
+			generator.writeEndArray();
+		} else if (DtoDependencies.id(value) != null) {
+			generator.writeFieldName(writer.getName());
+			writeOnce(value, generator, provider, path);
+		} else {
+			writer.serializeAsField(pojo, generator, provider);
+		}
+	}
+
+	private void writeOnce(Object value, JsonGenerator generator, SerializerProvider provider, String path) throws Exception {
+		Long id = DtoDependencies.id(value);
+		if (id == null || written.add(path + ":" + id)) {
+			provider.defaultSerializeValue(value, generator);
+		} else {
+			generator.writeStartObject(value);
+			generator.writeNumberField(REFERENCE, id);
+			generator.writeEndObject();
+		}
+	}
+
+	/**
+	 * Quita de un JSON ya serializado los campos que no estan en la seleccion
+	 * (respuestas que se guardan serializadas, ver DetailResponseCache)
+	 * @param node - Arbol JSON, se modifica
+	 * @param selection - Campos pedidos
+	 * @return - El mismo arbol
+	 */
+	public static JsonNode retain(JsonNode node, FieldSelection selection) {
+		return retain(node, selection, false, false);
+	}
+
+	/**
+	 * Quita de un JSON ya serializado los campos que no estan en la seleccion
+	 * @param node - Arbol JSON, se modifica
+	 * @param selection - Campos pedidos
+	 * @param deduplicated - Si el JSON se escribio con dedupe (conserva el id de los objetos anidados)
+	 * @return - El mismo arbol
+	 */
+	public static JsonNode retain(JsonNode node, FieldSelection selection, boolean deduplicated) {
+		return retain(node, selection, deduplicated, false);
+	}
+
+	private static JsonNode retain(JsonNode node, FieldSelection selection, boolean deduplicated, boolean nested) {
+		if (selection.isAll())
+			return node;
+		if (node instanceof ArrayNode) {
+			for (JsonNode element : node)
+				retain(element, selection, deduplicated, nested);
+		} else if (node instanceof ObjectNode) {
+			Map<String, FieldSelection> fields = selection.getFields();
+			Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+			while (iterator.hasNext()) {
+				Map.Entry<String, JsonNode> field = iterator.next();
+				FieldSelection child = fields.get(field.getKey());
+				if (child != null)
+					retain(field.getValue(), child, deduplicated, true);
+				else if (!(deduplicated && nested && REFERENCE.equals(field.getKey())))
+					iterator.remove();
+			}
+		}
+		return node;
+	}
+}
@@ -0,0 +1,107 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.ProjectedRow;
+import co.edu.uniandes.dse.museoartemoderno.services.ProjectionService;
+
+/**
+ * Listados con ?fields= que solo piden campos simples del recurso (por ejemplo
+ * fields=id,nombre,imagen): en lugar de cargar las entidades con sus
+ * asociaciones y mapearlas a DTO, se leen solo esas columnas (ver
+ * ProjectionService) y se responde cada fila como un objeto con esos campos.
+ * La paginacion por cursor y el ETag funcionan igual que en el listado
+ * completo. Si se pide un campo anidado o que no es una columna, el listado
+ * usa el camino normal y SparseFieldsAdvice recorta la respuesta.
+ */
+@Component
+public class SparseFieldsets {
+
+	@Autowired
+	private ProjectionService projectionService;
+
+	/**
+	 * Para cada DTO, el atributo de la entidad que corresponde a cada campo
+	 * simple, en el orden en que el DTO los declara
+	 */
+	private final Map<Class<?>, Map<String, String>> columns = new HashMap<>();
+
+	public SparseFieldsets() {
+		register(PaisDTO.class, "id", "id", "nombrePais", "nombrePais", "coordenadas", "coordenadasPais", "imagen", "imagen");
+		register(CiudadDTO.class, "nombre", "nombreCiudad", "id", "id", "coordenadasCiudad", "coordenadasCiudad", "imagen", "imagen");
+		register(MuseoDTO.class, "id", "id", "nombre", "nombre", "img", "img", "direccion", "direccion", "totalObrasExhibidas",
+				"totalObrasExhibidas");
+		register(ArtistaDTO.class, "id", "id", "nombre", "nombre", "imagen", "imagen", "fechaNacimiento", "fechaNacimiento",
+				"fechaFallecimiento", "fechaFallecimiento");
+		register(MovimientoArtisticoDTO.class, "id", "id", "nombre", "nombre", "imagen", "imagen", "descripcion", "descripcion",
+				"fechaApogeo", "fechaApogeo");
+		register(ObraDTO.class, "id", "id", "nombre", "nombre", "tipo", "tipo", "descripcion", "descripcion", "fechaPublicacion",
+				"fechaPublicacion", "imagen", "imagen");
+	}
+
+	/**
+	 * Indica si la seleccion se puede responder leyendo solo columnas del recurso
+	 * @param dtoType - DTO del recurso (sin asociaciones)
+	 * @param selection - Campos pedidos
+	 * @return - true si todos los campos pedidos son columnas del recurso
+	 */
+	public boolean supports(Class<?> dtoType, FieldSelection selection) {
+		Map<String, String> available = columns.get(dtoType);
+		return available != null && !selection.isAll() && selection.isFlat()
+				&& available.keySet().containsAll(selection.getFields().keySet());
+	}
+
+	/**
+	 * Responde una pagina del listado con solo los campos pedidos
+	 * @param type - Tipo de la entidad del recurso
+	 * @param dtoType - DTO del recurso (sin asociaciones)
+	 * @param selection - Campos pedidos, todos columnas del recurso (ver supports)
+	 * @param after - Id de la ultima fila de la pagina anterior
+	 * @param limit - Tamano de pagina
+	 * @param response - Respuesta HTTP, donde se escribe el cursor de la siguiente pagina
+	 * @param request - Peticion HTTP, de la que se lee If-None-Match
+	 * @param cacheControl - Politica de cache de la respuesta
+	 * @return - Respuesta HTTP con una lista de objetos con los campos pedidos
+	 */
+	public ResponseEntity<List<Map<String, Object>>> page(Class<? extends BaseEntity> type, Class<?> dtoType,
+			FieldSelection selection, Long after, int limit, HttpServletResponse response, WebRequest request,
+			CacheControl cacheControl) {
+		Map<String, String> selected = new LinkedHashMap<>();
+		for (Map.Entry<String, String> column : columns.get(dtoType).entrySet())
+			if (selection.getFields().containsKey(column.getKey()))
+				selected.put(column.getKey(), column.getValue());
+		List<ProjectedRow> rows = projectionService.getRows(type, selected, after, limit);
+		CursorPagination.writeNextCursor(response, rows, ProjectedRow::getId, limit);
+		return EntityTags.respond(request, rows, cacheControl,
+				() -> rows.stream().map(ProjectedRow::getValues).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Registra los campos simples de un DTO como pares (campo, atributo)
+	 */
+	private void register(Class<?> dtoType, String... pairs) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		for (int i = 0; i < pairs.length; i += 2)
+			fields.put(pairs[i], pairs[i + 1]);
+		columns.put(dtoType, fields);
+	}
+}
@@ -0,0 +1,209 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.ArtistaService;
+import co.edu.uniandes.dse.museoartemoderno.services.CiudadService;
+import co.edu.uniandes.dse.museoartemoderno.services.MovimientoArtisticoService;
+import co.edu.uniandes.dse.museoartemoderno.services.MuseoService;
+import co.edu.uniandes.dse.museoartemoderno.services.ObraService;
+import co.edu.uniandes.dse.museoartemoderno.services.PaisService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Calentamiento al arrancar: antes de que la aplicacion se reporte lista
+ * recorre los caminos de lectura mas usados (listados de museos, artistas,
+ * movimientos y obras, y los detalles de sus primeros registros) y carga los
+ * datos de referencia, de modo que los caches (segundo nivel de Hibernate,
+ * fragmentos de DTO y respuestas de detalle), los planes de consulta, los
+ * conversiones de DTO, los serializadores de Jackson y el JIT ya esten
+ * calientes cuando llega el trafico.
+ *
+ * Es un ApplicationRunner: Spring Boot solo publica ReadinessState
+ * ACCEPTING_TRAFFIC cuando terminan los runners, asi que GET /readiness
+ * responde 503 mientras dura el calentamiento. Un paso que falla se registra y
+ * no detiene el arranque. La duracion de cada paso queda en el log y en
+ * GET /readiness.
+ */
+@Slf4j
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+	/**
+	 * Paso del calentamiento
+	 */
+	@FunctionalInterface
+	private interface Step {
+		void run() throws Exception;
+	}
+
+	@Autowired
+	private PaisService paisService;
+
+	@Autowired
+	private CiudadService ciudadService;
+
+	@Autowired
+	private MuseoService museoService;
+
+	@Autowired
+	private ArtistaService artistaService;
+
+	@Autowired
+	private MovimientoArtisticoService movimientoArtisticoService;
+
+	@Autowired
+	private ObraService obraService;
+
+	@Autowired
+	private DetailAssembler detailAssembler;
+
+	@Autowired
+	private DetailResponseCache detailResponseCache;
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final boolean enabled;
+
+	private final int iterations;
+
+	private final int details;
+
+	/**
+	 * Duracion en milisegundos de cada paso, en orden de ejecucion
+	 */
+	private volatile Map<String, Long> report = Collections.emptyMap();
+
+	public StartupWarmUp(@Value("${museoartemoderno.warm-up.enabled:true}") boolean enabled,
+			@Value("${museoartemoderno.warm-up.iterations:10}") int iterations,
+			@Value("${museoartemoderno.warm-up.details:20}") int details) {
+		this.enabled = enabled;
+		this.iterations = iterations;
+		this.details = details;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			log.info("Calentamiento deshabilitado");
+			return;
+		}
+		log.info("Inicia el calentamiento ({} iteraciones, {} detalles por recurso)", iterations, details);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		Map<String, Long> steps = new LinkedHashMap<>();
+		long start = System.nanoTime();
+
+		Expansion none = Expansion.NONE;
+		step(steps, transaction, "datos de referencia", 1, () -> {
+			List<PaisEntity> paises = paisService.getPaises(0L, CursorPagination.MAX_LIMIT, none.getFetchPaths(PaisDetailDTO.class));
+			objectMapper.writeValueAsBytes(dtoMapper.mapAll(paises, PaisDetailDTO.class));
+			List<CiudadEntity> ciudades = ciudadService.getCiudades(0L, CursorPagination.MAX_LIMIT, none.getFetchPaths(CiudadDTO.class));
+			objectMapper.writeValueAsBytes(dtoMapper.mapAll(ciudades, CiudadDTO.class));
+		});
+		step(steps, transaction, "listado de museos", iterations, () -> objectMapper.writeValueAsBytes(detailAssembler.museoDetails(
+				museoService.getMuseos(0L, CursorPagination.DEFAULT_LIMIT, none.getFetchPaths(MuseoDetailDTO.class)),
+				none)));
+		step(steps, transaction, "listado de artistas", iterations, () -> objectMapper.writeValueAsBytes(detailAssembler.artistaDetails(
+				artistaService.getArtistas(0L, CursorPagination.DEFAULT_LIMIT, none.getFetchPaths(ArtistaDetailDTO.class)),
+				none)));
+		step(steps, transaction, "listado de movimientos", iterations, () -> objectMapper.writeValueAsBytes(detailAssembler
+				.movimientoArtisticoDetails(movimientoArtisticoService.getMovimientosArtisticos(0L, CursorPagination.DEFAULT_LIMIT,
+						none.getFetchPaths(MovimientoArtisticoDetailDTO.class)), none)));
+		step(steps, transaction, "listado de obras", iterations, () -> {
+			List<ObraEntity> obras = obraService.getAllObras(0L, CursorPagination.DEFAULT_LIMIT,
+					none.getFetchPaths(ObraDetailDTO.class));
+			EntityTags.of(obras);
+			objectMapper.writeValueAsBytes(dtoMapper.mapAll(obras, ObraDetailDTO.class));
+		});
+		step(steps, transaction, "detalles", 1, () -> {
+			for (MuseoEntity museo : museoService.getMuseos(0L, details, List.of()))
+				detailResponseCache.preload(MuseoEntity.class, museo.getId(), none,
+						() -> museoService.getMuseo(museo.getId(), none.getFetchPaths(MuseoDetailDTO.class)),
+						entity -> detailAssembler.museoDetail(entity, none));
+			for (ArtistaEntity artista : artistaService.getArtistas(0L, details, List.of()))
+				detailResponseCache.preload(ArtistaEntity.class, artista.getId(), none,
+						() -> artistaService.getArtista(artista.getId(), none.getFetchPaths(ArtistaDetailDTO.class)),
+						entity -> detailAssembler.artistaDetail(entity, none));
+			for (MovimientoArtisticoEntity movimiento : movimientoArtisticoService.getMovimientosArtisticos(0L, details, List.of()))
+				detailResponseCache.preload(MovimientoArtisticoEntity.class, movimiento.getId(), none,
+						() -> movimientoArtisticoService.getMovimientoArtistico(movimiento.getId(),
+								none.getFetchPaths(MovimientoArtisticoDetailDTO.class)),
+						entity -> detailAssembler.movimientoArtisticoDetail(entity, none));
+			for (ObraEntity obra : obraService.getAllObras(0L, details, List.of()))
+				detailResponseCache.preload(ObraEntity.class, obra.getId(), none,
+						() -> obraService.getObra(obra.getId(), none.getFetchPaths(ObraDetailDTO.class)),
+						entity -> detailAssembler.obraDetail(entity, none));
+		});
+
+		steps.put("total", (System.nanoTime() - start) / 1_000_000);
+		report = Collections.unmodifiableMap(steps);
+		log.info("Termina el calentamiento: {}", report);
+	}
+
+	/**
+	 * @return - Duracion en milisegundos de cada paso del ultimo calentamiento (vacio si no se ha hecho)
+	 */
+	public Map<String, Long> getReport() {
+		return report;
+	}
+
+	/**
+	 * Ejecuta un paso en transacciones de solo lectura (una por repeticion, para
+	 * que cada una use un contexto de persistencia nuevo como una peticion) y
+	 * registra su duracion
+	 */
+	private void step(Map<String, Long> steps, TransactionTemplate transaction, String name, int repetitions, Step step) {
+		long start = System.nanoTime();
+		try {
+			for (int i = 0; i < repetitions; i++) {
+				transaction.executeWithoutResult(status -> {
+					try {
+						step.run();
+					} catch (RuntimeException e) {
+						throw e;
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				});
+			}
+		} catch (RuntimeException e) {
+			log.warn("Fallo el paso de calentamiento '{}': {}", name, e.getMessage());
+		}
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		steps.put(name, millis);
+		log.info("Paso de calentamiento '{}': {} ms", name, millis);
+	}
+}
@@ -2,8 +2,11 @@ package co.edu.uniandes.dse.museoartemoderno.entities;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import javax.persistence.FetchType;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 import javax.persistence.Temporal;
@@ -13,6 +16,10 @@ import co.edu.uniandes.dse.museoartemoderno.podam.DateStrategy;
 
 import javax.persistence.ManyToOne;
 import javax.persistence.ManyToMany;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -22,22 +29,28 @@ import uk.co.jemos.podam.common.PodamStrategyValue;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+		@Index(name = "ix_artista_nombre", columnList = "nombre"),
+		@Index(name = "ix_artista_lugar_nacimiento", columnList = "lugar_nacimiento_id"),
+		@Index(name = "ix_artista_lugar_fallecimiento", columnList = "lugar_fallecimiento_id") })
 public class ArtistaEntity extends BaseEntity {
 
 	private String nombre;
 	private String imagen;
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private PaisEntity lugarNacimiento;
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private PaisEntity lugarFallecimiento;
 	
 	@PodamExclude
 	@ManyToMany
-	private List<MuseoEntity> museos = new ArrayList<>();
+	@JoinTable(name = "artista_entity_museos", joinColumns = @JoinColumn(name = "artistas_id"), inverseJoinColumns = @JoinColumn(name = "museos_id"), indexes = {
+			@Index(name = "ix_artista_museos_museo", columnList = "museos_id, artistas_id") })
+	private Set<MuseoEntity> museos = new HashSet<>();
 	
 	@PodamExclude
 	@OneToMany(mappedBy = "artista")
@@ -53,6 +66,8 @@ public class ArtistaEntity extends BaseEntity {
 	
 	@PodamExclude
 	@ManyToMany
-	private List<MovimientoArtisticoEntity> movimientos = new ArrayList<>();
+	@JoinTable(name = "artista_entity_movimientos", joinColumns = @JoinColumn(name = "artistas_id"), inverseJoinColumns = @JoinColumn(name = "movimientos_id"), indexes = {
+			@Index(name = "ix_artista_movimientos_movimiento", columnList = "movimientos_id, artistas_id") })
+	private Set<MovimientoArtisticoEntity> movimientos = new HashSet<>();
 	
 }
@@ -24,18 +24,37 @@ SOFTWARE.
 
 package co.edu.uniandes.dse.museoartemoderno.entities;
 
+import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import uk.co.jemos.podam.common.PodamExclude;
 
 /**
  * Entidad genérica de la que heredan todas las entidades. Contiene la
  * referencia al atributo id
  *
+ * El id se genera con una secuencia por entidad (&lt;tabla&gt;_seq) y el
+ * optimizador pooled-lo: Hibernate reserva bloques de ids en memoria, de modo
+ * que los INSERT no necesitan leer la llave generada y se pueden enviar por
+ * lotes JDBC. El incremento de cada secuencia (V1) es igual al tamano del
+ * bloque, y los INSERT que no pasan por Hibernate toman el id de la misma
+ * secuencia (V5__id_por_defecto.sql), asi que no chocan con los bloques.
+ *
+ * La version aumenta con cada cambio del recurso o de sus asociaciones (ver
+ * ResourceVersions) y es la base de los ETag de los endpoints GET. No es una
+ * version de bloqueo optimista y el UPDATE de la entidad no la escribe: solo la
+ * cambia ResourceVersions con una sentencia atomica. Los update de los
+ * servicios copian la version guardada a la entidad que se hace merge para que
+ * la instancia administrada no muestre otra.
+ *
  * @author ISIS2603
  */
 
@@ -45,6 +64,15 @@ public abstract class BaseEntity {
 
 	@PodamExclude
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "entity_seq")
+	@GenericGenerator(name = "entity_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo") })
 	private Long id;
+
+	@PodamExclude
+	@EqualsAndHashCode.Exclude
+	@Column(nullable = false, updatable = false)
+	private Long version = 0L;
 }
@@ -1,15 +1,28 @@
 package co.edu.uniandes.dse.museoartemoderno.entities;
 
+import javax.persistence.FetchType;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ciudad")
 @Getter
 @Setter
+@Table(indexes = {
+		@Index(name = "ux_ciudad_nombre_ciudad", columnList = "nombreCiudad", unique = true),
+		@Index(name = "ux_ciudad_coordenadas_ciudad", columnList = "coordenadasCiudad", unique = true),
+		@Index(name = "ix_ciudad_pais", columnList = "pais_id, id") })
 public class CiudadEntity extends BaseEntity {
 	
 	private String nombreCiudad;
@@ -18,7 +31,7 @@ public class CiudadEntity extends BaseEntity {
     private String imagen;
 
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private PaisEntity pais;
 
 }
@@ -9,6 +9,8 @@ import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import co.edu.uniandes.dse.museoartemoderno.podam.DateStrategy;
 import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
@@ -19,6 +21,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+		@Index(name = "ix_comentario_obra", columnList = "obra_id, id") })
 public class ComentarioEntity extends BaseEntity{
 	
 	private String calificacion;
@@ -14,6 +14,8 @@ import co.edu.uniandes.dse.museoartemoderno.podam.DateStrategy;
 import javax.persistence.ManyToOne;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -23,6 +25,10 @@ import uk.co.jemos.podam.common.PodamStrategyValue;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+		@Index(name = "ix_empleado_nombre", columnList = "nombre"),
+		@Index(name = "ix_empleado_museo", columnList = "museo_id, id"),
+		@Index(name = "ix_empleado_lugar_nacimiento", columnList = "lugar_nacimiento_id") })
 public class EmpleadoEntity extends BaseEntity {
 
 	private String nombre;
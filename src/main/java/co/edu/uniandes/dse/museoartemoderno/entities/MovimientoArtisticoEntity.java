@@ -1,8 +1,11 @@
 package co.edu.uniandes.dse.museoartemoderno.entities;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToMany;
@@ -10,6 +13,13 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import co.edu.uniandes.dse.museoartemoderno.podam.DateStrategy;
 import lombok.Getter;
@@ -18,8 +28,12 @@ import uk.co.jemos.podam.common.PodamExclude;
 import uk.co.jemos.podam.common.PodamStrategyValue;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movimientoArtistico")
 @Getter
 @Setter
+@Table(indexes = {
+		@Index(name = "ix_movimiento_lugar_origen", columnList = "lugar_origen_id") })
 public class MovimientoArtisticoEntity extends BaseEntity{
 
 	private String nombre;
@@ -42,11 +56,14 @@ public class MovimientoArtisticoEntity extends BaseEntity{
 	private List<ArtistaEntity> artistas = new ArrayList<>();
 
 	@PodamExclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movimientoArtistico.museos")
 	@ManyToMany
-	private List<MuseoEntity> museos = new ArrayList<>();
+	@JoinTable(name = "movimiento_artistico_entity_museos", joinColumns = @JoinColumn(name = "movimientos_id"), inverseJoinColumns = @JoinColumn(name = "museos_id"), indexes = {
+			@Index(name = "ix_movimiento_museos_museo", columnList = "museos_id, movimientos_id") })
+	private Set<MuseoEntity> museos = new HashSet<>();
 
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private PaisEntity lugarOrigen;
 
 	
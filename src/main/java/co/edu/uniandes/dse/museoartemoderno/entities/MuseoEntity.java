@@ -3,10 +3,13 @@ package co.edu.uniandes.dse.museoartemoderno.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.FetchType;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.ManyToMany;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -15,6 +18,9 @@ import uk.co.jemos.podam.common.PodamExclude;
 @Entity
 @Getter
 @Setter
+@Table(indexes = {
+		@Index(name = "ux_museo_nombre", columnList = "nombre", unique = true),
+		@Index(name = "ix_museo_ubicacion", columnList = "ubicacion_id") })
 public class MuseoEntity extends BaseEntity {
 	
 	private String nombre;
@@ -47,7 +53,7 @@ public class MuseoEntity extends BaseEntity {
 	
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private PaisEntity ubicacion;
 	
 	
@@ -7,11 +7,14 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import javax.persistence.FetchType;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import co.edu.uniandes.dse.museoartemoderno.podam.DateStrategy;
 import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
@@ -22,6 +25,10 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+		@Index(name = "ix_obra_museo", columnList = "museo_id, id"),
+		@Index(name = "ix_obra_artista", columnList = "artista_id, id"),
+		@Index(name = "ix_obra_movimiento", columnList = "movimiento_id, id") })
 public class ObraEntity extends BaseEntity{
 	
 	private String nombre;
@@ -30,11 +37,11 @@ public class ObraEntity extends BaseEntity{
 	private String imagen;
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private MuseoEntity museo;
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private ArtistaEntity artista;
 	
 	@Temporal(TemporalType.DATE)
@@ -42,7 +49,7 @@ public class ObraEntity extends BaseEntity{
 	private Date fechaPublicacion;
 	
 	@PodamExclude
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private MovimientoArtisticoEntity movimiento;
 	
 	@PodamExclude
@@ -3,41 +3,60 @@ package co.edu.uniandes.dse.museoartemoderno.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pais")
 @Getter
 @Setter
+@Table(indexes = {
+		@Index(name = "ix_pais_nombre_pais", columnList = "nombrePais"),
+		@Index(name = "ix_pais_coordenadas_pais", columnList = "coordenadasPais") })
 public class PaisEntity extends BaseEntity{
 	private String nombrePais;
 	private String coordenadasPais;
 	private String imagen;
 	@PodamExclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pais.ciudades")
 	@OneToMany(mappedBy = "pais")
 	private List<CiudadEntity> ciudades = new ArrayList<>();
 	
 	@PodamExclude
+	@Fetch(FetchMode.SUBSELECT)
 	@OneToMany(mappedBy = "lugarFallecimiento")
 	private List<ArtistaEntity> artistasFallecimiento = new ArrayList<>();
 	
 	@PodamExclude
+	@Fetch(FetchMode.SUBSELECT)
 	@OneToMany(mappedBy = "lugarNacimiento")
 	private List<ArtistaEntity> artistasNacimiento = new ArrayList<>();
 	
 	@PodamExclude
+	@Fetch(FetchMode.SUBSELECT)
 	@OneToMany(mappedBy = "ubicacion")
 	private List<MuseoEntity> museos = new ArrayList<>();
 	
 	@PodamExclude
+	@Fetch(FetchMode.SUBSELECT)
 	@OneToMany(mappedBy = "lugarOrigen")
 	private List<MovimientoArtisticoEntity> movimientoArtisticos = new ArrayList<>();
 
 	@PodamExclude
+	@Fetch(FetchMode.SUBSELECT)
 	@OneToMany(mappedBy = "lugarNacimiento")
 	private List<EmpleadoEntity> empleadosNacimiento = new ArrayList<>();
 
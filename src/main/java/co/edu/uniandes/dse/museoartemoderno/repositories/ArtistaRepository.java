@@ -1,8 +1,18 @@
 package co.edu.uniandes.dse.museoartemoderno.repositories;
 
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
 import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
@@ -10,4 +20,18 @@ import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
 @Repository
 public interface ArtistaRepository extends JpaRepository<ArtistaEntity, Long> {
 	List<ArtistaEntity> findByNombre(String nombre);
-}
\ No newline at end of file
+	List<ArtistaEntity> findByMuseosId(Long museoId);
+	List<ArtistaEntity> findByMovimientosId(Long movimientoId);
+	List<ArtistaEntity> findByMuseosIdAndIdGreaterThanOrderByIdAsc(Long museoId, Long id, Pageable pageable);
+	List<ArtistaEntity> findByMovimientosIdAndIdGreaterThanOrderByIdAsc(Long movimientoId, Long id, Pageable pageable);
+	Optional<ArtistaEntity> findByIdAndMuseosId(Long id, Long museoId);
+	Optional<ArtistaEntity> findByIdAndMovimientosId(Long id, Long movimientoId);
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = NATIVE_SPACES, value = "artista_entity_museos"))
+	@Query(value = "delete from artista_entity_museos where artistas_id = :artistaId and museos_id = :museoId", nativeQuery = true)
+	int unlinkMuseo(@Param("artistaId") Long artistaId, @Param("museoId") Long museoId);
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = NATIVE_SPACES, value = "artista_entity_movimientos"))
+	@Query(value = "delete from artista_entity_movimientos where artistas_id = :artistaId and movimientos_id = :movimientoId", nativeQuery = true)
+	int unlinkMovimiento(@Param("artistaId") Long artistaId, @Param("movimientoId") Long movimientoId);
+}
@@ -9,7 +9,4 @@ import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
 public interface CiudadRepository extends JpaRepository<CiudadEntity, Long> {
 	List<CiudadEntity> findByNombreCiudad(String nombreCiudad);
 	List<CiudadEntity> findByCoordenadasCiudad(String coordenadasCiudad);
-
-
-
 }
@@ -1,11 +1,31 @@
 package co.edu.uniandes.dse.museoartemoderno.repositories;
 
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
 
 @Repository
 public interface MovimientoArtisticoRepository extends JpaRepository<MovimientoArtisticoEntity, Long> {
-
+	List<MovimientoArtisticoEntity> findByMuseosId(Long museoId);
+	List<MovimientoArtisticoEntity> findByMuseosIdAndIdGreaterThanOrderByIdAsc(Long museoId, Long id, Pageable pageable);
+	List<MovimientoArtisticoEntity> findByArtistasIdAndIdGreaterThanOrderByIdAsc(Long artistaId, Long id, Pageable pageable);
+	Optional<MovimientoArtisticoEntity> findByIdAndArtistasId(Long id, Long artistaId);
+	Optional<MovimientoArtisticoEntity> findByIdAndMuseosId(Long id, Long museoId);
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = NATIVE_SPACES, value = "movimiento_artistico_entity_museos"))
+	@Query(value = "delete from movimiento_artistico_entity_museos where movimientos_id = :movimientoId and museos_id = :museoId", nativeQuery = true)
+	int unlinkMuseo(@Param("movimientoId") Long movimientoId, @Param("museoId") Long museoId);
 }
@@ -1,7 +1,9 @@
 package co.edu.uniandes.dse.museoartemoderno.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,8 @@ import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
 @Repository
 public interface MuseoRepository extends JpaRepository<MuseoEntity, Long> {
 	List<MuseoEntity> findByNombre(String nombre);
+	List<MuseoEntity> findByArtistasIdAndIdGreaterThanOrderByIdAsc(Long artistaId, Long id, Pageable pageable);
+	List<MuseoEntity> findByMovimientosIdAndIdGreaterThanOrderByIdAsc(Long movimientoId, Long id, Pageable pageable);
+	Optional<MuseoEntity> findByIdAndArtistasId(Long id, Long artistaId);
+	Optional<MuseoEntity> findByIdAndMovimientosId(Long id, Long movimientoId);
 }
@@ -1,5 +1,8 @@
 package co.edu.uniandes.dse.museoartemoderno.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +11,10 @@ import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
 
 @Repository
 public interface ObraRepository extends JpaRepository<ObraEntity,Long>{
-
+	List<ObraEntity> findByArtistaId(Long artistaId);
+	List<ObraEntity> findByMuseoId(Long museoId);
+	List<ObraEntity> findByMovimientoId(Long movimientoId);
+	Optional<ObraEntity> findByIdAndArtistaId(Long id, Long artistaId);
+	Optional<ObraEntity> findByIdAndMuseoId(Long id, Long museoId);
+	Optional<ObraEntity> findByIdAndMovimientoId(Long id, Long movimientoId);
 }
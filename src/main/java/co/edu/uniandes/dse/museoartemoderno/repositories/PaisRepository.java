@@ -9,5 +9,4 @@ import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
 public interface PaisRepository extends JpaRepository<PaisEntity, Long> {
 	List<PaisEntity> findByNombrePais(String nombre);
 	List<PaisEntity> findByCoordenadasPais(String coordenadasPais);
-
 }
@@ -1,9 +1,16 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +27,15 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ArtistaMovimientoArtisticoService {
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -36,17 +49,19 @@ public class ArtistaMovimientoArtisticoService {
 	@Transactional
 	public MovimientoArtisticoEntity addMovimientoArtistico(Long artistaId, Long movimientoArtisticoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de asociarle un movimiento al artista con id: ", artistaId);
-		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-		if (movimientoArtisticoEntity.isEmpty())
+		if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-		artistaEntity.get().getMovimientos().add(movimientoArtisticoEntity.get());
+		NativeLinks.link(entityManager, "artista_entity_movimientos", "artistas_id", artistaId, "movimientos_id", movimientoArtisticoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoArtisticoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoArtisticoId));
 		log.info("Termina proceso de asociarle un movimiento al artista con id: ", artistaId);
-		return movimientoArtisticoEntity.get();
+		return movimientoArtisticoRepository.findById(movimientoArtisticoId).get();
 	}
 	
 	/**
@@ -55,14 +70,30 @@ public class ArtistaMovimientoArtisticoService {
 	 * @return - Lista de movimientos artisticos asociados al artista
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<MovimientoArtisticoEntity> getMovimientosArtisticos(Long artistaId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar todos los movimientos del artista con id: ", artistaId);
 		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
 		if (artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		log.info("Finaliza proceso de consultar todos los movimientos del artista con id:", artistaId);
-		return artistaEntity.get().getMovimientos();
+		return new ArrayList<>(artistaEntity.get().getMovimientos());
+	}
+
+	/**
+	 * Devuelve una pagina de los movimientos artisticos asociados con el artista, ordenados por id
+	 * @param artistaId - Id del artista a buscar en los movientos artisticos
+	 * @param after - Id del ultimo movimiento de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de movimientos a devolver
+	 * @return - Lista de movimientos artisticos asociados al artista cuyo id es mayor a after
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public List<MovimientoArtisticoEntity> getMovimientosArtisticos(Long artistaId, Long after, int limit) throws EntityNotFoundException {
+		log.info("Inicia proceso de consultar una pagina de los movimientos del artista con id: " + artistaId);
+		if (!artistaRepository.existsById(artistaId))
+			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
+		return movimientoArtisticoRepository.findByArtistasIdAndIdGreaterThanOrderByIdAsc(artistaId, after, PageRequest.of(0, limit));
 	}
 	
 	/**
@@ -73,20 +104,20 @@ public class ArtistaMovimientoArtisticoService {
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MovimientoArtisticoEntity getMovimientoArtistico(Long artistaId, Long movimientoArtisticoId) throws EntityNotFoundException, IllegalOperationException {
 			log.info("Inicia proceso de consultar un movimiento del artista con id: ", artistaId);
-			Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-			Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
+			Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findByIdAndArtistasId(movimientoArtisticoId, artistaId);
+			if (movimientoArtisticoEntity.isPresent()) {
+				log.info("Termina proceso de consultar un movimiento del artista con id: ", artistaId);
+				return movimientoArtisticoEntity.get();
+			}
 
-			if (movimientoArtisticoEntity.isEmpty())
+			if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 				throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 
-			if (artistaEntity.isEmpty())
+			if (!artistaRepository.existsById(artistaId))
 				throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
-			log.info("Termina proceso de consultar un movimiento del artista con id: ", artistaId);
-			if (artistaEntity.get().getMovimientos().contains(movimientoArtisticoEntity.get()))
-				return movimientoArtisticoEntity.get();
 
 			throw new IllegalOperationException("El movimiento no está asociado con el artista");
 	}
@@ -105,14 +136,10 @@ public class ArtistaMovimientoArtisticoService {
 		if (artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-		for (MovimientoArtisticoEntity movimiento : list) {
-			Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimiento.getId());
-			if (movimientoArtisticoEntity.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
-
-			if (!artistaEntity.get().getMovimientos().contains(movimientoArtisticoEntity.get()))
-				artistaEntity.get().getMovimientos().add(movimientoArtisticoEntity.get());
-		}
+		List<MovimientoArtisticoEntity> movimientos = BulkAssociations.resolve(movimientoArtisticoRepository, list, ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+		Set<MovimientoArtisticoEntity> cambiados = BulkAssociations.replace(artistaEntity.get().getMovimientos(), movimientos);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, cambiado.getId())));
 		log.info("Termina proceso de reemplazar los autores del libro con id: " + artistaId);
 		return getMovimientosArtisticos(artistaId);
 	}
@@ -126,16 +153,17 @@ public class ArtistaMovimientoArtisticoService {
 	@Transactional
 	public void removeMovimientoArtistico(Long artistaId, Long movimientoArtisticoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de borrar un autor del libro con id: " + artistaId);
-		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-
-		if (movimientoArtisticoEntity.isEmpty())
+		if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-		artistaEntity.get().getMovimientos().remove(movimientoArtisticoEntity.get());
+		artistaRepository.unlinkMovimiento(artistaId, movimientoArtisticoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoArtisticoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoArtisticoId));
 
 		log.info("Termina proceso de borrar un autor del libro con id: " + artistaId);
 	}
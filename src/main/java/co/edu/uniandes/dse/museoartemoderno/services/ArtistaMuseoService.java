@@ -1,9 +1,16 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +27,15 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ArtistaMuseoService {
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Autowired
 	private MuseoRepository museoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -36,18 +49,19 @@ public class ArtistaMuseoService {
 	@Transactional
 	public MuseoEntity addMuseo(Long artistaId, Long museoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de asociarle un museo al artista con id: " + artistaId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 
-		artistaEntity.get().getMuseos().add(museoEntity.get());
+		NativeLinks.link(entityManager, "artista_entity_museos", "artistas_id", artistaId, "museos_id", museoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Termina proceso de asociarle un museo al artista con id: " + artistaId);
-		return museoEntity.get();
+		return museoRepository.findById(museoId).get();
 	}
 	
 	/**
@@ -56,14 +70,30 @@ public class ArtistaMuseoService {
 	 * @return - Lista de museos asociados al artista
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<MuseoEntity> getMuseos(Long artistaId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar todos los libros del autor con id: " + artistaId);
 		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
 		if (artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		log.info("Termina proceso de consultar todos los libros del autor con id: " + artistaId);
-		return artistaEntity.get().getMuseos();
+		return new ArrayList<>(artistaEntity.get().getMuseos());
+	}
+
+	/**
+	 * Devuelve una pagina de los museos asociados con el artista, ordenados por id
+	 * @param artistaId - Id del artista a buscar en los museos
+	 * @param after - Id del ultimo museo de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de museos a devolver
+	 * @return - Lista de museos asociados al artista cuyo id es mayor a after
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public List<MuseoEntity> getMuseos(Long artistaId, Long after, int limit) throws EntityNotFoundException {
+		log.info("Inicia proceso de consultar una pagina de los museos del artista con id: " + artistaId);
+		if (!artistaRepository.existsById(artistaId))
+			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
+		return museoRepository.findByArtistasIdAndIdGreaterThanOrderByIdAsc(artistaId, after, PageRequest.of(0, limit));
 	}
 	
 	/**
@@ -74,20 +104,20 @@ public class ArtistaMuseoService {
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MuseoEntity getMuseo(Long artistaId, Long museoId) throws EntityNotFoundException, IllegalOperationException {
 			log.info("Inicia proceso de consultar el movimiento artistico con id: " + museoId + ", del artista con id: " + artistaId);
-			Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-			Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
+			Optional<MuseoEntity> museoEntity = museoRepository.findByIdAndArtistasId(museoId, artistaId);
+			if (museoEntity.isPresent()) {
+				log.info("Termina proceso de consultar el museo con id: " + museoId + ", del artista con id: " + artistaId);
+				return museoEntity.get();
+			}
 
-			if (museoEntity.isEmpty())
+			if (!museoRepository.existsById(museoId))
 				throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 
-			if (artistaEntity.isEmpty())
+			if (!artistaRepository.existsById(artistaId))
 				throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
-			log.info("Termina proceso de consultar el museo con id: " + museoId + ", del artista con id: " + artistaId);
-			if (artistaEntity.get().getMuseos().contains(museoEntity.get()))
-				return museoEntity.get();
 
 			throw new IllegalOperationException("El Museo no esta asociado con el Artista");
 	}
@@ -106,14 +136,10 @@ public class ArtistaMuseoService {
     		if (artistaEntity.isEmpty())
     			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-    		for (MuseoEntity museo : list) {
-    			Optional<MuseoEntity> museoEntity = museoRepository.findById(museo.getId());
-    			if (museoEntity.isEmpty())
-    				throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
-
-    			if (!artistaEntity.get().getMuseos().contains(museoEntity.get()))
-    				artistaEntity.get().getMuseos().add(museoEntity.get());
-    		}
+    		List<MuseoEntity> museos = BulkAssociations.resolve(museoRepository, list, ErrorMessage.MUSEO_NOT_FOUND);
+    		Set<MuseoEntity> cambiados = BulkAssociations.replace(artistaEntity.get().getMuseos(), museos);
+    		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+    		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, cambiado.getId())));
     		log.info("Termina proceso de reemplazar los autores del libro con id: ", artistaId);
     		return getMuseos(artistaId);
     }
@@ -127,16 +153,17 @@ public class ArtistaMuseoService {
 	@Transactional
 	public void removeMuseo(Long artistaId, Long museoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de borrar un museo del artista con id: " + artistaId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
-		artistaEntity.get().getMuseos().remove(museoEntity.get());
+		artistaRepository.unlinkMuseo(artistaId, museoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 
 		log.info("Finaliza proceso de borrar un museo del artista con id: " + artistaId);
 	}
@@ -2,11 +2,13 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-import org.hibernate.mapping.Collection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,12 @@ public class ArtistaObraService {
 	@Autowired
 	private ObraRepository obraRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private FetchPlanService fetchPlanService;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 
@@ -54,6 +62,8 @@ public class ArtistaObraService {
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		
 		obraEntity.get().setArtista(artistaEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
 		log.info("Termina proceso de agregarle una obra al artista con id: ", artistaId);
 		return obraEntity.get();
 	}
@@ -64,7 +74,7 @@ public class ArtistaObraService {
 	 * @return - Lista de obras asociadas al artista
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ObraEntity> getObras(Long artistaId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar todas la obras del artista con id: ", artistaId);
 		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
@@ -74,6 +84,24 @@ public class ArtistaObraService {
 		return artistaEntity.get().getObras();
 	}
 
+	/**
+	 * Devuelve una pagina de las obras asociadas con un artista, ordenadas por id
+	 * @param artistaId - Id del artista a buscar en las obras
+	 * @param after - Id de la ultima obra de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de obras a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return - Lista de obras asociadas al artista cuyo id es mayor a after
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public List<ObraEntity> getObras(Long artistaId, Long after, int limit, Collection<String> paths) throws EntityNotFoundException {
+		log.info("Inicia proceso de consultar una pagina de las obras del artista con id: " + artistaId);
+		if (!artistaRepository.existsById(artistaId))
+			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
+		return fetchPlanService.getPage(ObraEntity.class, "artista", artistaId, paths, after, limit);
+	}
+
+
 	/**
 	 * 
 	 * @param artistaId - Id de un artista
@@ -82,22 +110,21 @@ public class ArtistaObraService {
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public ObraEntity getObra(Long artistaId, Long obraId)throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de consultar una obra del artista con id: " + artistaId);
 		
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if(artistaEntity.isEmpty())
+		Optional<ObraEntity> obraEntity = obraRepository.findByIdAndArtistaId(obraId, artistaId);
+		if(obraEntity.isPresent()) {
+			log.info("Termina proceso de consultar una obra del artista con id: " + artistaId);
+			return obraEntity.get();
+		}
+		
+		if(!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		
-		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
-		if(obraEntity.isEmpty())
+		if(!obraRepository.existsById(obraId))
 			throw new EntityNotFoundException(ErrorMessage.OBRA_NOT_FOUND);
-				
-		log.info("Termina proceso de consultar una obra del artista con id: " + artistaId);
-		
-		if(artistaEntity.get().getObras().contains(obraEntity.get()))
-			return obraEntity.get();
 		
 		throw new IllegalOperationException("La obra no esta asociada con el artista");
 	}
@@ -116,14 +143,12 @@ public class ArtistaObraService {
 		if(artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		
-		for(ObraEntity obra : list) {
-			Optional<ObraEntity> o = obraRepository.findById(obra.getId());
-			if(o.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.OBRA_NOT_FOUND);
-			
-			o.get().setArtista(artistaEntity.get());
-		}		
+		List<ObraEntity> obras = BulkAssociations.resolve(obraRepository, list, ErrorMessage.OBRA_NOT_FOUND);
+		Set<ObraEntity> cambiados = BulkAssociations.replace(obraRepository.findByArtistaId(artistaId), obras,
+				obra -> obra.setArtista(artistaEntity.get()), obra -> obra.setArtista(null));
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, cambiado.getId())));
 		log.info("Termina proceso de reemplazar las obras del artista con id: " + artistaId);
-		return list;
+		return obras;
 	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,9 @@ public class ArtistaPaisService {
 	@Autowired
 	private PaisRepository paisRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -43,7 +47,12 @@ public class ArtistaPaisService {
 		if (paisEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PAIS_NOT_FOUND);
 
+		PaisEntity anterior = artistaEntity.get().getLugarNacimiento();
 		artistaEntity.get().setLugarNacimiento(paisEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+		if (anterior != null && !anterior.getId().equals(paisId))
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 		log.info("Termina proceso de actualizar el artista con id: ", artistaId);
 
 		return artistaEntity.get();
@@ -68,7 +77,12 @@ public class ArtistaPaisService {
 		if (paisEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PAIS_NOT_FOUND);
 
+		PaisEntity anterior = artistaEntity.get().getLugarFallecimiento();
 		artistaEntity.get().setLugarFallecimiento(paisEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+		if (anterior != null && !anterior.getId().equals(paisId))
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 		log.info("Termina proceso de actualizar el artista con id: ", artistaId);
 
 		return artistaEntity.get();
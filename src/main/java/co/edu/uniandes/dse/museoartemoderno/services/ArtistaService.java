@@ -1,10 +1,12 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
 import java.util.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +27,18 @@ public class ArtistaService {
 
 	@Autowired
 	ArtistaRepository artistaRepository;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
 	
 	@Autowired
 	PaisRepository paisRepository;
+
+	@Autowired
+	KeyFilters keyFilters;
+
+	@Autowired
+	FetchPlanService fetchPlanService;
 	
 	/**
 	 * Guarda un nuevo artista en la base de datos si cumple con las reglas de negocio
@@ -61,14 +72,16 @@ public class ArtistaService {
 		if (artistaEntity.getLugarNacimiento() == null)
 			throw new IllegalOperationException("Lugar Nacimiento is not valid");	
 		
-		Optional<PaisEntity> paisEntity1 = paisRepository.findById(artistaEntity.getLugarNacimiento().getId());
+		Optional<PaisEntity> paisEntity1 = keyFilters.mightContainId(PaisEntity.class, artistaEntity.getLugarNacimiento().getId())
+				? paisRepository.findById(artistaEntity.getLugarNacimiento().getId()) : Optional.empty();
 		if (paisEntity1.isEmpty())
 			throw new IllegalOperationException("Lugar Nacimiento is not valid");
 		
 		if (artistaEntity.getLugarFallecimiento() == null)
 			throw new IllegalOperationException("Lugar Fallecimiento is not valid");
 		
-		Optional<PaisEntity> paisEntity2 = paisRepository.findById(artistaEntity.getLugarFallecimiento().getId());
+		Optional<PaisEntity> paisEntity2 = keyFilters.mightContainId(PaisEntity.class, artistaEntity.getLugarFallecimiento().getId())
+				? paisRepository.findById(artistaEntity.getLugarFallecimiento().getId()) : Optional.empty();
 		if (paisEntity2.isEmpty())
 			throw new IllegalOperationException("Lugar Fallecimiento is not valid");
 		
@@ -88,29 +101,42 @@ public class ArtistaService {
 	/**
 	 * @return Lista de todas las entidades de tipo Artista
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
     public List<ArtistaEntity> getArtistas() {
             log.info("Inicia proceso de consulta de todos los artistas");
             log.info("Finaliza proceso de consulta de todos los artistas");
             return artistaRepository.findAll();
     }
+
+	/**
+	 * Obtiene una pagina de artistas ordenados por id
+	 * @param after - Id del ultimo artista de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de artistas a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return Lista con los artistas cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<ArtistaEntity> getArtistas(Long after, int limit, Collection<String> paths) {
+		log.info("Inicia proceso de consulta de una pagina de artistas despues del id: " + after);
+		return fetchPlanService.getPage(ArtistaEntity.class, paths, after, limit);
+	}
 	
 	/**
 	 * Encuentra en la base de datos el artista con un id especifico
 	 * @param artistaId - Id del artista que se quiere obtener
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return - El artista con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
-	public ArtistaEntity getArtista(Long artistaId) throws EntityNotFoundException {
+	@Transactional(readOnly = true)
+	public ArtistaEntity getArtista(Long artistaId, Collection<String> paths) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el artista con id: " + artistaId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		
-		if (artistaEntity.isEmpty())
+		if (!keyFilters.mightContainId(ArtistaEntity.class, artistaId))
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		
+		ArtistaEntity artistaEntity = fetchPlanService.getOne(ArtistaEntity.class, artistaId, paths);
 		log.info("Termina proceso de consultar el artista con id: " + artistaId);
-		return artistaEntity.get();
+		return artistaEntity;
 	}
 	/**
 	 * Actualiza los datos de un artista
@@ -123,7 +149,8 @@ public class ArtistaService {
 	@Transactional
 	public ArtistaEntity updateArtista(Long artistaId, ArtistaEntity artista) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de actualizar el artista con id: ", artistaId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
+		Optional<ArtistaEntity> artistaEntity = keyFilters.mightContainId(ArtistaEntity.class, artistaId)
+				? artistaRepository.findById(artistaId) : Optional.empty();
 		if (artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
@@ -131,8 +158,11 @@ public class ArtistaService {
 			throw new IllegalOperationException("Nombre is not valid");	
 
 		artista.setId(artistaId);
+		artista.setVersion(artistaEntity.get().getVersion());
+		ArtistaEntity actualizado = artistaRepository.save(artista);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
 		log.info("Termina proceso de actualizar el artista con id: ", artistaId);
-		return artistaRepository.save(artista);
+		return actualizado;
 	}
 	
 	/**
@@ -144,7 +174,8 @@ public class ArtistaService {
 	@Transactional
 	public void deleteArtista(Long artistaId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de borrar el libro con id: ", artistaId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
+		Optional<ArtistaEntity> artistaEntity = keyFilters.mightContainId(ArtistaEntity.class, artistaId)
+				? artistaRepository.findById(artistaId) : Optional.empty();
 		
 		if (artistaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
@@ -154,6 +185,7 @@ public class ArtistaService {
 			throw new IllegalOperationException("Unable to delete arista because it has associated obras");
 		
 		artistaRepository.deleteById(artistaId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
 		log.info("Termina proceso de borrar el libro con id: " + artistaId);
 	}
 
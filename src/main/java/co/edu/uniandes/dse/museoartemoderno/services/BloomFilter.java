@@ -0,0 +1,95 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre valores de llaves (ids o valores unicos). Nunca da
+ * falsos negativos: si mightContain devuelve false el valor no se agrego. Un
+ * true puede ser un falso positivo, con una probabilidad cercana a la
+ * configurada mientras no se superen las llaves esperadas. Es seguro para
+ * escrituras y lecturas concurrentes.
+ */
+final class BloomFilter {
+
+	private final AtomicLongArray bits;
+
+	private final int numBits;
+
+	private final int numHashes;
+
+	private final long expectedKeys;
+
+	private final AtomicLong keys = new AtomicLong();
+
+	BloomFilter(long expectedKeys, double falsePositiveRate) {
+		long n = Math.max(1, expectedKeys);
+		long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.numBits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64, m));
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+		this.bits = new AtomicLongArray((numBits + 63) / 64);
+		this.expectedKeys = n;
+	}
+
+	/**
+	 * Agrega un valor al filtro
+	 * @param value - Valor de la llave (Number o cualquier objeto con toString estable)
+	 * @return - true si con este valor se superaron las llaves esperadas (desde ahi crece la tasa de falsos positivos)
+	 */
+	boolean put(Object value) {
+		long hash = hash(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+			long mask = 1L << bit;
+			int word = bit >>> 6;
+			long current;
+			while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask))
+				;
+		}
+		return keys.incrementAndGet() == expectedKeys + 1;
+	}
+
+	/**
+	 * Indica si el valor pudo haberse agregado
+	 * @param value - Valor de la llave
+	 * @return - false si el valor con seguridad no se agrego
+	 */
+	boolean mightContain(Object value) {
+		long hash = hash(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+			if ((bits.get(bit >>> 6) & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Hash de 64 bits: los numeros se mezclan directamente, el resto por su
+	 * representacion en texto (FNV-1a sobre UTF-8) para que iguales en la base
+	 * de datos den el mismo hash
+	 */
+	private static long hash(Object value) {
+		long h;
+		if (value instanceof Long || value instanceof Integer) {
+			h = ((Number) value).longValue();
+		} else {
+			h = 0xcbf29ce484222325L;
+			for (byte b : String.valueOf(value).getBytes(StandardCharsets.UTF_8)) {
+				h ^= b;
+				h *= 0x100000001b3L;
+			}
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
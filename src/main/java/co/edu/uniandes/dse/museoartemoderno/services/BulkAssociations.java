@@ -0,0 +1,120 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+
+/**
+ * Motor comun de los metodos replace de las asociaciones. Resuelve todos los
+ * ids pedidos con consultas findAllById por bloques y aplica sobre las
+ * asociaciones actuales solo la diferencia (altas y bajas), de modo que
+ * Hibernate emite unicamente los INSERT/DELETE/UPDATE de las filas que cambian
+ * y los envia en lotes JDBC.
+ */
+final class BulkAssociations {
+
+	/**
+	 * Numero maximo de ids por consulta findAllById (tamano de la lista IN)
+	 */
+	static final int CHUNK_SIZE = 500;
+
+	private BulkAssociations() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Busca en la base de datos todas las entidades pedidas, sin repetidos y en el orden recibido
+	 * @param repository - Repositorio de las entidades a buscar
+	 * @param requested - Entidades recibidas, de las que solo se usa el id
+	 * @param notFoundMessage - Mensaje de la excepcion si alguna entidad no existe
+	 * @return - Entidades administradas correspondientes a los ids pedidos
+	 * @throws EntityNotFoundException - Exception que se lanza si alguno de los ids no existe
+	 */
+	static <T extends BaseEntity> List<T> resolve(JpaRepository<T, Long> repository, Collection<? extends BaseEntity> requested,
+			String notFoundMessage) throws EntityNotFoundException {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (BaseEntity entity : requested) {
+			if (entity.getId() == null)
+				throw new EntityNotFoundException(notFoundMessage);
+			ids.add(entity.getId());
+		}
+
+		Map<Long, T> found = new HashMap<>();
+		List<Long> chunk = new ArrayList<>(Math.min(ids.size(), CHUNK_SIZE));
+		for (Long id : ids) {
+			chunk.add(id);
+			if (chunk.size() == CHUNK_SIZE) {
+				repository.findAllById(chunk).forEach(entity -> found.put(entity.getId(), entity));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty())
+			repository.findAllById(chunk).forEach(entity -> found.put(entity.getId(), entity));
+
+		List<T> resolved = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			T entity = found.get(id);
+			if (entity == null)
+				throw new EntityNotFoundException(notFoundMessage);
+			resolved.add(entity);
+		}
+		return resolved;
+	}
+
+	/**
+	 * Reemplaza el contenido de una coleccion del lado dueno de la asociacion
+	 * quitando solo lo que sobra y agregando solo lo que falta
+	 * @param current - Coleccion actual (administrada por Hibernate)
+	 * @param target - Contenido que debe quedar en la coleccion
+	 * @return - Elementos que se agregaron o se quitaron de la coleccion
+	 */
+	static <T> Set<T> replace(Collection<T> current, Collection<T> target) {
+		Set<T> changed = new HashSet<>();
+		Set<T> wanted = new HashSet<>(target);
+		current.removeIf(element -> !wanted.contains(element) && changed.add(element));
+		Set<T> present = new HashSet<>(current);
+		for (T element : target) {
+			if (present.add(element)) {
+				current.add(element);
+				changed.add(element);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Reemplaza los hijos asociados a un padre cuando el lado dueno de la asociacion esta en cada hijo
+	 * @param current - Hijos asociados actualmente al padre
+	 * @param target - Hijos que deben quedar asociados al padre
+	 * @param link - Accion que asocia un hijo al padre
+	 * @param unlink - Accion que desasocia un hijo del padre
+	 * @return - Hijos que se asociaron o se desasociaron del padre
+	 */
+	static <T> Set<T> replace(Collection<T> current, Collection<T> target, Consumer<T> link, Consumer<T> unlink) {
+		Set<T> changed = new HashSet<>();
+		Set<T> wanted = new HashSet<>(target);
+		Set<T> present = new HashSet<>(current);
+		for (T element : current) {
+			if (!wanted.contains(element) && changed.add(element))
+				unlink.accept(element);
+		}
+		for (T element : target) {
+			if (present.add(element)) {
+				link.accept(element);
+				changed.add(element);
+			}
+		}
+		return changed;
+	}
+}
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,9 @@ public class CiudadPaisService {
 
 		@Autowired
 		private PaisRepository paisRepository;
+
+		@Autowired
+		private ApplicationEventPublisher eventPublisher;
 		
 		
 		/**
@@ -47,7 +51,15 @@ public class CiudadPaisService {
 			if (paisEntity.isEmpty())
 				throw new EntityNotFoundException("Pais no encontrado.");
 			
+			PaisEntity anterior = ciudadEntity.get().getPais();
+			if (anterior != null)
+				anterior.getCiudades().remove(ciudadEntity.get());
 			ciudadEntity.get().setPais(paisEntity.get());
+			paisEntity.get().getCiudades().add(ciudadEntity.get());
+			eventPublisher.publishEvent(new ResourceChangedEvent(CiudadEntity.class, ciudadId));
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+			if (anterior != null && !anterior.getId().equals(paisId))
+				eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 			log.info("Termina proceso de asociar un pais a la ciudad con id = ", ciudadId);
 			return paisEntity.get();
 		}
@@ -58,7 +70,7 @@ public class CiudadPaisService {
 		 * @param ciudadId Identificador de la instancia de ciudad
 		 * @return Pais asociado a la ciudad dado su id
 		 */
-		@Transactional
+		@Transactional(readOnly = true)
 		public PaisEntity getPais(Long ciudadId) throws EntityNotFoundException {
 			log.info("Inicia proceso de consultar el pais de la ciudad con id = ", ciudadId);
 			Optional<CiudadEntity> ciudadEntity = ciudadRepository.findById(ciudadId);
@@ -82,7 +94,13 @@ public class CiudadPaisService {
 				throw new EntityNotFoundException("Ninguna ciudad fue encontrada con el id dado.");
 
 
+			PaisEntity anterior = ciudadEntity.get().getPais();
+			if (anterior != null)
+				anterior.getCiudades().remove(ciudadEntity.get());
 			ciudadEntity.get().setPais(null);
+			eventPublisher.publishEvent(new ResourceChangedEvent(CiudadEntity.class, ciudadId));
+			if (anterior != null)
+				eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 			log.info("Finaliza proceso de borrar un pais de la ciudad con id = ", ciudadId);
 		}
 
@@ -1,14 +1,18 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
 import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.museoartemoderno.exceptions.IllegalOperationException;
 import co.edu.uniandes.dse.museoartemoderno.repositories.CiudadRepository;
 
@@ -19,6 +23,15 @@ import lombok.extern.slf4j.Slf4j;
 public class CiudadService {
 	@Autowired
 	CiudadRepository ciudadRepository;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	KeyFilters keyFilters;
+
+	@Autowired
+	FetchPlanService fetchPlanService;
 	
 	/**
 	 * Crea una ciudad
@@ -26,6 +39,7 @@ public class CiudadService {
 	 * @throws EntityNotFoundException si no se encuentra la entidad
 	 * @throws IllegalOperationException si no se cumple alguna regla
 	 */
+	@Transactional
 	public CiudadEntity createCiudad(CiudadEntity ciudadEntity) throws EntityNotFoundException, IllegalOperationException{
 		log.info("inicia proceso de creacion de ciudad");
 		if (!validateNombre(ciudadEntity.getNombreCiudad()))
@@ -37,34 +51,51 @@ public class CiudadService {
 		if (!ciudadRepository.findByCoordenadasCiudad(ciudadEntity.getCoordenadasCiudad()).isEmpty())
 			throw new IllegalOperationException("Coordenadas Ciudad already exists");
 		
-		return ciudadRepository.save(ciudadEntity);	
+		CiudadEntity creada = ciudadRepository.save(ciudadEntity);
+		if (creada.getPais() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, creada.getPais().getId()));
+		return creada;
 	}
 	/**
 	 * Obtiene la lista de los registros de Ciudad.
 	 *
 	 * @return Colección de objetos de CiudadEntity.
 	 */
+	@Transactional(readOnly = true)
 	public List<CiudadEntity> getCiudades() {
 		log.info("Inicia proceso de consultar todos las ciudades");
 		return ciudadRepository.findAll();
 	}
+
+	/**
+	 * Obtiene una pagina de ciudades ordenadas por id
+	 * @param after - Id de la ultima ciudad de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de ciudades a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return Lista con las ciudades cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<CiudadEntity> getCiudades(Long after, int limit, Collection<String> paths) {
+		log.info("Inicia proceso de consultar una pagina de ciudades despues del id: " + after);
+		return fetchPlanService.getPage(CiudadEntity.class, paths, after, limit);
+	}
 	
 	/**
 	 * Encuentra en la base de datos la ciudad con un id especifico
 	 * @param ciudadID - Id de la ciudad que se quiere obtener
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return - La ciudad con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
-	public CiudadEntity getCiudad(Long ciudadId) throws EntityNotFoundException {
+	@Transactional(readOnly = true)
+	public CiudadEntity getCiudad(Long ciudadId, Collection<String> paths) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar la ciudad con id: " + ciudadId);
-		Optional<CiudadEntity> ciudadEntity = ciudadRepository.findById(ciudadId);
-		
-		if (ciudadEntity.isEmpty())
-			throw new EntityNotFoundException("CIUDAD NOT FOUND");
+		if (!keyFilters.mightContainId(CiudadEntity.class, ciudadId))
+			throw new EntityNotFoundException(ErrorMessage.CIUDAD_NOT_FOUND);
 		
+		CiudadEntity ciudadEntity = fetchPlanService.getOne(CiudadEntity.class, ciudadId, paths);
 		log.info("Termina proceso de consultar la ciudad con id: " + ciudadId);
-		return ciudadEntity.get();
+		return ciudadEntity;
 	}
 	
 	/**
@@ -77,7 +108,8 @@ public class CiudadService {
 	@Transactional
 	public CiudadEntity updateCiudad(Long ciudadId, CiudadEntity ciudad) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de actualizar la ciudad con id = ", ciudadId);
-		Optional<CiudadEntity> ciudadEntity = ciudadRepository.findById(ciudadId);
+		Optional<CiudadEntity> ciudadEntity = keyFilters.mightContainId(CiudadEntity.class, ciudadId)
+				? ciudadRepository.findById(ciudadId) : Optional.empty();
 		if (!validateNombre(ciudad.getNombreCiudad()))
 			throw new IllegalOperationException("Nombre Ciudad is not valid");
 		if (!validateNombre(ciudad.getCoordenadasCiudad()))
@@ -90,19 +122,41 @@ public class CiudadService {
 			throw new EntityNotFoundException("PAIS_NOT_FOUND");
 		
 		log.info("Termina proceso de actualizar el pais con id = ", ciudadId);
+		PaisEntity paisAnterior = ciudadEntity.get().getPais();
 		ciudad.setId(ciudadId);
-		return ciudadRepository.save(ciudad);
+		ciudad.setVersion(ciudadEntity.get().getVersion());
+		CiudadEntity actualizada = ciudadRepository.save(ciudad);
+		if (paisAnterior != actualizada.getPais()) {
+			// La coleccion ciudades del pais esta en el cache de segundo nivel, se mantiene sincronizada
+			if (paisAnterior != null)
+				paisAnterior.getCiudades().remove(actualizada);
+			if (actualizada.getPais() != null)
+				actualizada.getPais().getCiudades().add(actualizada);
+		}
+		eventPublisher.publishEvent(new ResourceChangedEvent(CiudadEntity.class, ciudadId));
+		if (paisAnterior != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisAnterior.getId()));
+		if (actualizada.getPais() != null && actualizada.getPais() != paisAnterior)
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, actualizada.getPais().getId()));
+		return actualizada;
 	}
 	
 	@Transactional
 	public void deleteCiudad(Long ciudadId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de borrar la ciudad con id: ", ciudadId);
-		Optional<CiudadEntity> ciudadEntity = ciudadRepository.findById(ciudadId);
+		Optional<CiudadEntity> ciudadEntity = keyFilters.mightContainId(CiudadEntity.class, ciudadId)
+				? ciudadRepository.findById(ciudadId) : Optional.empty();
 		
 		if (ciudadEntity.isEmpty())
 			throw new EntityNotFoundException("CIUDAD NOT FOUND");
 		
+		PaisEntity pais = ciudadEntity.get().getPais();
+		if (pais != null)
+			pais.getCiudades().remove(ciudadEntity.get());
 		ciudadRepository.deleteById(ciudadId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(CiudadEntity.class, ciudadId));
+		if (pais != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, pais.getId()));
 		log.info("Termina proceso de borrar la ciudad con id: " + ciudadId);
 	}
 	/**
@@ -0,0 +1,173 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Propaga los cambios entre instancias por el InvalidationBus. Los
+ * ResourceChangedEvent que confirma esta instancia y las llaves nuevas de los
+ * KeyFilters se acumulan (sin repetidos) y se envian en lotes: el primer cambio
+ * programa el envio tras una espera corta, de modo que una rafaga de cambios
+ * sale en un solo mensaje; si el lote llega al maximo se envia de inmediato.
+ *
+ * Los mensajes de otras instancias se vuelven a publicar localmente como
+ * ResourceChangedEvent remotos (los caches de respuestas, de fragmentos y el
+ * cache de segundo nivel invalidan sus entradas) y KeysAddedEvent remotos.
+ */
+@Slf4j
+@Component
+public class ClusterInvalidation {
+
+	@Autowired
+	private ObjectProvider<InvalidationBus> invalidationBusProvider;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private final String channel;
+
+	private InvalidationBus invalidationBus;
+
+	private LoopbackInvalidationBus loopback;
+
+	private final long batchDelayMillis;
+
+	private final int maxBatchSize;
+
+	private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "cluster-invalidation");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private Set<ResourceChangedEvent> pendingChanges = new LinkedHashSet<>();
+
+	private Map<String, Set<Object>> pendingKeys = new HashMap<>();
+
+	private int pendingSize;
+
+	private boolean scheduled;
+
+	public ClusterInvalidation(@Value("${museoartemoderno.invalidation.channel:museoartemoderno}") String channel,
+			@Value("${museoartemoderno.invalidation.batch-delay-ms:20}") long batchDelayMillis,
+			@Value("${museoartemoderno.invalidation.max-batch-size:500}") int maxBatchSize) {
+		this.channel = channel;
+		this.batchDelayMillis = batchDelayMillis;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Se suscribe al InvalidationBus declarado como bean o, si no hay ninguno, a un LoopbackInvalidationBus propio
+	 */
+	@PostConstruct
+	void subscribe() {
+		invalidationBus = invalidationBusProvider.getIfAvailable(() -> loopback = new LoopbackInvalidationBus(channel));
+		invalidationBus.subscribe(this::receive);
+	}
+
+	/**
+	 * Agrega al lote un cambio confirmado por esta instancia
+	 * @param event - Evento publicado por el servicio que hizo el cambio
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onResourceChanged(ResourceChangedEvent event) {
+		if (event.isRemote())
+			return;
+		synchronized (this) {
+			if (pendingChanges.add(event))
+				pendingSize++;
+			schedule();
+		}
+	}
+
+	/**
+	 * Agrega al lote las llaves nuevas de una entidad escrita por esta instancia
+	 * @param event - Evento publicado por KeyFilters
+	 */
+	@EventListener
+	public void onKeysAdded(KeysAddedEvent event) {
+		if (event.isRemote())
+			return;
+		synchronized (this) {
+			for (Map.Entry<String, Set<Object>> entry : event.getKeys().entrySet())
+				for (Object value : entry.getValue())
+					if (pendingKeys.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).add(value))
+						pendingSize++;
+			schedule();
+		}
+	}
+
+	/**
+	 * Envia el lote pendiente, si hay uno
+	 */
+	public void flush() {
+		InvalidationMessage message;
+		synchronized (this) {
+			scheduled = false;
+			if (pendingSize == 0)
+				return;
+			message = new InvalidationMessage(instanceId, pendingChanges, pendingKeys);
+			pendingChanges = new LinkedHashSet<>();
+			pendingKeys = new HashMap<>();
+			pendingSize = 0;
+		}
+		log.debug("Se envian {} cambios y las llaves de {} filtros a las demas instancias", message.getChanges().size(),
+				message.getKeys().size());
+		try {
+			invalidationBus.publish(message);
+		} catch (RuntimeException e) {
+			log.error("No se pudo enviar el lote de invalidaciones; las demas instancias pueden quedar desactualizadas", e);
+		}
+	}
+
+	@PreDestroy
+	void close() {
+		flush();
+		sender.shutdown();
+		if (loopback != null)
+			loopback.close();
+	}
+
+	private void schedule() {
+		if (pendingSize >= maxBatchSize)
+			sender.execute(this::flush);
+		else if (!scheduled)
+			sender.schedule(this::flush, batchDelayMillis, TimeUnit.MILLISECONDS);
+		scheduled = true;
+	}
+
+	/**
+	 * Publica localmente los cambios que llegan de otra instancia
+	 */
+	private void receive(InvalidationMessage message) {
+		if (instanceId.equals(message.getOrigin()))
+			return;
+		log.debug("Llegan {} cambios de la instancia {}", message.getChanges().size(), message.getOrigin());
+		if (!message.getKeys().isEmpty())
+			eventPublisher.publishEvent(new KeysAddedEvent(message.getKeys(), true));
+		for (ResourceChangedEvent change : message.getChanges())
+			eventPublisher.publishEvent(new ResourceChangedEvent(change.getType(), change.getId(), true));
+	}
+}
@@ -29,6 +29,9 @@ public class EmpleadoService {
 	
 	@Autowired
 	PaisRepository paisRepository;
+
+	@Autowired
+	KeyFilters keyFilters;
 	
 	/**
 	 * Guarda un nuevo empleado en la base de datos si cumple con las reglas de negocio
@@ -53,7 +56,8 @@ public class EmpleadoService {
 		if (empleadoEntity.getLugarNacimiento() == null)
 			throw new IllegalOperationException("Lugar Nacimiento is not valid");	
 		
-		Optional<PaisEntity> paisEntity1 = paisRepository.findById(empleadoEntity.getLugarNacimiento().getId());
+		Optional<PaisEntity> paisEntity1 = keyFilters.mightContainId(PaisEntity.class, empleadoEntity.getLugarNacimiento().getId())
+				? paisRepository.findById(empleadoEntity.getLugarNacimiento().getId()) : Optional.empty();
 		if (paisEntity1.isEmpty())
 			throw new IllegalOperationException("Lugar Nacimiento is not valid");
 		
@@ -67,7 +71,7 @@ public class EmpleadoService {
 	/**
 	 * @return Lista de todas las entidades de tipo Empleado
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
     public List<EmpleadoEntity> getEmpleados() {
             log.info("Inicia proceso de consulta de todos los empleados");
             log.info("Finaliza proceso de consulta de todos los empleados");
@@ -80,10 +84,11 @@ public class EmpleadoService {
 	 * @return - El empleado con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public EmpleadoEntity getEmpleado(Long empleadoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el empleado con id: " + empleadoId);
-		Optional<EmpleadoEntity> empleadoEntity = empleadoRepository.findById(empleadoId);
+		Optional<EmpleadoEntity> empleadoEntity = keyFilters.mightContainId(EmpleadoEntity.class, empleadoId)
+				? empleadoRepository.findById(empleadoId) : Optional.empty();
 		
 		if (empleadoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
@@ -102,7 +107,8 @@ public class EmpleadoService {
 	@Transactional
 	public EmpleadoEntity updateEmpleado(Long empleadoId, EmpleadoEntity empleado) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de actualizar el empleado con id: ", empleadoId);
-		Optional<EmpleadoEntity> empleadoEntity = empleadoRepository.findById(empleadoId);
+		Optional<EmpleadoEntity> empleadoEntity = keyFilters.mightContainId(EmpleadoEntity.class, empleadoId)
+				? empleadoRepository.findById(empleadoId) : Optional.empty();
 		if (empleadoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 
@@ -110,6 +116,7 @@ public class EmpleadoService {
 			throw new IllegalOperationException("Nombre is not valid");	
 
 		empleado.setId(empleadoId);
+		empleado.setVersion(empleadoEntity.get().getVersion());
 		log.info("Termina proceso de actualizar el empleado con id: ", empleadoId);
 		return empleadoRepository.save(empleado);
 	}
@@ -123,7 +130,8 @@ public class EmpleadoService {
 	@Transactional
 	public void deleteEmpleado(Long empleadoId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de borrar el empleado con id: ", empleadoId);
-		Optional<EmpleadoEntity> empleadoEntity = empleadoRepository.findById(empleadoId);
+		Optional<EmpleadoEntity> empleadoEntity = keyFilters.mightContainId(EmpleadoEntity.class, empleadoId)
+				? empleadoRepository.findById(empleadoId) : Optional.empty();
 		
 		if (empleadoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
@@ -0,0 +1,210 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.ErrorMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Carga entidades con un plan de carga armado a partir de las rutas de
+ * asociaciones que se van a usar (por ejemplo museo, artista.lugarNacimiento).
+ * Las asociaciones a uno de cada ruta se traen con LEFT JOIN FETCH en la misma
+ * consulta de la entidad; cada coleccion de la entidad raiz se trae con una
+ * consulta adicional para toda la pagina (con las asociaciones a uno de sus
+ * elementos que esten en la ruta). Las asociaciones que no estan en ninguna
+ * ruta no se leen: quedan como proxies sin inicializar de los que solo se
+ * conoce el id. Los nombres que no son asociaciones de la entidad se ignoran.
+ */
+@Slf4j
+@Service
+public class FetchPlanService {
+
+	private static final String ID = "id";
+
+	private static final Map<Class<? extends BaseEntity>, String> NOT_FOUND = Map.of(ObraEntity.class,
+			ErrorMessage.OBRA_NOT_FOUND, MuseoEntity.class, ErrorMessage.MUSEO_NOT_FOUND, ArtistaEntity.class,
+			ErrorMessage.ARTISTA_NOT_FOUND, MovimientoArtisticoEntity.class, ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND,
+			PaisEntity.class, ErrorMessage.PAIS_NOT_FOUND, CiudadEntity.class, ErrorMessage.CIUDAD_NOT_FOUND);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Obtiene una pagina de entidades ordenadas por id con las asociaciones de las rutas dadas
+	 * @param type - Tipo de la entidad
+	 * @param paths - Rutas de asociaciones a cargar, con los nombres separados por puntos
+	 * @param after - Id de la ultima entidad de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de entidades a devolver
+	 * @return Lista con las entidades cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public <E extends BaseEntity> List<E> getPage(Class<E> type, Collection<String> paths, Long after, int limit) {
+		return getPage(type, null, null, paths, after, limit);
+	}
+
+	/**
+	 * Obtiene una pagina de las entidades asociadas a un dueno, ordenadas por id y con las asociaciones de las rutas dadas
+	 * @param type - Tipo de la entidad
+	 * @param owner - Asociacion a uno de la entidad que apunta al dueno (por ejemplo museo); null para no filtrar
+	 * @param ownerId - Id del dueno
+	 * @param paths - Rutas de asociaciones a cargar, con los nombres separados por puntos
+	 * @param after - Id de la ultima entidad de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de entidades a devolver
+	 * @return Lista con las entidades del dueno cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public <E extends BaseEntity> List<E> getPage(Class<E> type, String owner, Long ownerId, Collection<String> paths, Long after,
+			int limit) {
+		log.info("Inicia proceso de consulta de {} despues del id {} con las asociaciones {}", type.getSimpleName(), after, paths);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<E> query = builder.createQuery(type);
+		Root<E> root = query.from(type);
+		Node plan = Node.of(paths);
+		fetchSingular(root, root.getModel(), plan);
+		Predicate where = builder.greaterThan(root.<Long>get(ID), after);
+		if (owner != null)
+			where = builder.and(builder.equal(root.get(owner).get(ID), ownerId), where);
+		query.select(root).where(where).orderBy(builder.asc(root.get(ID)));
+		List<E> entities = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+		fetchCollections(type, plan, entities);
+		return entities;
+	}
+
+	/**
+	 * Obtiene una entidad con las asociaciones de las rutas dadas
+	 * @param type - Tipo de la entidad
+	 * @param id - Id de la entidad
+	 * @param paths - Rutas de asociaciones a cargar, con los nombres separados por puntos
+	 * @return La entidad
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public <E extends BaseEntity> E getOne(Class<E> type, Long id, Collection<String> paths) throws EntityNotFoundException {
+		log.info("Inicia proceso de consulta de {} con id {} y las asociaciones {}", type.getSimpleName(), id, paths);
+		Node plan = Node.of(paths);
+		ManagedType<E> model = entityManager.getMetamodel().managedType(type);
+		E entity;
+		if (hasSingular(model, plan)) {
+			CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<E> query = builder.createQuery(type);
+			Root<E> root = query.from(type);
+			fetchSingular(root, model, plan);
+			query.select(root).where(builder.equal(root.get(ID), id));
+			List<E> entities = entityManager.createQuery(query).getResultList();
+			entity = entities.isEmpty() ? null : entities.get(0);
+		} else {
+			entity = entityManager.find(type, id);
+		}
+		if (entity == null)
+			throw new EntityNotFoundException(NOT_FOUND.getOrDefault(type, type.getSimpleName() + " NOT FOUND"));
+		fetchCollections(type, plan, List.of(entity));
+		return entity;
+	}
+
+	/**
+	 * Indica si el plan tiene asociaciones a uno de la entidad raiz; sin ellas la
+	 * entidad se busca por id (puede salir del cache de segundo nivel)
+	 */
+	private static boolean hasSingular(ManagedType<?> type, Node plan) {
+		for (String name : plan.children.keySet()) {
+			Attribute<?, ?> attribute = attribute(type, name);
+			if (attribute instanceof SingularAttribute && attribute.isAssociation())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Agrega un LEFT JOIN FETCH por cada asociacion a uno del plan, recursivamente
+	 */
+	private static void fetchSingular(FetchParent<?, ?> parent, ManagedType<?> type, Node plan) {
+		for (Map.Entry<String, Node> child : plan.children.entrySet()) {
+			Attribute<?, ?> attribute = attribute(type, child.getKey());
+			if (attribute instanceof SingularAttribute && attribute.isAssociation()) {
+				FetchParent<?, ?> fetch = parent.fetch(child.getKey(), JoinType.LEFT);
+				fetchSingular(fetch, (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType(), child.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Inicializa cada coleccion del plan en todas las entidades con una consulta
+	 * por coleccion; las entidades ya estan en el contexto de persistencia, asi
+	 * que la consulta solo llena sus colecciones
+	 */
+	private <E extends BaseEntity> void fetchCollections(Class<E> type, Node plan, List<E> entities) {
+		if (entities.isEmpty())
+			return;
+		List<Long> ids = new ArrayList<>(entities.size());
+		for (E entity : entities)
+			ids.add(entity.getId());
+		ManagedType<E> model = entityManager.getMetamodel().managedType(type);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		for (Map.Entry<String, Node> child : plan.children.entrySet()) {
+			Attribute<?, ?> attribute = attribute(model, child.getKey());
+			if (!(attribute instanceof PluralAttribute))
+				continue;
+			CriteriaQuery<E> query = builder.createQuery(type);
+			Root<E> root = query.from(type);
+			FetchParent<?, ?> fetch = root.fetch(child.getKey(), JoinType.LEFT);
+			fetchSingular(fetch, (ManagedType<?>) ((PluralAttribute<?, ?, ?>) attribute).getElementType(), child.getValue());
+			query.select(root).distinct(true).where(root.get(ID).in(ids));
+			entityManager.createQuery(query).setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false).getResultList();
+		}
+	}
+
+	private static Attribute<?, ?> attribute(ManagedType<?> type, String name) {
+		try {
+			return type.getAttribute(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Arbol de las rutas del plan
+	 */
+	private static final class Node {
+		private final Map<String, Node> children = new LinkedHashMap<>();
+
+		private static Node of(Collection<String> paths) {
+			Node root = new Node();
+			for (String path : paths) {
+				Node current = root;
+				for (String name : path.split("\\."))
+					if (!name.isEmpty())
+						current = current.children.computeIfAbsent(name, k -> new Node());
+			}
+			return root;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal entre las instancias de la aplicacion que comparten la base de datos.
+ * Cada instancia envia por el bus los cambios que confirma (ver
+ * ClusterInvalidation) y recibe los de las demas para invalidar sus caches.
+ * Con mas de un nodo (museoartemoderno.cluster.nodes) el bus es un
+ * JdbcInvalidationBus sobre la base de datos compartida (ver
+ * InvalidationBusConfig); un despliegue puede declarar en su lugar un bean
+ * sobre otro transporte. Si no hay ningun bean de esta interfaz se usa un
+ * LoopbackInvalidationBus, que solo conecta contextos dentro de la misma JVM.
+ */
+public interface InvalidationBus {
+
+	/**
+	 * Envia un mensaje a todas las instancias suscritas, incluida la que lo envia
+	 * @param message - Lote de cambios
+	 */
+	void publish(InvalidationMessage message);
+
+	/**
+	 * Registra quien recibe los mensajes del bus
+	 * @param subscriber - Recibe cada mensaje publicado
+	 */
+	void subscribe(Consumer<InvalidationMessage> subscriber);
+}
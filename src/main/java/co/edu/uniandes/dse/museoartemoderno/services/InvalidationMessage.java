@@ -0,0 +1,30 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Value;
+
+/**
+ * Lote de cambios que una instancia envia por el InvalidationBus: los recursos
+ * que cambiaron y las llaves nuevas de los KeyFilters (ids y valores unicos de
+ * las entidades que se crearon o cambiaron).
+ */
+@Value
+public class InvalidationMessage {
+
+	/**
+	 * Identificador de la instancia que envia el mensaje
+	 */
+	String origin;
+
+	/**
+	 * Recursos que cambiaron, sin repetidos
+	 */
+	Set<ResourceChangedEvent> changes;
+
+	/**
+	 * Valores nuevos de cada filtro de llaves, por nombre del filtro
+	 */
+	Map<String, Set<Object>> keys;
+}
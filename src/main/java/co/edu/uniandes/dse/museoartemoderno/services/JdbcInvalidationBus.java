@@ -0,0 +1,199 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InvalidationBus entre procesos sobre la base de datos que comparten las
+ * instancias: publicar inserta el mensaje como JSON en la tabla
+ * invalidation_message y cada instancia lee periodicamente los mensajes nuevos
+ * de su canal y los entrega a sus suscriptores, incluidos los propios.
+ *
+ * Los ids de la tabla no llegan en orden de confirmacion cuando dos instancias
+ * publican a la vez, asi que cada lectura vuelve a revisar los mensajes creados
+ * en la ventana de solapamiento anterior a la ultima lectura (que tambien cubre
+ * la diferencia de reloj entre instancias) y descarta los que ya entrego. Los
+ * mensajes mas viejos que el tiempo de retencion se borran.
+ */
+@Slf4j
+public class JdbcInvalidationBus implements InvalidationBus, AutoCloseable {
+
+	private static final String INSERT = "insert into invalidation_message (channel, created, payload) values (?, ?, ?)";
+
+	private static final String SELECT = "select id, created, payload from invalidation_message where channel = ? and created >= ? order by id";
+
+	private static final String PURGE = "delete from invalidation_message where created < ?";
+
+	private final DataSource dataSource;
+
+	private final String channel;
+
+	private final long overlapMillis;
+
+	private final long retentionMillis;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().enable(DeserializationFeature.USE_LONG_FOR_INTS);
+
+	private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Mensajes ya entregados dentro de la ventana de solapamiento: id y hora de creacion
+	 */
+	private final Map<Long, Long> delivered = new LinkedHashMap<>();
+
+	/**
+	 * Hora desde la que se leyo por ultima vez
+	 */
+	private long readFrom;
+
+	private long lastPurge;
+
+	private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "jdbc-invalidation-bus");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public JdbcInvalidationBus(DataSource dataSource, String channel, long overlapMillis, long retentionMillis) {
+		this.dataSource = dataSource;
+		this.channel = channel;
+		this.overlapMillis = overlapMillis;
+		this.retentionMillis = Math.max(retentionMillis, 2 * overlapMillis);
+		this.readFrom = System.currentTimeMillis();
+	}
+
+	/**
+	 * Empieza a leer los mensajes nuevos periodicamente
+	 * @param intervalMillis - Tiempo entre lecturas
+	 */
+	public void start(long intervalMillis) {
+		poller.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void publish(InvalidationMessage message) {
+		try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(INSERT)) {
+			statement.setString(1, channel);
+			statement.setLong(2, System.currentTimeMillis());
+			statement.setString(3, objectMapper.writeValueAsString(Payload.of(message)));
+			statement.executeUpdate();
+			if (!connection.getAutoCommit())
+				connection.commit();
+		} catch (SQLException | JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo publicar el mensaje de invalidacion en el canal " + channel, e);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<InvalidationMessage> subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	/**
+	 * Lee los mensajes nuevos del canal y los entrega a los suscriptores
+	 */
+	public synchronized void poll() {
+		long now = System.currentTimeMillis();
+		List<InvalidationMessage> messages = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(SELECT)) {
+			statement.setString(1, channel);
+			statement.setLong(2, readFrom - overlapMillis);
+			try (ResultSet result = statement.executeQuery()) {
+				while (result.next()) {
+					long id = result.getLong(1);
+					if (delivered.putIfAbsent(id, result.getLong(2)) == null)
+						messages.add(objectMapper.readValue(result.getString(3), Payload.class).toMessage());
+				}
+			}
+			if (now - lastPurge >= retentionMillis) {
+				try (PreparedStatement purge = connection.prepareStatement(PURGE)) {
+					purge.setLong(1, now - retentionMillis);
+					purge.executeUpdate();
+				}
+				lastPurge = now;
+			}
+			if (!connection.getAutoCommit())
+				connection.commit();
+		} catch (SQLException | JsonProcessingException | ClassNotFoundException e) {
+			// Se vuelve a intentar en la siguiente lectura desde la misma hora
+			log.warn("No se pudieron leer los mensajes de invalidacion del canal {}: {}", channel, e.getMessage());
+			return;
+		}
+		readFrom = now;
+		delivered.values().removeIf(created -> created < now - 2 * overlapMillis);
+
+		for (InvalidationMessage message : messages)
+			for (Consumer<InvalidationMessage> subscriber : subscribers) {
+				try {
+					subscriber.accept(message);
+				} catch (RuntimeException e) {
+					log.warn("Un suscriptor del canal {} fallo al procesar el mensaje de {}", channel, message.getOrigin(), e);
+				}
+			}
+	}
+
+	@Override
+	public void close() {
+		poller.shutdown();
+	}
+
+	/**
+	 * Forma JSON de un InvalidationMessage
+	 */
+	@Data
+	static class Payload {
+		private String origin;
+		private List<Change> changes = new ArrayList<>();
+		private Map<String, Set<Object>> keys = new LinkedHashMap<>();
+
+		static Payload of(InvalidationMessage message) {
+			Payload payload = new Payload();
+			payload.origin = message.getOrigin();
+			for (ResourceChangedEvent event : message.getChanges()) {
+				Change change = new Change();
+				change.type = event.getType().getName();
+				change.id = event.getId();
+				payload.changes.add(change);
+			}
+			payload.keys.putAll(message.getKeys());
+			return payload;
+		}
+
+		@SuppressWarnings("unchecked")
+		InvalidationMessage toMessage() throws ClassNotFoundException {
+			Set<ResourceChangedEvent> events = new LinkedHashSet<>();
+			for (Change change : changes)
+				events.add(new ResourceChangedEvent((Class<? extends BaseEntity>) Class.forName(change.type), change.id));
+			return new InvalidationMessage(origin, events, keys);
+		}
+	}
+
+	@Data
+	static class Change {
+		private String type;
+		private Long id;
+	}
+}
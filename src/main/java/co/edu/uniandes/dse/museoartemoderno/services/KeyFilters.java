@@ -0,0 +1,225 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Hibernate;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.MergeEvent;
+import org.hibernate.event.spi.MergeEventListener;
+import org.hibernate.event.spi.PersistEvent;
+import org.hibernate.event.spi.PersistEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.EmpleadoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtros de Bloom sobre los ids de museos, artistas, empleados, paises y
+ * ciudades. Los servicios los consultan antes de ir a la base de datos: si el
+ * filtro dice que el id no existe, se responde EntityNotFoundException sin
+ * consulta; si dice que puede existir, se consulta como siempre. Las
+ * validaciones de nombres unicos no usan filtros: siempre consultan la base de
+ * datos.
+ *
+ * Los filtros se llenan al arrancar, antes de atender peticiones, y se
+ * mantienen con listeners de Hibernate (persist y merge), de modo que
+ * cualquier escritura por JPA en esta instancia agrega sus llaves antes de que
+ * otra lectura pueda verla. Los borrados no se quitan del filtro: solo dejan
+ * falsos positivos, que se resuelven en la base de datos.
+ *
+ * Las llaves nuevas se publican como KeysAddedEvent para que ClusterInvalidation
+ * las envie a las demas instancias. Como el lote llega a las demas despues de
+ * la confirmacion, con mas de un nodo (museoartemoderno.cluster.nodes) un id
+ * que el filtro no tiene se confirma en la base de datos antes de responder
+ * que no existe, y si existe se agrega al filtro.
+ */
+@Slf4j
+@Component
+public class KeyFilters {
+
+	private static final String ID = "id";
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final long expectedKeys;
+
+	private final double falsePositiveRate;
+
+	/**
+	 * Si hay otros nodos que escriben en la base de datos
+	 */
+	private final boolean clustered;
+
+	private final Set<Class<? extends BaseEntity>> types = new LinkedHashSet<>();
+
+	private final Map<String, BloomFilter> filters = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+
+	public KeyFilters(@Value("${museoartemoderno.key-filters.expected-keys:100000}") long expectedKeys,
+			@Value("${museoartemoderno.key-filters.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${museoartemoderno.cluster.nodes:1}") int nodes) {
+		this.expectedKeys = expectedKeys;
+		this.falsePositiveRate = falsePositiveRate;
+		this.clustered = nodes > 1;
+		types.add(MuseoEntity.class);
+		types.add(ArtistaEntity.class);
+		types.add(EmpleadoEntity.class);
+		types.add(PaisEntity.class);
+		types.add(CiudadEntity.class);
+	}
+
+	/**
+	 * Registra los listeners de Hibernate y llena los filtros con los datos existentes
+	 */
+	@PostConstruct
+	void rebuild() {
+		EntityManager reader = entityManagerFactory.createEntityManager();
+		try {
+			for (Class<?> type : types) {
+				String entityName = reader.getMetamodel().entity(type).getName();
+				long count = reader.createQuery("select count(e) from " + entityName + " e", Long.class).getSingleResult();
+				filters.put(filterName(type), new BloomFilter(Math.max(expectedKeys, 2 * count), falsePositiveRate));
+			}
+
+			// Los listeners se registran antes de leer los datos para no perder escrituras concurrentes
+			Listener listener = new Listener();
+			EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry()
+					.getService(EventListenerRegistry.class);
+			registry.appendListeners(EventType.PERSIST, listener);
+			registry.appendListeners(EventType.PERSIST_ONFLUSH, listener);
+			registry.appendListeners(EventType.MERGE, listener);
+
+			for (Class<?> type : types) {
+				String entityName = reader.getMetamodel().entity(type).getName();
+				BloomFilter filter = filters.get(filterName(type));
+				reader.createQuery("select e.id from " + entityName + " e", Long.class).getResultStream()
+						.forEach(filter::put);
+				log.info("Filtro de ids de {} construido", entityName);
+			}
+		} finally {
+			reader.close();
+		}
+		ready = true;
+	}
+
+	/**
+	 * Indica si puede existir una entidad con el id dado. Con mas de un nodo, un
+	 * id que el filtro no tiene se busca en la base de datos, porque otro nodo
+	 * pudo crearlo y su lote aun no llega
+	 * @param type - Clase de la entidad
+	 * @param id - Id buscado
+	 * @return - false si con seguridad no existe; true si hay que consultar la base de datos
+	 */
+	public boolean mightContainId(Class<? extends BaseEntity> type, Long id) {
+		BloomFilter filter = filters.get(filterName(type));
+		if (!ready || filter == null || id == null || filter.mightContain(id))
+			return true;
+		if (clustered && entityManager.find(type, id) != null) {
+			log.debug("{} {} lo creo otro nodo y aun no esta en el filtro de llaves", filterName(type), id);
+			put(filterName(type), filter, id);
+			return true;
+		}
+		log.debug("{} {} no existe segun el filtro de llaves", filterName(type), id);
+		return false;
+	}
+
+	/**
+	 * Agrega las llaves que escribio otra instancia
+	 * @param event - Llaves recibidas por el InvalidationBus
+	 */
+	@EventListener
+	public void onKeysAdded(KeysAddedEvent event) {
+		if (!event.isRemote())
+			return;
+		for (Map.Entry<String, Set<Object>> entry : event.getKeys().entrySet()) {
+			BloomFilter filter = filters.get(entry.getKey());
+			if (filter != null)
+				for (Object value : entry.getValue())
+					put(entry.getKey(), filter, value);
+		}
+	}
+
+	/**
+	 * Agrega al filtro el id de una entidad que se escribio y lo publica para las
+	 * demas instancias
+	 */
+	private void add(Object entity) {
+		if (!(entity instanceof BaseEntity))
+			return;
+		String name = filterName(Hibernate.getClass(entity));
+		BloomFilter filter = filters.get(name);
+		Long id = ((BaseEntity) entity).getId();
+		if (filter == null || id == null)
+			return;
+		put(name, filter, id);
+		eventPublisher.publishEvent(new KeysAddedEvent(Map.of(name, Set.of(id)), false));
+	}
+
+	private static void put(String name, BloomFilter filter, Object value) {
+		if (filter.put(value))
+			log.warn("El filtro de llaves {} supera las llaves esperadas, aumentan los falsos positivos", name);
+	}
+
+	private static String filterName(Class<?> type) {
+		return type.getSimpleName() + "." + ID;
+	}
+
+	/**
+	 * Listener de Hibernate que se ejecuta despues de los listeners por defecto,
+	 * cuando la entidad ya tiene id
+	 */
+	private final class Listener implements PersistEventListener, MergeEventListener {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void onPersist(PersistEvent event) {
+			add(event.getObject());
+		}
+
+		@SuppressWarnings("rawtypes")
+		@Override
+		public void onPersist(PersistEvent event, Map createdAlready) {
+			add(event.getObject());
+		}
+
+		@Override
+		public void onMerge(MergeEvent event) {
+			add(event.getResult());
+		}
+
+		@SuppressWarnings("rawtypes")
+		@Override
+		public void onMerge(MergeEvent event, Map copiedAlready) {
+			add(event.getResult());
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Value;
+
+/**
+ * Evento con las llaves que se agregaron a los KeyFilters. Los publica
+ * KeyFilters cuando esta instancia escribe una entidad (para enviarlas a las
+ * demas instancias) y ClusterInvalidation cuando llegan de otra instancia
+ * (remote en true).
+ */
+@Value
+public class KeysAddedEvent {
+
+	/**
+	 * Valores nuevos de cada filtro, por nombre del filtro
+	 */
+	Map<String, Set<Object>> keys;
+
+	/**
+	 * true si las llaves vienen de otra instancia
+	 */
+	boolean remote;
+}
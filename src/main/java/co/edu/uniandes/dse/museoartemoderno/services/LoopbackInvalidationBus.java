@@ -0,0 +1,58 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InvalidationBus en memoria: entrega cada mensaje, en el mismo hilo, a los
+ * suscriptores del mismo canal dentro de la JVM. Solo sirve para una sola
+ * instancia y para pruebas con varios contextos de la aplicacion en una misma
+ * JVM: no llega a otros procesos, asi que un despliegue con varios nodos debe
+ * usar el JdbcInvalidationBus u otro bus entre procesos.
+ */
+@Slf4j
+public class LoopbackInvalidationBus implements InvalidationBus, AutoCloseable {
+
+	private static final Map<String, List<Consumer<InvalidationMessage>>> CHANNELS = new ConcurrentHashMap<>();
+
+	private final String channel;
+
+	private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+	public LoopbackInvalidationBus(String channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public void publish(InvalidationMessage message) {
+		for (Consumer<InvalidationMessage> subscriber : CHANNELS.getOrDefault(channel, List.of())) {
+			try {
+				subscriber.accept(message);
+			} catch (RuntimeException e) {
+				log.warn("Un suscriptor del canal {} fallo al procesar el mensaje de {}", channel, message.getOrigin(), e);
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<InvalidationMessage> subscriber) {
+		subscribers.add(subscriber);
+		CHANNELS.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+	}
+
+	/**
+	 * Retira del canal los suscriptores de este bus (al cerrar el contexto)
+	 */
+	@Override
+	public void close() {
+		List<Consumer<InvalidationMessage>> channelSubscribers = CHANNELS.get(channel);
+		if (channelSubscribers != null)
+			channelSubscribers.removeAll(subscribers);
+		subscribers.clear();
+	}
+}
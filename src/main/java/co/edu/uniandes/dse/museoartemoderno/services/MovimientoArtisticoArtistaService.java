@@ -1,8 +1,13 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
@@ -17,8 +22,14 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class MovimientoArtisticoArtistaService 
 {
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -33,19 +44,21 @@ public class MovimientoArtisticoArtistaService
 	public ArtistaEntity addArtista(Long movimientoId, Long artistaId) throws EntityNotFoundException
 	{
 		log.info("Inicia proceso de asociar al movimiento "+movimientoId+" el artista "+artistaId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if(movimientoEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		if(artistaEntity.isEmpty())
+		if(!artistaRepository.existsById(artistaId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		}
-		artistaEntity.get().getMovimientos().add(movimientoEntity.get());
+		NativeLinks.link(entityManager, "artista_entity_movimientos", "artistas_id", artistaId, "movimientos_id", movimientoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
 		log.info("Termina proceso de asociar al movimiento "+movimientoId+" el artista "+artistaId);
-		return artistaEntity.get();
+		return artistaRepository.findById(artistaId).get();
 	}
 	
 	/**
@@ -54,7 +67,7 @@ public class MovimientoArtisticoArtistaService
 	 * @throws EntityNotFoundException si el movimiento artistico no existe
 	 * @return Coleccion de artistas relacionados con un movimiento artistico
 	 */ 
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ArtistaEntity> getArtistas(Long movimientoId) throws EntityNotFoundException
 	{
 		log.info("Inicia proceso de obtener todos los artistas asociados con el movimiento artistico "+movimientoId);
@@ -63,18 +76,29 @@ public class MovimientoArtisticoArtistaService
 		{
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		List<ArtistaEntity> artistas = artistaRepository.findAll();
-		List<ArtistaEntity> artistaList = new ArrayList<>();
-		for(ArtistaEntity a: artistas)
-		{
-			if(a.getMovimientos().contains(movimientoEntity.get()))
-			{
-				artistaList.add(a);
-			}
-		}
+		List<ArtistaEntity> artistaList = artistaRepository.findByMovimientosId(movimientoId);
 		log.info("Finaliza proceso de obtener todos los artistas asociados con el movimiento artistico "+movimientoId);
 		return artistaList;
 	}
+
+	/**
+	 * Obtiene una pagina de los artistas asociados a un MovimientoArtistico, ordenados por id
+	 * @param movimientoId - Id del movimiento artistico
+	 * @param after - Id del ultimo artista de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de artistas a devolver
+	 * @throws EntityNotFoundException si el movimiento artistico no existe
+	 * @return Coleccion de artistas relacionados con el movimiento cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<ArtistaEntity> getArtistas(Long movimientoId, Long after, int limit) throws EntityNotFoundException
+	{
+		log.info("Inicia proceso de obtener una pagina de los artistas asociados con el movimiento artistico "+movimientoId);
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
+		{
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+		}
+		return artistaRepository.findByMovimientosIdAndIdGreaterThanOrderByIdAsc(movimientoId, after, PageRequest.of(0, limit));
+	}
 	
 	/**
 	 * Obtiene una instancia de ArtistaEntity asociada a una instancia de MovimientoArtisticoEntity
@@ -83,24 +107,23 @@ public class MovimientoArtisticoArtistaService
 	 * @throws EntityNotFoundException si el artista o el movimiento no existe
 	 * @return La entidad de Artista del movimiento
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public ArtistaEntity getArtista(Long movimientoId, Long artistaId) throws EntityNotFoundException, IllegalOperationException
 	{
 		log.info("Inicia el proceso de obtener el artista "+artistaId+" asociado con el movimiento "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if(movimientoEntity.isEmpty())
+		Optional<ArtistaEntity> artistaEntity = artistaRepository.findByIdAndMovimientosId(artistaId, movimientoId);
+		if(artistaEntity.isPresent())
 		{
-			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+			log.info("Termina el proceso de obtener el artista "+artistaId+" asociado con el movimiento "+movimientoId);
+			return artistaEntity.get();
 		}
-		if(artistaEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
-			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		log.info("Termina el proceso de obtener el artista "+artistaId+" asociado con el movimiento "+movimientoId);
-		if(artistaEntity.get().getMovimientos().contains(movimientoEntity.get()))
+		if(!artistaRepository.existsById(artistaId))
 		{
-			return artistaEntity.get();
+			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		}
 
 		throw new IllegalOperationException("El artista no esta asociado con el movimiento artistico");
@@ -123,18 +146,12 @@ public class MovimientoArtisticoArtistaService
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
 
-		for(ArtistaEntity artista: artistas)
-		{
-			Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artista.getId());
-			if(artistaEntity.isEmpty())
-			{
-				throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
-			}
-			if(!artistaEntity.get().getMovimientos().contains(movimientoEntity.get()))
-			{
-				artistaEntity.get().getMovimientos().add(movimientoEntity.get());
-			}
-		}
+		List<ArtistaEntity> nuevosArtistas = BulkAssociations.resolve(artistaRepository, artistas, ErrorMessage.ARTISTA_NOT_FOUND);
+		Set<ArtistaEntity> cambiados = BulkAssociations.replace(artistaRepository.findByMovimientosId(movimientoId), nuevosArtistas,
+				artista -> artista.getMovimientos().add(movimientoEntity.get()),
+				artista -> artista.getMovimientos().remove(movimientoEntity.get()));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, cambiado.getId())));
 
 		log.info("Finaliza proceso de de reemplazar los libros asociados al movimiento "+movimientoId);
 		return artistas;
@@ -150,19 +167,21 @@ public class MovimientoArtisticoArtistaService
 	public void removeArtista(Long movimientoId, Long artistaId) throws EntityNotFoundException
 	{
 		log.info("Inical el proceso de desasociar el artista "+artistaId+" del movimiento "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		if(movimientoEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
 
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if(artistaEntity.isEmpty())
+		if(!artistaRepository.existsById(artistaId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.ARTISTA_NOT_FOUND);
 		}
 
-		artistaEntity.get().getMovimientos().remove(movimientoEntity.get());
+		artistaRepository.unlinkMovimiento(artistaId, movimientoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
 		log.info("Inical el proceso de desasociar el artista "+artistaId+" del movimiento "+movimientoId);
 	}
 }
@@ -1,9 +1,16 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,9 +28,15 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class MovimientoArtisticoMuseoService 
 {
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private MuseoRepository museoRepository;
 
@@ -38,19 +51,21 @@ public class MovimientoArtisticoMuseoService
 	public MuseoEntity addMuseo(Long movimientoId, Long museoId) throws EntityNotFoundException
 	{
 		log.info("Inicio proceso de asociar el museo "+museoId+" con el movimiento artistico "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		if(movimientoEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		if(museoEntity.isEmpty())
+		if(!museoRepository.existsById(museoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 		}
-		movimientoEntity.get().getMuseos().add(museoEntity.get());
+		NativeLinks.link(entityManager, "movimiento_artistico_entity_museos", "movimientos_id", movimientoId, "museos_id", museoId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Fin proceso de asociar el museo "+museoId+" con el movimiento artistico "+movimientoId);
-		return museoEntity.get();
+		return museoRepository.findById(museoId).get();
 	}
 
 	/**
@@ -59,7 +74,7 @@ public class MovimientoArtisticoMuseoService
 	 * @throws EntityNotFoundException si no se encuentra el movimiento
 	 * @return Coleccion de museos asociados con el movimiento artistico
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<MuseoEntity> getMuseos(Long movimientoId) throws EntityNotFoundException
 	{
 		log.info("Inicio proceso de obtener museos asociados con el movimiento "+movimientoId);
@@ -70,7 +85,26 @@ public class MovimientoArtisticoMuseoService
 		}
 
 		log.info("Inicio proceso de obtener museos asociados con el movimiento "+movimientoId);
-		return movimientoEntity.get().getMuseos();
+		return new ArrayList<>(movimientoEntity.get().getMuseos());
+	}
+
+	/**
+	 * Obtiene una pagina de los museos asociados a un movimiento artistico, ordenados por id
+	 * @param movimientoId - Id del movimiento artistico
+	 * @param after - Id del ultimo museo de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de museos a devolver
+	 * @throws EntityNotFoundException si no se encuentra el movimiento
+	 * @return Coleccion de museos asociados con el movimiento cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<MuseoEntity> getMuseos(Long movimientoId, Long after, int limit) throws EntityNotFoundException
+	{
+		log.info("Inicio proceso de obtener una pagina de los museos asociados con el movimiento "+movimientoId);
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
+		{
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+		}
+		return museoRepository.findByMovimientosIdAndIdGreaterThanOrderByIdAsc(movimientoId, after, PageRequest.of(0, limit));
 	}
 
 	/**
@@ -80,25 +114,23 @@ public class MovimientoArtisticoMuseoService
 	 * @throws EntityNotFoundEception si no se encuentra el movimiento o el museo
 	 * @return la entidad de MuseoEntity
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MuseoEntity getMuseo(Long museoId, Long movimientoId) throws EntityNotFoundException, IllegalOperationException
 	{
 		log.info("Inicia el proceso de obtener el museo "+museoId+" asociado con el movimiento "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		if(movimientoEntity.isEmpty())
+		Optional<MuseoEntity> museoEntity = museoRepository.findByIdAndMovimientosId(museoId, movimientoId);
+		if(museoEntity.isPresent())
 		{
-			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+			log.info("Termina el proceso de obtener el museo "+museoId+" asociado con el movimiento "+movimientoId);
+			return museoEntity.get();
 		}
-		
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		if(museoEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
-			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		log.info("Inicia el proceso de obtener el museo "+museoId+" asociado con el movimiento "+movimientoId);
-		if(movimientoEntity.get().getMuseos().contains(museoEntity.get()))
+		if(!museoRepository.existsById(museoId))
 		{
-			return museoEntity.get();
+			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 		}
 		throw new IllegalOperationException("El museo no esta asociado con el movimiento artistico");
 	}
@@ -120,18 +152,10 @@ public class MovimientoArtisticoMuseoService
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
 
-		for(MuseoEntity museo: museos)
-		{
-			Optional<MuseoEntity> museoEntity = museoRepository.findById(museo.getId());
-			if(museoEntity.isEmpty())
-			{
-				throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
-			}
-			if(!movimientoEntity.get().getMuseos().contains(museoEntity.get()))
-			{
-				movimientoEntity.get().getMuseos().add(museoEntity.get());
-			}
-		}
+		List<MuseoEntity> nuevosMuseos = BulkAssociations.resolve(museoRepository, museos, ErrorMessage.MUSEO_NOT_FOUND);
+		Set<MuseoEntity> cambiados = BulkAssociations.replace(movimientoEntity.get().getMuseos(), nuevosMuseos);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, cambiado.getId())));
 
 		log.info("Termina el proceso de reemplazar la coleccion de instancias de MuseoEntity del movimiento "+movimientoId);
 		return museos;
@@ -147,18 +171,20 @@ public class MovimientoArtisticoMuseoService
 	public void removeMuseo(Long movimientoId, Long museoId) throws EntityNotFoundException
 	{
 		log.info("Inicio proceso desasociacion del museo "+museoId+" con el movimiento "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		if(movimientoEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-		if(museoEntity.isEmpty())
+		if(!museoRepository.existsById(museoId))
 		{
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 		}
 
-		movimientoEntity.get().getMuseos().remove(museoEntity.get());
+		movimientoArtisticoRepository.unlinkMuseo(movimientoId, museoId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 
 		log.info("Fin proceso desasociacion del museo "+museoId+" con el movimiento "+movimientoId);
 	}
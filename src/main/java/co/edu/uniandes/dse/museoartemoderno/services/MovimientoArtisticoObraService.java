@@ -1,9 +1,12 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,12 @@ public class MovimientoArtisticoObraService
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private FetchPlanService fetchPlanService;
+
 	@Autowired
 	private ObraRepository obraRepository;
 
@@ -50,6 +59,8 @@ public class MovimientoArtisticoObraService
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
 		obraEntity.get().setMovimiento(movimientoEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
 		log.info("Finaliza el proceso de agregar la obra "+obraId+" al movimiento artistico "+movimientoId);
 		return obraEntity.get();
 	}
@@ -60,7 +71,7 @@ public class MovimientoArtisticoObraService
 	 * @throws EntityNotFoundException si el movimiento artistico no existe
 	 * @return La lista de obras asociadas
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ObraEntity> getObras(Long movimientoId) throws EntityNotFoundException
 	{
 		log.info("Inicio proceso de obtener las obras asociadas al movimiento "+movimientoId);
@@ -75,6 +86,27 @@ public class MovimientoArtisticoObraService
 		return movimientoEntity.get().getObras();
 	}
 
+	/**
+	 * Obtener una pagina de las obras asociadas a un movimiento artistico, ordenadas por id
+	 * @param movimientoId - Id del movimiento artistico
+	 * @param after - Id de la ultima obra de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de obras a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @throws EntityNotFoundException si el movimiento artistico no existe
+	 * @return La lista de obras asociadas cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<ObraEntity> getObras(Long movimientoId, Long after, int limit, Collection<String> paths) throws EntityNotFoundException
+	{
+		log.info("Inicio proceso de obtener una pagina de las obras asociadas al movimiento "+movimientoId);
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
+		{
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+		}
+		return fetchPlanService.getPage(ObraEntity.class, "movimiento", movimientoId, paths, after, limit);
+	}
+
+
 	/**
 	 * Obtener una instancia de ObraEntity asociadada a una instancia existente de MovimientoArtisticoEntity
 	 * @param movimientoId - Id del movimiento
@@ -82,26 +114,23 @@ public class MovimientoArtisticoObraService
 	 * @throws EntityNotFoundException si no se encuentra el movimiento o la obra
 	 * @return La obra asociada al movimiento 
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public ObraEntity getObra(Long movimientoId, Long obraId) throws EntityNotFoundException, IllegalOperationException
 	{
 		log.info("Inicia el proceso de obtener la obra "+obraId+" asociada al movimiento "+movimientoId);
-		Optional<MovimientoArtisticoEntity> movimientoEntity = movimientoArtisticoRepository.findById(movimientoId);
-		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
-
-		if(movimientoEntity.isEmpty())
+		Optional<ObraEntity> obraEntity = obraRepository.findByIdAndMovimientoId(obraId, movimientoId);
+		if(obraEntity.isPresent())
 		{
-			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
+			log.info("Finaliza el proceso de obtener la obra "+obraId+" asociada al movimiento "+movimientoId);
+			return obraEntity.get();
 		}
-		if(obraEntity.isEmpty())
+		if(!movimientoArtisticoRepository.existsById(movimientoId))
 		{
-			throw new EntityNotFoundException(ErrorMessage.OBRA_NOT_FOUND);
+			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}
-
-		log.info("Finaliza el proceso de obtener la obra "+obraId+" asociada al movimiento "+movimientoId);		
-		if(obraEntity.get().getMovimiento().equals(movimientoEntity.get()))
+		if(!obraRepository.existsById(obraId))
 		{
-			return obraEntity.get();
+			throw new EntityNotFoundException(ErrorMessage.OBRA_NOT_FOUND);
 		}
 
 		throw new IllegalOperationException("La obra no esta asociada con el movimiento artistico");
@@ -123,16 +152,12 @@ public class MovimientoArtisticoObraService
 			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
 		}	
 
-		for(ObraEntity obra: pObras)
-		{
-			Optional<ObraEntity> o = obraRepository.findById(obra.getId());
-			if(o.isEmpty())
-			{
-				throw new EntityNotFoundException(ErrorMessage.OBRA_NOT_FOUND);
-			}
-			o.get().setMovimiento(movimientoEntity.get());
-		}
+		List<ObraEntity> obras = BulkAssociations.resolve(obraRepository, pObras, ErrorMessage.OBRA_NOT_FOUND);
+		Set<ObraEntity> cambiados = BulkAssociations.replace(obraRepository.findByMovimientoId(movimientoId), obras,
+				obra -> obra.setMovimiento(movimientoEntity.get()), obra -> obra.setMovimiento(null));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, cambiado.getId())));
 		log.info("Incio proceso de actualizar las obras del movimiento "+movimientoId);
-		return pObras;
+		return obras;
 	}
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +23,9 @@ public class MovimientoArtisticoPaisService
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private PaisRepository paisRepository;
 
@@ -54,7 +58,12 @@ public class MovimientoArtisticoPaisService
 			throw new EntityNotFoundException(ErrorMessage.PAIS_NOT_FOUND);
 		}
 
+		PaisEntity anterior = movimientoEntity.get().getLugarOrigen();
 		movimientoEntity.get().setLugarOrigen(paisEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+		if (anterior != null && !anterior.getId().equals(paisId))
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 		log.info("Termina el proceso de actualizar el movimiento "+movimientoId);
 		return movimientoEntity.get();
 	}
@@ -77,6 +86,8 @@ public class MovimientoArtisticoPaisService
 		paisEntity.ifPresent(lugarOrigen -> lugarOrigen.getMovimientoArtisticos().remove(movimientoEntity.get()));
 
 		movimientoEntity.get().setLugarOrigen(null);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
+		paisEntity.ifPresent(lugarOrigen -> eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, lugarOrigen.getId())));
 		log.info("Final eliminacion del movimiento "+movimientoId);
 	}
 }
@@ -1,8 +1,10 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,12 @@ public class MovimientoArtisticoService {
 	@Autowired
 	MovimientoArtisticoRepository movimientoArtisticoRepository;
 
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	FetchPlanService fetchPlanService;
+
 	String a = "a";
 	String b = "b";
 	String c = "c";
@@ -28,29 +36,39 @@ public class MovimientoArtisticoService {
 	 *Da todos los movimientos artisticos 
 	 * @return lista con todos los movimientos artisticos
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<MovimientoArtisticoEntity> getMovimientosArtisticos()
 	{
 		return movimientoArtisticoRepository.findAll();
 	}
+
+	/**
+	 * Da una pagina de movimientos artisticos ordenados por id
+	 * @param after - Id del ultimo movimiento de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de movimientos a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return lista con los movimientos artisticos cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<MovimientoArtisticoEntity> getMovimientosArtisticos(Long after, int limit, Collection<String> paths)
+	{
+		return fetchPlanService.getPage(MovimientoArtisticoEntity.class, paths, after, limit);
+	}
 	
 	/**
 	 * Da un movimiento artistico a partir de su Id
 	 * @param pId - Id del movimiento que se quiere buscar
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return El movimiento artistico con el Id buscado
 	 * @throws EntityNotFoundException si no se encuentra la entidad buscada
 	 */
-	@Transactional
-	public MovimientoArtisticoEntity getMovimientoArtistico(Long pId) throws EntityNotFoundException
+	@Transactional(readOnly = true)
+	public MovimientoArtisticoEntity getMovimientoArtistico(Long pId, Collection<String> paths) throws EntityNotFoundException
 	{
 		log.info("Inicia proceso de obtener de un movimiento artisitico con id "+ pId);
-		Optional<MovimientoArtisticoEntity> movimientoBuscado = movimientoArtisticoRepository.findById(pId);
-		if(movimientoBuscado.isEmpty())
-		{
-			throw new EntityNotFoundException(ErrorMessage.MOVIMIENTO_ARTISTICO_NOT_FOUND);
-		}
+		MovimientoArtisticoEntity movimientoBuscado = fetchPlanService.getOne(MovimientoArtisticoEntity.class, pId, paths);
 		log.info("Termina el proceso de obtener de un movimiento artisitico con id "+ pId);
-		return movimientoBuscado.get();
+		return movimientoBuscado;
 	}
 	
 	/**
@@ -88,6 +106,7 @@ public class MovimientoArtisticoService {
 		}
 		log.info("Termina el proceso de eliminar de un movimiento artisitico con id  "+ pId);
 		movimientoArtisticoRepository.deleteById(pId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, pId));
 	}
 	
 	/**
@@ -110,8 +129,11 @@ public class MovimientoArtisticoService {
 			throw new IllegalOperationException("Nombre no valido");
 		}
 		movimientoArtistico.setId(pId);
+		movimientoArtistico.setVersion(movimientoEntity.get().getVersion());
+		MovimientoArtisticoEntity actualizado = movimientoArtisticoRepository.save(movimientoArtistico);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, pId));
 		log.info("Termina proceso de actualizar el movimiento artistico con id: ", pId);
-		return movimientoArtisticoRepository.save(movimientoArtistico);
+		return actualizado;
 	}
 	
 }
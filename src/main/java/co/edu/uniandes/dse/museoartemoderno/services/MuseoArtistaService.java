@@ -1,10 +1,15 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +25,16 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class MuseoArtistaService {
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	
 	@Autowired
 	private MuseoRepository museoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -42,18 +53,19 @@ public class MuseoArtistaService {
 	@Transactional
 	public ArtistaEntity addArtista(Long museoId, Long artistaId) throws EntityNotFoundException {
 		log.info("Inicia proceso de asociarle un artista al museo con id: " + museoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException(museoNotFound);
 		
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(artistaNotFound);
 
-		artistaEntity.get().getMuseos().add(museoEntity.get());
+		NativeLinks.link(entityManager, "artista_entity_museos", "artistas_id", artistaId, "museos_id", museoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Termina proceso de asociarle un artista al museo con id: ", museoId);
-		return artistaEntity.get();
+		return artistaRepository.findById(artistaId).get();
 	}
 	
 	
@@ -63,7 +75,7 @@ public class MuseoArtistaService {
 	 * @return - Lista de artistas asociados al museo
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<ArtistaEntity> getArtistas(Long museoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar todos los artistas asociados al museo con id: " + museoId);
 		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
@@ -71,17 +83,27 @@ public class MuseoArtistaService {
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException(museoNotFound);
 
-		List<ArtistaEntity> artistas = artistaRepository.findAll();
-		List<ArtistaEntity> artistasList = new ArrayList<>();
-
-		for (ArtistaEntity artista : artistas) {
-			if (artista.getMuseos().contains(museoEntity.get())) {
-				artistasList.add(artista);
-			}
-		}
+		List<ArtistaEntity> artistasList = artistaRepository.findByMuseosId(museoId);
 		log.info("Termina proceso de consultar todos los artistas del museo con id: " + museoId);
 		return artistasList;
 	}
+
+	
+	/**
+	 * Devuelve una pagina de los artistas asociados con el museo, ordenados por id
+	 * @param museoId - Id del museo a buscar en los artista
+	 * @param after - Id del ultimo artista de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de artistas a devolver
+	 * @return - Lista de artistas asociados al museo cuyo id es mayor a after
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public List<ArtistaEntity> getArtistas(Long museoId, Long after, int limit) throws EntityNotFoundException {
+		log.info("Inicia proceso de consultar una pagina de los artistas asociados al museo con id: " + museoId);
+		if (!museoRepository.existsById(museoId))
+			throw new EntityNotFoundException(museoNotFound);
+		return artistaRepository.findByMuseosIdAndIdGreaterThanOrderByIdAsc(museoId, after, PageRequest.of(0, limit));
+	}
 	
 	
 	/**
@@ -92,22 +114,21 @@ public class MuseoArtistaService {
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public ArtistaEntity getArtista(Long museoId, Long artistaId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de consultar el artista con id: " + artistaId + ", del museo con id: " + museoId);
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
+		Optional<ArtistaEntity> artistaEntity = artistaRepository.findByIdAndMuseosId(artistaId, museoId);
+		if (artistaEntity.isPresent()) {
+			log.info("Termina proceso de consultar el artista con id: " + artistaId + ", del museo con id: " + museoId);
+			return artistaEntity.get();
+		}
 
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException(museoNotFound);
 		
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(artistaNotFound);
 
-		log.info("Termina proceso de consultar el artista con id: " + artistaId + ", del museo con id: " + museoId);
-		if (artistaEntity.get().getMuseos().contains(museoEntity.get()))
-			return artistaEntity.get();
-
 		throw new IllegalOperationException("El Artista no esta asociado con el Museo");
 	}
 	
@@ -126,16 +147,14 @@ public class MuseoArtistaService {
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException(museoNotFound);
 
-		for (ArtistaEntity artista : artistas) {
-			Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artista.getId());
-			if (artistaEntity.isEmpty())
-				throw new EntityNotFoundException(artistaNotFound);
-
-			if (!artistaEntity.get().getMuseos().contains(museoEntity.get()))
-				artistaEntity.get().getMuseos().add(museoEntity.get());
-		}
+		List<ArtistaEntity> nuevosArtistas = BulkAssociations.resolve(artistaRepository, artistas, artistaNotFound);
+		Set<ArtistaEntity> cambiados = BulkAssociations.replace(artistaRepository.findByMuseosId(museoId), nuevosArtistas,
+				artista -> artista.getMuseos().add(museoEntity.get()),
+				artista -> artista.getMuseos().remove(museoEntity.get()));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, cambiado.getId())));
 		log.info("Finaliza proceso de reemplazar los artistas asociados al museo con id: " + museoId);
-		return artistas;
+		return nuevosArtistas;
 	}
 	
 	
@@ -148,15 +167,17 @@ public class MuseoArtistaService {
 	@Transactional
 	public void removeArtista(Long museoId, Long artistaId) throws EntityNotFoundException {
 		log.info("Inicia proceso de borrar un museo del artista con id: " + museoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException(museoNotFound);
 
-		Optional<ArtistaEntity> artistaEntity = artistaRepository.findById(artistaId);
-		if (artistaEntity.isEmpty())
+		if (!artistaRepository.existsById(artistaId))
 			throw new EntityNotFoundException(artistaNotFound);
 
-		artistaEntity.get().getMuseos().remove(museoEntity.get());
+		artistaRepository.unlinkMuseo(artistaId, museoId);
+		NativeLinks.refreshIfLoaded(entityManager, ArtistaEntity.class, artistaId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Finaliza proceso de borrar un museo del artista con id: " + museoId);
 	}
 
@@ -1,10 +1,15 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +25,16 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class MuseoMovimientoArtisticoService {
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	
 	@Autowired
 	private MuseoRepository museoRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private MovimientoArtisticoRepository movimientoArtisticoRepository;
 	
@@ -43,20 +54,19 @@ public class MuseoMovimientoArtisticoService {
 		
 		log.info("Inicia proceso de asociarle un movimientoArtistico al museo con id: " + museoId);
 		
-		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-
-		if (movimientoArtisticoEntity.isEmpty())
+		if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 			throw new EntityNotFoundException("MOVIMIENTO ARTISTICO NOT FOUND");
 		
-		
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException("MUSEO NOT FOUND");
 
-		movimientoArtisticoEntity.get().getMuseos().add(museoEntity.get());
+		NativeLinks.link(entityManager, "movimiento_artistico_entity_museos", "movimientos_id", movimientoArtisticoId, "museos_id", museoId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoArtisticoId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoArtisticoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Termina proceso de asociarle un movimientoArtistico al museo con id: ", museoId);
-		return movimientoArtisticoEntity.get();
+		return movimientoArtisticoRepository.findById(movimientoArtisticoId).get();
 	}
 	
 	
@@ -66,7 +76,7 @@ public class MuseoMovimientoArtisticoService {
 	 * @return - Lista de movimientos artisticos asociados al museo
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<MovimientoArtisticoEntity> getMovimientoArtisticos(Long museoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar todos los movimientoArtisticos asociados al museo con id: " + museoId);
 		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
@@ -74,17 +84,27 @@ public class MuseoMovimientoArtisticoService {
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException("MUSEO NOT FOUND");
 
-		List<MovimientoArtisticoEntity> movimientoArtisticos = movimientoArtisticoRepository.findAll();
-		List<MovimientoArtisticoEntity> movimientoArtisticosList = new ArrayList<>();
-
-		for (MovimientoArtisticoEntity movimientoArtistico : movimientoArtisticos) {
-			if (movimientoArtistico.getMuseos().contains(museoEntity.get())) {
-				movimientoArtisticosList.add(movimientoArtistico);
-			}
-		}
+		List<MovimientoArtisticoEntity> movimientoArtisticosList = movimientoArtisticoRepository.findByMuseosId(museoId);
 		log.info("Termina proceso de consultar todos los movimientoArtisticos del museo con id: " + museoId);
 		return movimientoArtisticosList;
 	}
+
+	
+	/**
+	 * Devuelve una pagina de los movimientos artisticos asociados con el museo, ordenados por id
+	 * @param museoId - Id del museo a buscar en los movimientos artisticos
+	 * @param after - Id del ultimo movimiento de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de movimientos a devolver
+	 * @return - Lista de movimientos artisticos asociados al museo cuyo id es mayor a after
+	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+	 */
+	@Transactional(readOnly = true)
+	public List<MovimientoArtisticoEntity> getMovimientoArtisticos(Long museoId, Long after, int limit) throws EntityNotFoundException {
+		log.info("Inicia proceso de consultar una pagina de los movimientoArtisticos asociados al museo con id: " + museoId);
+		if (!museoRepository.existsById(museoId))
+			throw new EntityNotFoundException("MUSEO NOT FOUND");
+		return movimientoArtisticoRepository.findByMuseosIdAndIdGreaterThanOrderByIdAsc(museoId, after, PageRequest.of(0, limit));
+	}
 	
 	
 	/**
@@ -95,22 +115,21 @@ public class MuseoMovimientoArtisticoService {
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MovimientoArtisticoEntity getMovimientoArtistico(Long museoId, Long movimientoArtisticoId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de consultar el movimientoArtistico con id: " + movimientoArtisticoId + ", del museo con id: " + museoId);
-		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
+		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findByIdAndMuseosId(movimientoArtisticoId, museoId);
+		if (movimientoArtisticoEntity.isPresent()) {
+			log.info("Termina proceso de consultar el movimientoArtistico con id: " + movimientoArtisticoId + ", del museo con id: " + museoId);
+			return movimientoArtisticoEntity.get();
+		}
 
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException("MUSEO NOT FOUND");
 		
-		if (movimientoArtisticoEntity.isEmpty())
+		if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 			throw new EntityNotFoundException("MOVIMIENTO ARTISTICO NOT FOUND");
 
-		log.info("Termina proceso de consultar el movimientoArtistico con id: " + movimientoArtisticoId + ", del museo con id: " + museoId);
-		if (movimientoArtisticoEntity.get().getMuseos().contains(museoEntity.get()))
-			return movimientoArtisticoEntity.get();
-
 		throw new IllegalOperationException("El Movimiento Artistico no esta asociado con el Museo");
 	}
 	
@@ -129,16 +148,14 @@ public class MuseoMovimientoArtisticoService {
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException("MUSEO NOT FOUND");
 
-		for (MovimientoArtisticoEntity movimientoArtistico : movimientoArtisticos) {
-			Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtistico.getId());
-			if (movimientoArtisticoEntity.isEmpty())
-				throw new EntityNotFoundException("MOVIMIENTO ARTISTICO NOT FOUND");
-
-			if (!movimientoArtisticoEntity.get().getMuseos().contains(museoEntity.get()))
-				movimientoArtisticoEntity.get().getMuseos().add(museoEntity.get());
-		}
+		List<MovimientoArtisticoEntity> nuevosMovimientos = BulkAssociations.resolve(movimientoArtisticoRepository, movimientoArtisticos, "MOVIMIENTO ARTISTICO NOT FOUND");
+		Set<MovimientoArtisticoEntity> cambiados = BulkAssociations.replace(movimientoArtisticoRepository.findByMuseosId(museoId), nuevosMovimientos,
+				movimiento -> movimiento.getMuseos().add(museoEntity.get()),
+				movimiento -> movimiento.getMuseos().remove(museoEntity.get()));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+		cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, cambiado.getId())));
 		log.info("Finaliza proceso de reemplazar los movimientos artisticos asociados al museo con id: " + museoId);
-		return movimientoArtisticos;
+		return nuevosMovimientos;
 	}
 	
 	
@@ -151,15 +168,17 @@ public class MuseoMovimientoArtisticoService {
 	@Transactional
 	public void removeMovimientoArtistico(Long museoId, Long movimientoArtisticoId) throws EntityNotFoundException {
 		log.info("Inicia proceso de borrar un museo del movimientoArtistico con id: " + museoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		if (museoEntity.isEmpty())
+		if (!museoRepository.existsById(museoId))
 			throw new EntityNotFoundException("MUSEO NOT FOUND");
 
-		Optional<MovimientoArtisticoEntity> movimientoArtisticoEntity = movimientoArtisticoRepository.findById(movimientoArtisticoId);
-		if (movimientoArtisticoEntity.isEmpty())
+		if (!movimientoArtisticoRepository.existsById(movimientoArtisticoId))
 			throw new EntityNotFoundException("MOVIMIENTO ARTISTICO NOT FOUND");
 
-		movimientoArtisticoEntity.get().getMuseos().remove(museoEntity.get());
+		movimientoArtisticoRepository.unlinkMuseo(movimientoArtisticoId, museoId);
+		NativeLinks.refreshIfLoaded(entityManager, MovimientoArtisticoEntity.class, movimientoArtisticoId);
+		NativeLinks.refreshIfLoaded(entityManager, MuseoEntity.class, museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoArtisticoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Finaliza proceso de borrar un museo del movimientoArtistico con id: " + museoId);
 	}
 
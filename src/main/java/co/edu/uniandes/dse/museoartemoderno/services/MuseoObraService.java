@@ -1,9 +1,14 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +27,12 @@ public class MuseoObraService {
 	@Autowired
 	private ObraRepository obraRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private FetchPlanService fetchPlanService;
+
 	@Autowired
 	private MuseoRepository museoRepository;
 	
@@ -47,7 +58,13 @@ public class MuseoObraService {
             if (museoEntity.isEmpty())
                     throw new EntityNotFoundException(museoNotFound);
 
+            MuseoEntity anterior = obraEntity.get().getMuseo();
+            obraEntity.get().setMuseo(museoEntity.get());
             museoEntity.get().getObras().add(obraEntity.get());
+            eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+            eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+            if (anterior != null && !museoId.equals(anterior.getId()))
+                    eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, anterior.getId()));
             log.info("Termina proceso de asociarle una obra al Museo con id: " + museoId);
             return obraEntity.get();
     }
@@ -58,7 +75,7 @@ public class MuseoObraService {
      * @return - Lista de obras asociadas al Museo
      * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ObraEntity> getObras(Long museoId) throws EntityNotFoundException {
             log.info("Inicia proceso de consultar todas la obras del Museo con id: ", museoId);
             Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
@@ -67,6 +84,24 @@ public class MuseoObraService {
             log.info("Finaliza proceso de consultar todos los autores del libro con id: ", museoId);
             return museoEntity.get().getObras();
     }
+
+    /**
+     * Devuelve una pagina de las obras asociadas con un Museo, ordenadas por id
+     * @param museoId - Id del Museo a buscar en las obras
+     * @param after - Id de la ultima obra de la pagina anterior (0 para la primera pagina)
+     * @param limit - Numero maximo de obras a devolver
+     * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+     * @return - Lista de obras asociadas al Museo cuyo id es mayor a after
+     * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
+     */
+    @Transactional(readOnly = true)
+    public List<ObraEntity> getObras(Long museoId, Long after, int limit, Collection<String> paths) throws EntityNotFoundException {
+            log.info("Inicia proceso de consultar una pagina de las obras del Museo con id: " + museoId);
+            if (!museoRepository.existsById(museoId))
+                    throw new EntityNotFoundException(museoNotFound);
+            return fetchPlanService.getPage(ObraEntity.class, "museo", museoId, paths, after, limit);
+    }
+
     
     /**
      * 
@@ -76,21 +111,21 @@ public class MuseoObraService {
      * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
      * @throws IllegalOperationException - Exception que se lanza si no se cumple alguna regla de negocio
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public ObraEntity getObra(Long museoId, Long obraId)
                     throws EntityNotFoundException, IllegalOperationException {
             log.info("Inicia proceso de consultar una obra del Museo con id: " + museoId);
-            Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
-            Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
+            Optional<ObraEntity> obraEntity = obraRepository.findByIdAndMuseoId(obraId, museoId);
+            if (obraEntity.isPresent()) {
+                    log.info("Termina proceso de consultar una obra del Museo con id: " + museoId);
+                    return obraEntity.get();
+            }
 
-            if (obraEntity.isEmpty())
+            if (!obraRepository.existsById(obraId))
                     throw new EntityNotFoundException(obraNotFound);
 
-            if (museoEntity.isEmpty())
+            if (!museoRepository.existsById(museoId))
                     throw new EntityNotFoundException(museoNotFound);
-            log.info("Termina proceso de consultar una obra del Museo con id: " + museoId);
-            if (museoEntity.get().getObras().contains(obraEntity.get()))
-                    return obraEntity.get();
 
             throw new IllegalOperationException("La obra no esta asociada con el Museo");
     }
@@ -109,16 +144,27 @@ public class MuseoObraService {
             if (museoEntity.isEmpty())
                     throw new EntityNotFoundException(museoNotFound);
 
-            for (ObraEntity obra : list) {
-                    Optional<ObraEntity> obraEntity = obraRepository.findById(obra.getId());
-                    if (obraEntity.isEmpty())
-                            throw new EntityNotFoundException(obraNotFound);
-
-                    if (!museoEntity.get().getObras().contains(obraEntity.get()))
-                    		museoEntity.get().getObras().add(obraEntity.get());
-            }
+            List<ObraEntity> obras = BulkAssociations.resolve(obraRepository, list, obraNotFound);
+            // Museos de los que salen las obras: tambien cambian y se registran antes de reasignar
+            Set<Long> anteriores = new HashSet<>();
+            for (ObraEntity obra : obras)
+                    if (obra.getMuseo() != null && !museoId.equals(obra.getMuseo().getId()))
+                            anteriores.add(obra.getMuseo().getId());
+            Set<ObraEntity> cambiados = BulkAssociations.replace(obraRepository.findByMuseoId(museoId), obras,
+                            obra -> obra.setMuseo(museoEntity.get()), obra -> obra.setMuseo(null));
+            eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+            anteriores.forEach(anterior -> eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, anterior)));
+            cambiados.forEach(cambiado -> eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, cambiado.getId())));
+            // Lado inverso: si ya estaba cargado se le aplican solo los cambios
+            if (Hibernate.isInitialized(museoEntity.get().getObras()))
+                    for (ObraEntity cambiado : cambiados) {
+                            if (museoEntity.get().equals(cambiado.getMuseo()))
+                                    museoEntity.get().getObras().add(cambiado);
+                            else
+                                    museoEntity.get().getObras().remove(cambiado);
+                    }
             log.info("Termina proceso de reemplazar las obras del Museo con id: " + museoId);
-            return getObras(museoId);
+            return obras;
     }
     
     /**
@@ -138,7 +184,11 @@ public class MuseoObraService {
             if (museoEntity.isEmpty())
                     throw new EntityNotFoundException(museoNotFound);
 
+            if (museoEntity.get().equals(obraEntity.get().getMuseo()))
+                    obraEntity.get().setMuseo(null);
             museoEntity.get().getObras().remove(obraEntity.get());
+            eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+            eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 
             log.info("Termina proceso de borrar una obra del Museo con id: " + museoId);
     }
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,9 @@ public class MuseoPaisService {
 	@Autowired
 	private PaisRepository paisRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private MuseoRepository museoRepository;
 	
@@ -50,7 +54,12 @@ public class MuseoPaisService {
 		if (paisEntity.isEmpty())
 			throw new EntityNotFoundException(paisNotFound);
 
+		PaisEntity anterior = museoEntity.get().getUbicacion();
 		museoEntity.get().setUbicacion(paisEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+		if (anterior != null && !anterior.getId().equals(paisId))
+			eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, anterior.getId()));
 		log.info("Termina proceso de actualizar el museo con id: ", museoId);
 
 		return museoEntity.get();
@@ -78,6 +87,8 @@ public class MuseoPaisService {
 			museoEntity.get().setUbicacion(null);
 			pais.getMuseos().remove(museoEntity.get());
 		});
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+		paisEntity.ifPresent(pais -> eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, pais.getId())));
 
 		log.info("Termina proceso de borrar el Pais del Museo con id: ", museoId);
 	}
@@ -1,9 +1,11 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,15 @@ public class MuseoService {
 
     @Autowired
     MuseoRepository museoRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    KeyFilters keyFilters;
+
+    @Autowired
+    FetchPlanService fetchPlanService;
     
     
 	/**
@@ -60,30 +71,43 @@ public class MuseoService {
 	/**
 	 * @return Lista de todas las entidades de tipo Museo
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
     public List<MuseoEntity> getMuseos() {
     	log.info("Inicia proceso de consulta de todos los museos");
         log.info("Finaliza proceso de consulta de todos los museos");
     	return museoRepository.findAll();
     }
+
+	/**
+	 * Obtiene una pagina de museos ordenados por id
+	 * @param after - Id del ultimo museo de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de museos a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return Lista con los museos cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<MuseoEntity> getMuseos(Long after, int limit, Collection<String> paths) {
+		log.info("Inicia proceso de consulta de una pagina de museos despues del id: " + after);
+		return fetchPlanService.getPage(MuseoEntity.class, paths, after, limit);
+	}
 	
 	
 	/**
 	 * Encuentra en la base de datos el museo con un id especifico
 	 * @param museoId - Id del museo que se quiere obtener
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return - El museo con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
-	public MuseoEntity getMuseo(Long museoId) throws EntityNotFoundException {
+	@Transactional(readOnly = true)
+	public MuseoEntity getMuseo(Long museoId, Collection<String> paths) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el museo con id: " + museoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
-		
-		if (museoEntity.isEmpty())
-			throw new EntityNotFoundException("MUSEO NOT FOUND");
+		if (!keyFilters.mightContainId(MuseoEntity.class, museoId))
+			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 		
+		MuseoEntity museoEntity = fetchPlanService.getOne(MuseoEntity.class, museoId, paths);
 		log.info("Termina proceso de consultar el museo con id: " + museoId);
-		return museoEntity.get();
+		return museoEntity;
 	}
 	
 	
@@ -99,7 +123,8 @@ public class MuseoService {
 	public MuseoEntity updateMuseo(Long museoId, MuseoEntity museo)
 			throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de actualizar el museo con id: " + museoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
+		Optional<MuseoEntity> museoEntity = keyFilters.mightContainId(MuseoEntity.class, museoId)
+				? museoRepository.findById(museoId) : Optional.empty();
 		
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
@@ -123,8 +148,11 @@ public class MuseoService {
 			throw new IllegalOperationException("Obras is not valid");
 		
 		museo.setId(museoId);
+		museo.setVersion(museoEntity.get().getVersion());
+		MuseoEntity actualizado = museoRepository.save(museo);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Termina proceso de actualizar el museo con id: " + museoId);
-		return museoRepository.save(museo);
+		return actualizado;
 	}
 	
 	/**
@@ -136,12 +164,14 @@ public class MuseoService {
 	@Transactional
 	public void deleteMuseo(Long museoId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de borrar el museo con id: ", museoId);
-		Optional<MuseoEntity> museoEntity = museoRepository.findById(museoId);
+		Optional<MuseoEntity> museoEntity = keyFilters.mightContainId(MuseoEntity.class, museoId)
+				? museoRepository.findById(museoId) : Optional.empty();
 		
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.MUSEO_NOT_FOUND);
 		
 		museoRepository.deleteById(museoId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
 		log.info("Termina proceso de borrar el museo con id: " + museoId);
 	}
 	
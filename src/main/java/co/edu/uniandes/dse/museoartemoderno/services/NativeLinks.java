@@ -0,0 +1,106 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+
+/**
+ * Mantiene el contexto de persistencia al dia despues de las sentencias nativas
+ * que asocian o desasocian dos entidades directamente en la tabla de union.
+ * Esas sentencias no pasan por las colecciones administradas, asi que solo se
+ * refrescan las entidades de la asociacion que ya estaban cargadas en el
+ * contexto; el resto del contexto no se toca y las que no estaban cargadas no
+ * generan ninguna consulta.
+ *
+ * La asociacion se inserta con un MERGE sobre la llave de la tabla de union,
+ * que no hace nada si la fila ya existe. Si otra transaccion inserta la misma
+ * fila al mismo tiempo, el MERGE falla por la llave primaria al confirmarse la
+ * otra; ese error se deshace hasta un savepoint y se toma como exito, porque la
+ * fila queda creada. La sentencia va por JDBC y no por una consulta de
+ * Hibernate o un repositorio, que marcarian la transaccion completa para
+ * rollback con el error.
+ */
+final class NativeLinks {
+
+	private NativeLinks() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Error de H2 para una fila insertada por una transaccion concurrente
+	 */
+	private static final int CONCURRENT_UPDATE = 90131;
+
+	/**
+	 * Asocia dos entidades insertando la fila de la tabla de union si no existe
+	 * @param entityManager - EntityManager de la transaccion actual
+	 * @param table - Tabla de union
+	 * @param column - Columna del id de la primera entidad
+	 * @param id - Id de la primera entidad
+	 * @param otherColumn - Columna del id de la segunda entidad
+	 * @param otherId - Id de la segunda entidad
+	 */
+	static void link(EntityManager entityManager, String table, String column, Long id, String otherColumn, Long otherId) {
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		session.flush();
+		session.doWork(connection -> {
+			Savepoint savepoint = connection.setSavepoint();
+			try (PreparedStatement merge = connection.prepareStatement(
+					"merge into " + table + " (" + column + ", " + otherColumn + ") key (" + column + ", " + otherColumn + ") values (?, ?)")) {
+				merge.setLong(1, id);
+				merge.setLong(2, otherId);
+				merge.executeUpdate();
+			} catch (SQLException e) {
+				if (!alreadyLinked(e))
+					throw e;
+				connection.rollback(savepoint);
+			}
+			connection.releaseSavepoint(savepoint);
+		});
+		evictCollectionsAfterCompletion(session.getFactory(), table);
+	}
+
+	private static boolean alreadyLinked(SQLException e) {
+		return (e.getSQLState() != null && e.getSQLState().startsWith("23")) || e.getErrorCode() == CONCURRENT_UPDATE;
+	}
+
+	/**
+	 * Expulsa del cache de segundo nivel las colecciones guardadas en la tabla de
+	 * union, como lo hace Hibernate con los espacios de una consulta nativa
+	 */
+	private static void evictCollectionsAfterCompletion(SessionFactoryImplementor sessionFactory, String table) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				sessionFactory.getMetamodel().collectionPersisters().values().stream()
+						.filter(persister -> persister.hasCache() && table.equals(((AbstractCollectionPersister) persister).getTableName()))
+						.forEach(persister -> sessionFactory.getCache().evictCollectionData(persister.getRole()));
+			}
+		});
+	}
+
+	/**
+	 * Refresca la entidad dada si ya esta cargada en el contexto de persistencia
+	 * @param entityManager - EntityManager de la transaccion actual
+	 * @param type - Tipo de la entidad
+	 * @param id - Id de la entidad
+	 */
+	static void refreshIfLoaded(EntityManager entityManager, Class<? extends BaseEntity> type, Long id) {
+		BaseEntity reference = entityManager.getReference(type, id);
+		if (Hibernate.isInitialized(reference))
+			entityManager.refresh(reference);
+	}
+}
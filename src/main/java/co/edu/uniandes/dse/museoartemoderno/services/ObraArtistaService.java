@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,9 @@ public class ObraArtistaService {
 	@Autowired
 	private ObraRepository obraRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private ArtistaRepository artistaRepository;
 	
@@ -48,6 +52,8 @@ public class ObraArtistaService {
 			throw new EntityNotFoundException("Artista no encontado.");
 		
 		(obraEntity.get()).setArtista(artistaEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, artistaId));
 		log.info("Termina proceso de asociar un artista a la obra con id = {0}", obraId);
 		return artistaEntity.get();
 	}
@@ -58,7 +64,7 @@ public class ObraArtistaService {
 	 * @param obraId Identificador de la instancia de obra
 	 * @return Artista asociado a la obra dado su id
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public ArtistaEntity getArtista(Long obraId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el artista de la obra con id = {0}", obraId);
 		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
@@ -82,7 +88,10 @@ public class ObraArtistaService {
 			throw new EntityNotFoundException("Ninguna obra fue encontrada con el id dado.");
 
 
+		if (obraEntity.get().getArtista() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, obraEntity.get().getArtista().getId()));
 		obraEntity.get().setArtista(null);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
 		log.info("Finaliza proceso de borrar el artista de la obra con id = {0}", obraId);
 	}
 
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,9 @@ public class ObraMovimientoArtisticoService {
 	@Autowired
 	private ObraRepository obraRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private MovimientoArtisticoRepository movRepository;
 	
@@ -48,6 +52,8 @@ public class ObraMovimientoArtisticoService {
 			throw new EntityNotFoundException("Movimiento artistico no encontado.");
 		
 		(obraEntity.get()).setMovimiento(movEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, movimientoId));
 		log.info("Termina proceso de asociar un movimiento artistico a la obra con id = {0}", obraId);
 		return movEntity.get();
 	}
@@ -58,7 +64,7 @@ public class ObraMovimientoArtisticoService {
 	 * @param obraId Identificador de la instancia de obra
 	 * @return Movimiento Artistico asociada a la obra dado su id
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MovimientoArtisticoEntity getMovimientoArtistico(Long obraId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar un movimiento artistico de la obra con id = {0}", obraId);
 		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
@@ -82,7 +88,10 @@ public class ObraMovimientoArtisticoService {
 			throw new EntityNotFoundException("Ninguna obra fue encontrada con el id dado.");
 
 
+		if (obraEntity.get().getMovimiento() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, obraEntity.get().getMovimiento().getId()));
 		obraEntity.get().setMovimiento(null);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
 		log.info("Finaliza proceso de borrar el movimiento artistico de la obra con id = {0}", obraId);
 	}
 
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.museoartemoderno.services;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,9 @@ public class ObraMuseoService {
 	@Autowired
 	private ObraRepository obraRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Autowired
 	private MuseoRepository museoRepository;
 	
@@ -47,7 +51,12 @@ public class ObraMuseoService {
 		if (museoEntity.isEmpty())
 			throw new EntityNotFoundException("Museo no encontado.");
 		
+		MuseoEntity anterior = obraEntity.get().getMuseo();
 		obraEntity.get().setMuseo(museoEntity.get());
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
+		eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, museoId));
+		if (anterior != null && !museoId.equals(anterior.getId()))
+			eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, anterior.getId()));
 		log.info("Termina proceso de asociar un museo a la obra con id = {0}", obraId);
 		return museoEntity.get();
 	}
@@ -58,7 +67,7 @@ public class ObraMuseoService {
 	 * @param obraId Identificador de la instancia de obra
 	 * @return Museo asociada a la obra dado su id
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public MuseoEntity getMuseo(Long obraId) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el museo de la obra con id = {0}", obraId);
 		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
@@ -84,7 +93,10 @@ public class ObraMuseoService {
 			throw new EntityNotFoundException("Ninguna obra fue encontrada con el id dado.");
 
 
+		if (obraEntity.get().getMuseo() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, obraEntity.get().getMuseo().getId()));
 		obraEntity.get().setMuseo(null);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
 		log.info("Finaliza proceso de borrar un museo de la obra con id = {0}", obraId);
 	}
 
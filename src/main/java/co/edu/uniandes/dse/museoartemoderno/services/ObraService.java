@@ -1,10 +1,12 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,12 @@ public class ObraService {
 
     @Autowired
     private ObraRepository obraRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FetchPlanService fetchPlanService;
     
     
 	/**
@@ -44,37 +52,50 @@ public class ObraService {
 		if ((obraEntity.getFechaPublicacion()).after(new Date()))
 			throw new IllegalOperationException("La fecha de publicación no es válida.");
 	
+		ObraEntity obra = obraRepository.save(obraEntity);
+		publishCambios(obra);
 		log.info("Termina el proceso de creación de la Obra");
-		return obraRepository.save(obraEntity);
+		return obra;
 	}
     
     
 	/**
 	 * @return Lista de todas las entidades de tipo Obra
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
     public List<ObraEntity> getAllObras() {
     	log.info("Inicia proceso de consulta de todas las obras");
     	return obraRepository.findAll();
     }
+
+	/**
+	 * Obtiene una pagina de obras ordenadas por id
+	 * @param after - Id de la ultima obra de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de obras a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return Lista con las obras cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<ObraEntity> getAllObras(Long after, int limit, Collection<String> paths) {
+		log.info("Inicia proceso de consulta de una pagina de obras despues del id: " + after);
+		return fetchPlanService.getPage(ObraEntity.class, paths, after, limit);
+	}
+
 	
 	
 	/**
 	 * Encuentra en la base de datos la Obra con un id especifico
 	 * @param obraId - Id de la obra que se quiere obtener
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return - La obra con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
-	public ObraEntity getObra(Long obraId) throws EntityNotFoundException {
+	@Transactional(readOnly = true)
+	public ObraEntity getObra(Long obraId, Collection<String> paths) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar la obra con id: " + obraId);
-		Optional<ObraEntity> obraEntity = obraRepository.findById(obraId);
-		
-		if (obraEntity.isEmpty())
-			throw new EntityNotFoundException("No encontró ninguna obra con el ID dado. ");
-		
+		ObraEntity obraEntity = fetchPlanService.getOne(ObraEntity.class, obraId, paths);
 		log.info("Termina proceso de consultar la obra con id: " + obraId);
-		return obraEntity.get();
+		return obraEntity;
 	}
 	
 	/**
@@ -95,8 +116,11 @@ public class ObraService {
 			throw new EntityNotFoundException("No se encontró ninguna obra con el ID dado. ");
 
 		obra.setId(obraId);
+		obra.setVersion(obraEntity.get().getVersion());
+		ObraEntity actualizada = obraRepository.save(obra);
+		publishCambios(actualizada);
 		log.info("Termina proceso de actualizar la obra con id: " + obraId);
-		return obraRepository.save(obra);
+		return actualizada;
 	}
 	
 	/**
@@ -128,8 +152,22 @@ public class ObraService {
 
 		
 		obraRepository.deleteById(obraId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obraId));
 		log.info("Termina proceso de borrar la Obra con id: " + obraId);
 	}
-	
-	
-}
\ No newline at end of file
+
+	/**
+	 * Publica el cambio de la obra y de los recursos a los que apunta, cuyas
+	 * respuestas de detalle incluyen la obra
+	 * @param obra - Obra que cambio
+	 */
+	private void publishCambios(ObraEntity obra) {
+		eventPublisher.publishEvent(new ResourceChangedEvent(ObraEntity.class, obra.getId()));
+		if (obra.getMuseo() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(MuseoEntity.class, obra.getMuseo().getId()));
+		if (obra.getArtista() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, obra.getArtista().getId()));
+		if (obra.getMovimiento() != null)
+			eventPublisher.publishEvent(new ResourceChangedEvent(MovimientoArtisticoEntity.class, obra.getMovimiento().getId()));
+	}
+}
@@ -1,14 +1,17 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
 import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.museoartemoderno.exceptions.IllegalOperationException;
 import co.edu.uniandes.dse.museoartemoderno.repositories.PaisRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +21,15 @@ import lombok.extern.slf4j.Slf4j;
 public class PaisService {
 	@Autowired
 	PaisRepository paisRepository;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	KeyFilters keyFilters;
+
+	@Autowired
+	FetchPlanService fetchPlanService;
 	
 	/**
 	 * Crea un pais
@@ -54,28 +66,41 @@ public class PaisService {
 	 *
 	 * @return Colección de objetos de PaisEntity.
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public List<PaisEntity> getPaises() {
 		log.info("Inicia proceso de consultar todos los paises");
 		return paisRepository.findAll();
 	}
+
+	/**
+	 * Obtiene una pagina de paises ordenados por id
+	 * @param after - Id del ultimo pais de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de paises a devolver
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
+	 * @return Lista con los paises cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<PaisEntity> getPaises(Long after, int limit, Collection<String> paths) {
+		log.info("Inicia proceso de consultar una pagina de paises despues del id: " + after);
+		return fetchPlanService.getPage(PaisEntity.class, paths, after, limit);
+	}
 	
 	/**
 	 * Encuentra en la base de datos el pais con un id especifico
 	 * @param paisID - Id del pais que se quiere obtener
+	 * @param paths - Rutas de las asociaciones a cargar (ver FetchPlanService)
 	 * @return - El pais con el id dado por parametro
 	 * @throws EntityNotFoundException - Exception que se lanza si no se encuentra la entidad
 	 */
-	@Transactional
-	public PaisEntity getPais(Long paisId) throws EntityNotFoundException {
+	@Transactional(readOnly = true)
+	public PaisEntity getPais(Long paisId, Collection<String> paths) throws EntityNotFoundException {
 		log.info("Inicia proceso de consultar el pais con id: " + paisId);
-		Optional<PaisEntity> paisEntity = paisRepository.findById(paisId);
-		
-		if (paisEntity.isEmpty())
-			throw new EntityNotFoundException("PAIS NOT FOUND");
+		if (!keyFilters.mightContainId(PaisEntity.class, paisId))
+			throw new EntityNotFoundException(ErrorMessage.PAIS_NOT_FOUND);
 		
+		PaisEntity paisEntity = fetchPlanService.getOne(PaisEntity.class, paisId, paths);
 		log.info("Termina proceso de consultar el pais con id: " + paisId);
-		return paisEntity.get();
+		return paisEntity;
 	}
 	
 	/**
@@ -89,7 +114,8 @@ public class PaisService {
 	@Transactional
 	public PaisEntity updatePais(Long paisId, PaisEntity pais) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de actualizar el pais con id = ", paisId);
-		Optional<PaisEntity> paisEntity = paisRepository.findById(paisId);
+		Optional<PaisEntity> paisEntity = keyFilters.mightContainId(PaisEntity.class, paisId)
+				? paisRepository.findById(paisId) : Optional.empty();
 		
 		if (!validateNombre(pais.getNombrePais()))
 		{
@@ -104,18 +130,23 @@ public class PaisService {
 		
 		log.info("Termina proceso de actualizar el pais con id = ", paisId);
 		pais.setId(paisId);
-		return paisRepository.save(pais);
+		pais.setVersion(paisEntity.get().getVersion());
+		PaisEntity actualizado = paisRepository.save(pais);
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
+		return actualizado;
 	}
 	
 	@Transactional
 	public void deletePais(Long paisId) throws EntityNotFoundException, IllegalOperationException {
 		log.info("Inicia proceso de borrar el pais con id: ", paisId);
-		Optional<PaisEntity> paisEntity = paisRepository.findById(paisId);
+		Optional<PaisEntity> paisEntity = keyFilters.mightContainId(PaisEntity.class, paisId)
+				? paisRepository.findById(paisId) : Optional.empty();
 		
 		if (paisEntity.isEmpty())
 			throw new EntityNotFoundException("PAIS NOT FOUND");
 		
 		paisRepository.deleteById(paisId);
+		eventPublisher.publishEvent(new ResourceChangedEvent(PaisEntity.class, paisId));
 		log.info("Termina proceso de borrar el pais con id: " + paisId);
 	}
 	
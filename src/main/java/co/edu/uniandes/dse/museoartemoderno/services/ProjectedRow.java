@@ -0,0 +1,27 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.Map;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import lombok.Value;
+
+/**
+ * Fila leida con solo algunas columnas de una entidad (ver ProjectionService)
+ */
+@Value
+public class ProjectedRow {
+
+	/**
+	 * Tipo de la entidad
+	 */
+	Class<? extends BaseEntity> type;
+
+	Long id;
+
+	Long version;
+
+	/**
+	 * Valor de cada columna pedida, por el nombre con el que se pidio
+	 */
+	Map<String, Object> values;
+}
@@ -0,0 +1,74 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consultas que leen solo algunas columnas de una entidad, para las respuestas
+ * que piden pocos campos (?fields=). El SELECT incluye solo esas columnas (mas
+ * el id y la version, que necesitan el cursor y el ETag), sin joins ni
+ * entidades administradas.
+ */
+@Slf4j
+@Service
+public class ProjectionService {
+
+	private static final String ID = "id";
+
+	private static final String VERSION = "version";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Obtiene una pagina de filas de una entidad ordenadas por id con solo las columnas pedidas
+	 * @param type - Tipo de la entidad
+	 * @param columns - Atributo basico de la entidad que se lee para cada nombre de columna
+	 * @param after - Id de la ultima fila de la pagina anterior (0 para la primera pagina)
+	 * @param limit - Numero maximo de filas a devolver
+	 * @return Lista con las filas cuyo id es mayor a after
+	 */
+	@Transactional(readOnly = true)
+	public List<ProjectedRow> getRows(Class<? extends BaseEntity> type, Map<String, String> columns, Long after, int limit) {
+		log.info("Inicia proceso de consulta de las columnas {} de {} despues del id: {}", columns.values(), type.getSimpleName(), after);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<? extends BaseEntity> root = query.from(type);
+
+		Set<String> attributes = new LinkedHashSet<>();
+		attributes.add(ID);
+		attributes.add(VERSION);
+		attributes.addAll(columns.values());
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String attribute : attributes)
+			selections.add(root.get(attribute).alias(attribute));
+		query.multiselect(selections).where(builder.greaterThan(root.<Long>get(ID), after)).orderBy(builder.asc(root.get(ID)));
+
+		List<ProjectedRow> rows = new ArrayList<>();
+		for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+			Map<String, Object> values = new LinkedHashMap<>();
+			for (Map.Entry<String, String> column : columns.entrySet())
+				values.put(column.getKey(), tuple.get(column.getValue()));
+			rows.add(new ProjectedRow(type, tuple.get(ID, Long.class), tuple.get(VERSION, Long.class), values));
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,43 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import lombok.Value;
+
+/**
+ * Evento que publican los servicios cuando crean, modifican o eliminan un
+ * recurso, o cuando cambian alguna de sus asociaciones (en ese caso se publica
+ * un evento por cada extremo de la asociacion). Los caches de respuestas lo
+ * escuchan para invalidar las entradas que dependen del recurso.
+ *
+ * Los cambios hechos por otras instancias llegan por el InvalidationBus y se
+ * vuelven a publicar localmente con remote en true: invalidan los caches de
+ * esta instancia pero no cambian la base de datos ni se reenvian.
+ */
+@Value
+public class ResourceChangedEvent {
+
+	/**
+	 * Tipo de la entidad que cambio
+	 */
+	Class<? extends BaseEntity> type;
+
+	/**
+	 * Id de la entidad que cambio
+	 */
+	Long id;
+
+	/**
+	 * true si el cambio lo hizo otra instancia
+	 */
+	boolean remote;
+
+	public ResourceChangedEvent(Class<? extends BaseEntity> type, Long id) {
+		this(type, id, false);
+	}
+
+	public ResourceChangedEvent(Class<? extends BaseEntity> type, Long id, boolean remote) {
+		this.type = type;
+		this.id = id;
+		this.remote = remote;
+	}
+}
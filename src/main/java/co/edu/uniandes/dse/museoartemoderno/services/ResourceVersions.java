@@ -0,0 +1,117 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene la columna version de los recursos: cada ResourceChangedEvent que
+ * publica un servicio aumenta en la misma transaccion la version del recurso
+ * que cambio. Como los servicios publican un evento por cada extremo de una
+ * asociacion, los cambios de asociaciones tambien cambian la version. Los
+ * cambios de otras instancias ya aumentaron la version alla y se ignoran.
+ *
+ * La version se aumenta con una sola sentencia atomica sobre la fila
+ * (version = version + 1), de modo que dos escrituras concurrentes del mismo
+ * recurso dejan versiones distintas. La sentencia va por JDBC en la conexion
+ * de la transaccion para que Hibernate no invalide la region completa del
+ * cache de segundo nivel: despues se copia la version nueva a la instancia
+ * administrada (si esta cargada) y, al terminar la transaccion, se expulsa del
+ * cache solo la entrada de ese recurso. La entidad nunca escribe la columna
+ * (ver BaseEntity), asi que el UPDATE normal no la pisa.
+ */
+@Slf4j
+@Component
+public class ResourceVersions {
+
+	private static final String VERSION = "version";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Aumenta la version del recurso que cambio
+	 * @param event - Evento publicado por el servicio que hizo el cambio
+	 */
+	@EventListener
+	@Transactional
+	public void onResourceChanged(ResourceChangedEvent event) {
+		if (event.isRemote())
+			return;
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactory.class)
+				.unwrap(SessionFactoryImplementor.class);
+		AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(event.getType());
+		String table = persister.getTableName();
+		String id = persister.getKeyColumnNames()[0];
+		String version = persister.getPropertyColumnNames(VERSION)[0];
+
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		BaseEntity entity = managed(session, persister, event.getId());
+		Long current = increment(session, table, id, version, event.getId());
+		if (current == null && entity != null) {
+			// El INSERT del recurso sigue pendiente del flush: se envia y se aumenta sobre la fila
+			session.flush();
+			current = increment(session, table, id, version, event.getId());
+		}
+		if (entity != null && current != null)
+			entity.setVersion(current);
+		evictAfterCompletion(sessionFactory, event);
+		log.debug("Nueva version de {} {}: {}", event.getType().getSimpleName(), event.getId(), current);
+	}
+
+	private static BaseEntity managed(SessionImplementor session, AbstractEntityPersister persister, Long id) {
+		Object entity = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+		if (entity == null || session.getPersistenceContext().getEntry(entity).getStatus() != Status.MANAGED)
+			return null;
+		return (BaseEntity) entity;
+	}
+
+	private static Long increment(SessionImplementor session, String table, String id, String version, Long key) {
+		return session.doReturningWork(connection -> {
+			try (PreparedStatement update = connection
+					.prepareStatement("update " + table + " set " + version + " = " + version + " + 1 where " + id + " = ?")) {
+				update.setLong(1, key);
+				if (update.executeUpdate() == 0)
+					return null;
+			}
+			try (PreparedStatement select = connection.prepareStatement("select " + version + " from " + table + " where " + id + " = ?")) {
+				select.setLong(1, key);
+				try (ResultSet result = select.executeQuery()) {
+					return result.next() ? result.getLong(1) : null;
+				}
+			}
+		});
+	}
+
+	private static void evictAfterCompletion(SessionFactoryImplementor sessionFactory, ResourceChangedEvent event) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				sessionFactory.getCache().evictEntityData(event.getType(), event.getId());
+			}
+		});
+	}
+}
@@ -0,0 +1,47 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expulsa del cache de segundo nivel de Hibernate las entidades que cambiaron
+ * en otra instancia, junto con sus colecciones. Los cambios locales no pasan
+ * por aqui: Hibernate ya mantiene el cache en las escrituras de esta instancia.
+ */
+@Slf4j
+@Component
+public class SecondLevelCacheInvalidation {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Expulsa la entidad y sus colecciones si el cambio viene de otra instancia
+	 * @param event - Cambio recibido por el InvalidationBus
+	 */
+	@EventListener
+	public void onResourceChanged(ResourceChangedEvent event) {
+		if (!event.isRemote())
+			return;
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactory.class)
+				.unwrap(SessionFactoryImplementor.class);
+		EntityPersister persister = sessionFactory.getMetamodel().entityPersister(event.getType());
+		Cache cache = sessionFactory.getCache();
+		cache.evictEntityData(event.getType(), event.getId());
+		for (Type type : persister.getPropertyTypes())
+			if (type instanceof CollectionType)
+				cache.evictCollectionData(((CollectionType) type).getRole(), event.getId());
+		log.debug("Se expulso del cache de segundo nivel {} {}", event.getType().getSimpleName(), event.getId());
+	}
+}
@@ -0,0 +1,167 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrupa las lecturas identicas concurrentes: la primera llamada con una llave
+ * hace el trabajo y las que llegan mientras esta en curso esperan su resultado
+ * (o su excepcion) en lugar de repetir la consulta. La espera esta acotada; si
+ * se agota, la llamada hace el trabajo por su cuenta.
+ *
+ * Solo se deben agrupar resultados que se puedan compartir entre hilos, como
+ * proyecciones o respuestas ya serializadas: las entidades pertenecen al
+ * contexto de persistencia de la peticion que las cargo. Cuando una transaccion
+ * confirma un cambio (ResourceChangedEvent), las llamadas nuevas ya no se unen
+ * a las lecturas que empezaron antes del cambio.
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+	/**
+	 * Lectura que se puede agrupar
+	 */
+	@FunctionalInterface
+	public interface Call<T, X extends Exception> {
+		T call() throws X;
+	}
+
+	private final long maxWaitMillis;
+
+	private final int maxTrackedKeys;
+
+	private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+	private final Map<String, Metrics> metrics;
+
+	/**
+	 * Aumenta con cada cambio confirmado
+	 */
+	private final AtomicLong epoch = new AtomicLong();
+
+	public SingleFlight(@Value("${museoartemoderno.single-flight.max-wait-ms:2000}") long maxWaitMillis,
+			@Value("${museoartemoderno.single-flight.max-tracked-keys:1000}") int maxTrackedKeys) {
+		this.maxWaitMillis = maxWaitMillis;
+		this.maxTrackedKeys = maxTrackedKeys;
+		this.metrics = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Ejecuta la lectura o se une a la que ya esta en curso con la misma llave
+	 * @param key - Llave que identifica la lectura (operacion y parametros)
+	 * @param call - Lectura a ejecutar
+	 * @return - Resultado de la lectura
+	 * @throws X - Excepcion de la lectura, tambien para las llamadas que se unieron a ella
+	 */
+	@SuppressWarnings("unchecked")
+	public <T, X extends Exception> T execute(String key, Call<T, X> call) throws X {
+		long current = epoch.get();
+		Flight own = new Flight(current);
+		Flight flight = flights.compute(key, (k, existing) -> existing != null && existing.epoch == current ? existing : own);
+
+		if (flight == own) {
+			metrics(key).executions.increment();
+			try {
+				T result = call.call();
+				own.result.complete(result);
+				return result;
+			} catch (Exception | Error e) {
+				own.result.completeExceptionally(e);
+				throw e;
+			} finally {
+				flights.remove(key, own);
+			}
+		}
+
+		metrics(key).coalesced.increment();
+		log.debug("Lectura agrupada con la que esta en curso: {}", key);
+		try {
+			return (T) flight.result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			metrics(key).timeouts.increment();
+			log.warn("Se agoto la espera de {} ms por la lectura {}, se ejecuta por separado", maxWaitMillis, key);
+			return call.call();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Se interrumpio la espera de la lectura " + key, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw (X) cause;
+		}
+	}
+
+	/**
+	 * Devuelve una copia de las metricas de las llaves usadas mas recientemente
+	 * (publicadas en GET /single-flight/metrics, ver SingleFlightController)
+	 * @return - Metricas por llave
+	 */
+	public synchronized Map<String, Metrics> getMetrics() {
+		return new HashMap<>(metrics);
+	}
+
+	/**
+	 * Evita que las llamadas nuevas se unan a lecturas que empezaron antes de un cambio confirmado
+	 * @param event - Evento publicado por el servicio que hizo el cambio
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onResourceChanged(ResourceChangedEvent event) {
+		epoch.incrementAndGet();
+	}
+
+	private synchronized Metrics metrics(String key) {
+		Metrics keyMetrics = metrics.computeIfAbsent(key, k -> new Metrics());
+		if (metrics.size() > maxTrackedKeys)
+			metrics.remove(metrics.keySet().iterator().next());
+		return keyMetrics;
+	}
+
+	/**
+	 * Contadores de una llave: lecturas ejecutadas, llamadas que se unieron a
+	 * una lectura en curso y esperas que se agotaron
+	 */
+	public static final class Metrics {
+		private final LongAdder executions = new LongAdder();
+		private final LongAdder coalesced = new LongAdder();
+		private final LongAdder timeouts = new LongAdder();
+
+		public long getExecutions() {
+			return executions.sum();
+		}
+
+		public long getCoalesced() {
+			return coalesced.sum();
+		}
+
+		public long getTimeouts() {
+			return timeouts.sum();
+		}
+	}
+
+	private static final class Flight {
+		private final long epoch;
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		private Flight(long epoch) {
+			this.epoch = epoch;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+-- Esquema inicial del museo, equivalente al que generaba Hibernate con ddl-auto.
+
+create sequence artista_entity_seq start with 1 increment by 50;
+create sequence ciudad_entity_seq start with 1 increment by 50;
+create sequence comentario_entity_seq start with 1 increment by 50;
+create sequence empleado_entity_seq start with 1 increment by 50;
+create sequence movimiento_artistico_entity_seq start with 1 increment by 50;
+create sequence museo_entity_seq start with 1 increment by 50;
+create sequence obra_entity_seq start with 1 increment by 50;
+create sequence pais_entity_seq start with 1 increment by 50;
+
+create table pais_entity (
+    id bigint not null,
+    coordenadas_pais varchar(255),
+    imagen varchar(255),
+    nombre_pais varchar(255),
+    primary key (id)
+);
+
+create table ciudad_entity (
+    id bigint not null,
+    coordenadas_ciudad varchar(255),
+    imagen varchar(255),
+    nombre_ciudad varchar(255),
+    pais_id bigint,
+    primary key (id),
+    constraint fk_ciudad_pais foreign key (pais_id) references pais_entity
+);
+
+create table museo_entity (
+    id bigint not null,
+    direccion varchar(255),
+    img varchar(255),
+    nombre varchar(255),
+    total_obras_exhibidas integer,
+    ubicacion_id bigint,
+    primary key (id),
+    constraint fk_museo_ubicacion foreign key (ubicacion_id) references pais_entity
+);
+
+create table artista_entity (
+    id bigint not null,
+    fecha_fallecimiento date,
+    fecha_nacimiento date,
+    imagen varchar(255),
+    nombre varchar(255),
+    lugar_fallecimiento_id bigint,
+    lugar_nacimiento_id bigint,
+    primary key (id),
+    constraint fk_artista_lugar_fallecimiento foreign key (lugar_fallecimiento_id) references pais_entity,
+    constraint fk_artista_lugar_nacimiento foreign key (lugar_nacimiento_id) references pais_entity
+);
+
+create table movimiento_artistico_entity (
+    id bigint not null,
+    descripcion varchar(255),
+    fecha_apogeo date,
+    imagen varchar(255),
+    nombre varchar(255),
+    lugar_origen_id bigint,
+    primary key (id),
+    constraint fk_movimiento_lugar_origen foreign key (lugar_origen_id) references pais_entity
+);
+
+create table obra_entity (
+    id bigint not null,
+    descripcion varchar(255),
+    fecha_publicacion date,
+    imagen varchar(255),
+    nombre varchar(255),
+    tipo varchar(255),
+    artista_id bigint,
+    movimiento_id bigint,
+    museo_id bigint,
+    primary key (id),
+    constraint fk_obra_artista foreign key (artista_id) references artista_entity,
+    constraint fk_obra_movimiento foreign key (movimiento_id) references movimiento_artistico_entity,
+    constraint fk_obra_museo foreign key (museo_id) references museo_entity
+);
+
+create table comentario_entity (
+    id bigint not null,
+    calificacion varchar(255),
+    contenido varchar(255),
+    fecha_publicacion date,
+    obra_id bigint,
+    primary key (id),
+    constraint fk_comentario_obra foreign key (obra_id) references obra_entity
+);
+
+create table empleado_entity (
+    id bigint not null,
+    barrio varchar(255),
+    direccion varchar(255),
+    fecha_nacimiento date,
+    imagen varchar(255),
+    nombre varchar(255),
+    lugar_nacimiento_id bigint,
+    museo_id bigint,
+    primary key (id),
+    constraint fk_empleado_lugar_nacimiento foreign key (lugar_nacimiento_id) references pais_entity,
+    constraint fk_empleado_museo foreign key (museo_id) references museo_entity
+);
+
+create table artista_entity_museos (
+    artistas_id bigint not null,
+    museos_id bigint not null,
+    primary key (artistas_id, museos_id),
+    constraint fk_artista_museos_artista foreign key (artistas_id) references artista_entity,
+    constraint fk_artista_museos_museo foreign key (museos_id) references museo_entity
+);
+
+create table artista_entity_movimientos (
+    artistas_id bigint not null,
+    movimientos_id bigint not null,
+    primary key (artistas_id, movimientos_id),
+    constraint fk_artista_movimientos_artista foreign key (artistas_id) references artista_entity,
+    constraint fk_artista_movimientos_movimiento foreign key (movimientos_id) references movimiento_artistico_entity
+);
+
+create table movimiento_artistico_entity_museos (
+    movimientos_id bigint not null,
+    museos_id bigint not null,
+    primary key (movimientos_id, museos_id),
+    constraint fk_movimiento_museos_movimiento foreign key (movimientos_id) references movimiento_artistico_entity,
+    constraint fk_movimiento_museos_museo foreign key (museos_id) references museo_entity
+);
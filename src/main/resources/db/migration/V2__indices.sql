@@ -0,0 +1,30 @@
+-- Indices para las busquedas por nombre y para cada camino de join que usan los servicios.
+-- Los indices sobre llaves foraneas incluyen el id para servir tambien la paginacion por cursor
+-- (fk = ? and id > ? order by id).
+
+-- Busquedas por atributo (validaciones de unicidad de los servicios)
+create index ix_artista_nombre on artista_entity (nombre);
+create unique index ux_museo_nombre on museo_entity (nombre);
+create index ix_empleado_nombre on empleado_entity (nombre);
+create index ix_pais_nombre_pais on pais_entity (nombre_pais);
+create index ix_pais_coordenadas_pais on pais_entity (coordenadas_pais);
+create unique index ux_ciudad_nombre_ciudad on ciudad_entity (nombre_ciudad);
+create unique index ux_ciudad_coordenadas_ciudad on ciudad_entity (coordenadas_ciudad);
+
+-- Llaves foraneas
+create index ix_obra_museo on obra_entity (museo_id, id);
+create index ix_obra_artista on obra_entity (artista_id, id);
+create index ix_obra_movimiento on obra_entity (movimiento_id, id);
+create index ix_empleado_museo on empleado_entity (museo_id, id);
+create index ix_empleado_lugar_nacimiento on empleado_entity (lugar_nacimiento_id);
+create index ix_comentario_obra on comentario_entity (obra_id, id);
+create index ix_ciudad_pais on ciudad_entity (pais_id, id);
+create index ix_museo_ubicacion on museo_entity (ubicacion_id);
+create index ix_artista_lugar_nacimiento on artista_entity (lugar_nacimiento_id);
+create index ix_artista_lugar_fallecimiento on artista_entity (lugar_fallecimiento_id);
+create index ix_movimiento_lugar_origen on movimiento_artistico_entity (lugar_origen_id);
+
+-- Lado inverso de las tablas de join (la llave primaria ya cubre el lado dueno)
+create index ix_artista_museos_museo on artista_entity_museos (museos_id, artistas_id);
+create index ix_artista_movimientos_movimiento on artista_entity_movimientos (movimientos_id, artistas_id);
+create index ix_movimiento_museos_museo on movimiento_artistico_entity_museos (museos_id, movimientos_id);
@@ -0,0 +1,10 @@
+-- Version de cada recurso: aumenta con cada cambio del recurso o de sus asociaciones
+-- y se usa para calcular los ETag de las respuestas GET.
+alter table pais_entity add column version bigint default 0 not null;
+alter table ciudad_entity add column version bigint default 0 not null;
+alter table museo_entity add column version bigint default 0 not null;
+alter table artista_entity add column version bigint default 0 not null;
+alter table movimiento_artistico_entity add column version bigint default 0 not null;
+alter table obra_entity add column version bigint default 0 not null;
+alter table comentario_entity add column version bigint default 0 not null;
+alter table empleado_entity add column version bigint default 0 not null;
@@ -0,0 +1,7 @@
+-- Latido que escribe la instancia en la base primaria y lee en cada replica
+-- para medir cuanto atraso tiene la replica (ver ReplicaLagMonitor).
+create table replica_heartbeat (
+	id int primary key,
+	beat bigint not null
+);
+insert into replica_heartbeat (id, beat) values (1, 0);
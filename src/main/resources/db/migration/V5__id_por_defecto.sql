@@ -0,0 +1,17 @@
+-- Id por defecto de cada tabla: la siguiente valor de su secuencia, para que los
+-- INSERT sin id (scripts de datos en sql/) no fallen.
+--
+-- Las secuencias avanzan de a 50 y Hibernate usa cada valor como el inicio de
+-- un bloque de 50 ids (optimizador pooled-lo, ver BaseEntity). Una fila que
+-- toma un valor de la secuencia usa el inicio de un bloque que Hibernate nunca
+-- recibe, asi que no hay choques. Los scripts de datos cambian el incremento a 1
+-- mientras insertan (para que los ids queden consecutivos, como esperan sus
+-- llaves foraneas) y lo devuelven a 50 al terminar.
+alter table pais_entity alter column id set default next value for pais_entity_seq;
+alter table ciudad_entity alter column id set default next value for ciudad_entity_seq;
+alter table museo_entity alter column id set default next value for museo_entity_seq;
+alter table artista_entity alter column id set default next value for artista_entity_seq;
+alter table movimiento_artistico_entity alter column id set default next value for movimiento_artistico_entity_seq;
+alter table obra_entity alter column id set default next value for obra_entity_seq;
+alter table comentario_entity alter column id set default next value for comentario_entity_seq;
+alter table empleado_entity alter column id set default next value for empleado_entity_seq;
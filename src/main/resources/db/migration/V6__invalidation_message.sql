@@ -0,0 +1,10 @@
+-- Mensajes del JdbcInvalidationBus: cada instancia inserta aqui sus lotes de
+-- cambios y lee periodicamente los de las demas. Las filas se borran cuando
+-- pasan el tiempo de retencion.
+create table invalidation_message (
+	id bigint auto_increment primary key,
+	channel varchar(255) not null,
+	created bigint not null,
+	payload clob not null
+);
+create index idx_invalidation_message_channel_created on invalidation_message (channel, created);
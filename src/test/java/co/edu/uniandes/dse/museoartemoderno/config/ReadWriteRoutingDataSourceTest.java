@@ -0,0 +1,209 @@
+package co.edu.uniandes.dse.museoartemoderno.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.ResourceChangedEvent;
+
+/**
+ * Prueba el enrutamiento de lecturas y escrituras con una primaria H2 en
+ * memoria, una replica al dia (la misma base abierta por otro pool) y una
+ * replica atrasada (otra base con un latido viejo).
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+	private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+
+	private static final String LAGGING_URL = "jdbc:h2:mem:routing-lagging;DB_CLOSE_DELAY=-1";
+
+	private HikariDataSource primary;
+
+	private HikariDataSource inSync;
+
+	private HikariDataSource lagging;
+
+	private ReplicaLagMonitor monitor;
+
+	private ReadWriteRoutingDataSource routing;
+
+	private TransactionTemplate write;
+
+	private TransactionTemplate read;
+
+	@BeforeEach
+	void setUp() {
+		primary = pool("primary", PRIMARY_URL, false);
+		inSync = pool("replica-1", PRIMARY_URL, true);
+		lagging = pool("replica-2", LAGGING_URL, false);
+		for (DataSource dataSource : new DataSource[] { primary, lagging }) {
+			JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+			jdbc.execute("create table replica_heartbeat (id int primary key, beat bigint not null)");
+			jdbc.execute("insert into replica_heartbeat (id, beat) values (1, 0)");
+		}
+		new JdbcTemplate(primary).execute("create table museo (id bigint primary key, nombre varchar(255))");
+
+		Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", inSync);
+		replicas.put("replica-2", lagging);
+		monitor = new ReplicaLagMonitor(primary, new LinkedHashMap<String, DataSource>(replicas), 5000);
+		routing = new ReadWriteRoutingDataSource(primary, replicas, monitor);
+		routing.afterPropertiesSet();
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routing));
+		write = new TransactionTemplate(transactionManager);
+		read = new TransactionTemplate(transactionManager);
+		read.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		monitor.close();
+		for (DataSource dataSource : new DataSource[] { primary, lagging })
+			new JdbcTemplate(dataSource).execute("drop all objects");
+		routing.close();
+		primary.close();
+	}
+
+	/**
+	 * Prueba que las escrituras van a la primaria y las lecturas a la replica al dia, que ve lo escrito.
+	 */
+	@Test
+	void testLecturasVanALaReplicaAlDia() {
+		monitor.check();
+		assertTrue(monitor.isAvailable("replica-1"));
+		assertFalse(monitor.isAvailable("replica-2"));
+
+		JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+		write.executeWithoutResult(status -> jdbc.update("insert into museo (id, nombre) values (1, 'Museo')"));
+		long primaryConnections = routing.getConnections(ReadWriteRoutingDataSource.PRIMARY);
+
+		for (int i = 0; i < 4; i++) {
+			String nombre = read.execute(status -> jdbc.queryForObject("select nombre from museo where id = 1", String.class));
+			assertEquals("Museo", nombre);
+		}
+
+		assertEquals(4, routing.getConnections("replica-1"));
+		assertEquals(0, routing.getConnections("replica-2"));
+		assertEquals(primaryConnections, routing.getConnections(ReadWriteRoutingDataSource.PRIMARY));
+		assertEquals(0, routing.getFallbacks());
+	}
+
+	/**
+	 * Prueba que despues de un cambio las lecturas van a la primaria hasta que la
+	 * replica ve un latido posterior al cambio, aunque su atraso este dentro del maximo.
+	 */
+	@Test
+	void testCambioLlevaLasLecturasALaPrimaria() throws InterruptedException {
+		monitor.check();
+		assertTrue(monitor.isAvailable("replica-1"));
+
+		Thread.sleep(2);
+		monitor.onResourceChanged(new ResourceChangedEvent(MuseoEntity.class, 1L, true));
+
+		assertFalse(monitor.isAvailable("replica-1"));
+		JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+		read.executeWithoutResult(status -> jdbc.queryForObject("select count(*) from museo", Long.class));
+		assertEquals(0, routing.getConnections("replica-1"));
+		assertEquals(1, routing.getFallbacks());
+
+		Thread.sleep(2);
+		monitor.check();
+
+		assertTrue(monitor.isAvailable("replica-1"));
+		read.executeWithoutResult(status -> jdbc.queryForObject("select count(*) from museo", Long.class));
+		assertEquals(1, routing.getConnections("replica-1"));
+	}
+
+	/**
+	 * Prueba que sin replicas al dia las lecturas van a la primaria y se cuentan como fallback.
+	 */
+	@Test
+	void testSinReplicasAlDiaLeeDeLaPrimaria() {
+		JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+		write.executeWithoutResult(status -> jdbc.update("insert into museo (id, nombre) values (1, 'Museo')"));
+
+		String nombre = read.execute(status -> jdbc.queryForObject("select nombre from museo where id = 1", String.class));
+
+		assertEquals("Museo", nombre);
+		assertEquals(0, routing.getConnections("replica-1"));
+		assertEquals(0, routing.getConnections("replica-2"));
+		assertEquals(1, routing.getFallbacks());
+		assertEquals(-1L, ((Map<?, ?>) routing.getMetrics().get("replica-2")).get("lagMillis"));
+	}
+
+	/**
+	 * Prueba que una replica que deja de recibir el latido sale de la rotacion.
+	 */
+	@Test
+	void testReplicaAtrasadaSaleDeLaRotacion() {
+		new JdbcTemplate(lagging).update("update replica_heartbeat set beat = ? where id = 1", System.currentTimeMillis());
+		monitor.check();
+		assertTrue(monitor.isAvailable("replica-2"));
+
+		new JdbcTemplate(lagging).update("update replica_heartbeat set beat = ? where id = 1", System.currentTimeMillis() - 60_000);
+		monitor.check();
+
+		assertFalse(monitor.isAvailable("replica-2"));
+		assertTrue(monitor.getLag("replica-2") >= 60_000);
+	}
+
+	/**
+	 * Prueba que si no se puede escribir el latido en la primaria ninguna replica sigue recibiendo lecturas.
+	 */
+	@Test
+	void testFallaDelLatidoSacaLasReplicas() {
+		AtomicBoolean falla = new AtomicBoolean();
+		DataSource primariaQueFalla = new DelegatingDataSource(primary) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (falla.get())
+					throw new SQLException("Primaria no disponible");
+				return super.getConnection();
+			}
+		};
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", inSync);
+		try (ReplicaLagMonitor monitorConFalla = new ReplicaLagMonitor(primariaQueFalla, replicas, 5000)) {
+			monitorConFalla.check();
+			assertTrue(monitorConFalla.isAvailable("replica-1"));
+
+			falla.set(true);
+			monitorConFalla.check();
+
+			assertFalse(monitorConFalla.isAvailable("replica-1"));
+			assertEquals(-1L, monitorConFalla.getLag("replica-1"));
+		}
+	}
+
+	private static HikariDataSource pool(String name, String url, boolean readOnly) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName(name);
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername("sa");
+		dataSource.setPassword("");
+		dataSource.setReadOnly(readOnly);
+		dataSource.setMaximumPoolSize(2);
+		return dataSource;
+	}
+}
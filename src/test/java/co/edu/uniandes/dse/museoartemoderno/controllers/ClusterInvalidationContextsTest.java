@@ -0,0 +1,150 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import co.edu.uniandes.dse.museoartemoderno.MainApplication;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.museoartemoderno.services.ClusterInvalidation;
+import co.edu.uniandes.dse.museoartemoderno.services.JdbcInvalidationBus;
+import co.edu.uniandes.dse.museoartemoderno.services.MuseoService;
+import co.edu.uniandes.dse.museoartemoderno.services.PaisService;
+
+/**
+ * Prueba la invalidacion entre dos instancias completas de la aplicacion
+ * (servidor web, JPA, caches y filtros de llaves) que comparten la base de
+ * datos. Con museoartemoderno.cluster.nodes=2 se comunican por el
+ * JdbcInvalidationBus, como dos procesos. Se escribe en una instancia y se lee
+ * por HTTP en la otra.
+ *
+ * El lote de ClusterInvalidation se envia a mano (flush) y la otra instancia lo
+ * lee a mano (poll) para poder comprobar tambien lo que responde antes de
+ * recibirlo: puede servir un detalle viejo, pero no debe responder 404 por un
+ * recurso que ya existe ni aceptar un nombre repetido.
+ */
+public class ClusterInvalidationContextsTest {
+
+	private static ConfigurableApplicationContext nodoA;
+	private static ConfigurableApplicationContext nodoB;
+
+	private static PaisEntity pais;
+
+	private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		nodoA = start();
+		pais = new PaisEntity();
+		pais.setNombrePais("Pais cluster");
+		pais.setCoordenadasPais("4.60, -74.08");
+		pais = nodoA.getBean(PaisService.class).createPais(pais);
+		nodoB = start();
+		entregar();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		if (nodoB != null)
+			nodoB.close();
+		if (nodoA != null)
+			nodoA.close();
+	}
+
+	private static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(MainApplication.class).properties(
+				"server.port=0",
+				"spring.datasource.url=jdbc:h2:mem:cluster-invalidation-contexts;DB_CLOSE_DELAY=-1",
+				"museoartemoderno.invalidation.channel=cluster-invalidation-contexts-test",
+				"museoartemoderno.invalidation.batch-delay-ms=600000",
+				"museoartemoderno.invalidation.poll-interval-ms=600000",
+				"museoartemoderno.cluster.nodes=2",
+				"museoartemoderno.warm-up.enabled=false").run();
+	}
+
+	/**
+	 * Envia el lote pendiente del nodo A y hace que el nodo B lo lea
+	 */
+	private static void entregar() {
+		nodoA.getBean(ClusterInvalidation.class).flush();
+		nodoB.getBean(JdbcInvalidationBus.class).poll();
+	}
+
+	private ResponseEntity<String> getMuseo(ConfigurableApplicationContext nodo, Long id) {
+		String port = nodo.getEnvironment().getProperty("local.server.port");
+		return restTemplate.getForEntity("http://localhost:" + port + "/api/Museos/" + id, String.class);
+	}
+
+	private static MuseoEntity museo(String nombre) {
+		MuseoEntity museo = new MuseoEntity();
+		museo.setNombre(nombre);
+		museo.setDireccion("Calle 1 # 2-3");
+		museo.setUbicacion(pais);
+		return museo;
+	}
+
+	/**
+	 * Prueba que la otra instancia deja de servir el detalle viejo cuando llega el lote.
+	 */
+	@Test
+	void testDetalleViejoSeInvalidaEnLaOtraInstancia() throws Exception {
+		MuseoService museoService = nodoA.getBean(MuseoService.class);
+		MuseoEntity museo = museoService.createMuseo(museo("Museo cluster original"));
+		entregar();
+
+		ResponseEntity<String> antes = getMuseo(nodoB, museo.getId());
+		assertEquals(HttpStatus.OK, antes.getStatusCode());
+		assertTrue(antes.getBody().contains("Museo cluster original"));
+
+		museoService.updateMuseo(museo.getId(), museo("Museo cluster actualizado"));
+
+		ResponseEntity<String> sinLote = getMuseo(nodoB, museo.getId());
+		assertTrue(sinLote.getBody().contains("Museo cluster original"));
+
+		entregar();
+
+		ResponseEntity<String> despues = getMuseo(nodoB, museo.getId());
+		assertEquals(HttpStatus.OK, despues.getStatusCode());
+		assertTrue(despues.getBody().contains("Museo cluster actualizado"));
+		assertFalse(despues.getBody().contains("Museo cluster original"));
+	}
+
+	/**
+	 * Prueba que la otra instancia encuentra un recurso nuevo aunque el lote con
+	 * su llave aun no le llegue, y que sigue respondiendo 404 por uno que no existe.
+	 */
+	@Test
+	void testRecursoNuevoAntesDelLote() throws Exception {
+		MuseoEntity museo = nodoA.getBean(MuseoService.class).createMuseo(museo("Museo cluster nuevo"));
+
+		assertEquals(HttpStatus.OK, getMuseo(nodoA, museo.getId()).getStatusCode());
+		ResponseEntity<String> sinLote = getMuseo(nodoB, museo.getId());
+		assertEquals(HttpStatus.OK, sinLote.getStatusCode());
+		assertTrue(sinLote.getBody().contains("Museo cluster nuevo"));
+
+		assertEquals(HttpStatus.NOT_FOUND, getMuseo(nodoB, museo.getId() + 100000).getStatusCode());
+	}
+
+	/**
+	 * Prueba que un nombre escrito en otra instancia no se puede repetir antes de que llegue el lote.
+	 */
+	@Test
+	void testNombreUnicoAntesDelLote() throws Exception {
+		nodoA.getBean(MuseoService.class).createMuseo(museo("Museo cluster unico"));
+
+		assertThrows(IllegalOperationException.class,
+				() -> nodoB.getBean(MuseoService.class).createMuseo(museo("Museo cluster unico")));
+	}
+}
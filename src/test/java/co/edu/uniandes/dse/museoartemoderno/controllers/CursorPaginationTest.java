@@ -0,0 +1,77 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.IllegalOperationException;
+
+/**
+ * Prueba las cabeceras de la siguiente pagina que escribe CursorPagination.
+ */
+public class CursorPaginationTest {
+
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/Museos");
+		request.setServerPort(8080);
+		request.setQueryString("fields=id,nombre");
+		request.setParameter("fields", "id,nombre");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		response = new MockHttpServletResponse();
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	private static List<MuseoEntity> museos(long... ids) {
+		MuseoEntity[] museos = new MuseoEntity[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			museos[i] = new MuseoEntity();
+			museos[i].setId(ids[i]);
+		}
+		return List.of(museos);
+	}
+
+	/**
+	 * Prueba que una pagina llena trae el cursor y el enlace a la siguiente pagina con los demas parametros.
+	 */
+	@Test
+	void testPaginaLlenaTraeSiguiente() throws IllegalOperationException {
+		int limit = CursorPagination.limit(null);
+		assertEquals(CursorPagination.DEFAULT_LIMIT, limit);
+
+		CursorPagination.writeNextCursor(response, museos(3L, 7L), 2);
+
+		String cursor = response.getHeader(CursorPagination.NEXT_CURSOR_HEADER);
+		assertEquals(7L, CursorPagination.decode(cursor));
+		assertEquals("<http://localhost:8080/api/Museos?fields=id,nombre&after=" + cursor + "&limit=2>; rel=\"next\"",
+				response.getHeader(HttpHeaders.LINK));
+	}
+
+	/**
+	 * Prueba que la ultima pagina no trae cursor ni enlace.
+	 */
+	@Test
+	void testUltimaPaginaSinSiguiente() {
+		CursorPagination.writeNextCursor(response, museos(3L), 2);
+
+		assertNull(response.getHeader(CursorPagination.NEXT_CURSOR_HEADER));
+		assertNull(response.getHeader(HttpHeaders.LINK));
+	}
+}
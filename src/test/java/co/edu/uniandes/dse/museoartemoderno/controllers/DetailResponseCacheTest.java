@@ -0,0 +1,143 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.museoartemoderno.services.ResourceChangedEvent;
+import co.edu.uniandes.dse.museoartemoderno.services.SingleFlight;
+
+/**
+ * Prueba los aciertos y fallos del DetailResponseCache contando las cargas
+ * (idas a la base de datos) y los mapeos que hace.
+ */
+public class DetailResponseCacheTest {
+
+	private AnnotationConfigApplicationContext context;
+
+	private DetailResponseCache cache;
+
+	private MuseoEntity museo;
+
+	private final AtomicInteger cargas = new AtomicInteger();
+
+	private final AtomicInteger mapeos = new AtomicInteger();
+
+	private final DetailResponseCache.Loader<MuseoEntity> loader = () -> {
+		cargas.incrementAndGet();
+		return museo;
+	};
+
+	private final Function<MuseoEntity, MuseoDTO> mapper = entity -> {
+		mapeos.incrementAndGet();
+		return DtoMappers.museoDTO(entity);
+	};
+
+	@BeforeEach
+	void setUp() {
+		context = new AnnotationConfigApplicationContext(ObjectMapper.class, SingleFlight.class, DetailResponseCache.class,
+				SingleFlightController.class);
+		cache = context.getBean(DetailResponseCache.class);
+
+		PaisEntity pais = new PaisEntity();
+		pais.setId(1L);
+		pais.setNombrePais("Colombia");
+		museo = new MuseoEntity();
+		museo.setId(10L);
+		museo.setNombre("Museo original");
+		museo.setUbicacion(pais);
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	private ResponseEntity<byte[]> get() throws EntityNotFoundException {
+		return cache.get(MuseoEntity.class, museo.getId(), Expansion.NONE, new ServletWebRequest(new MockHttpServletRequest()),
+				loader, mapper);
+	}
+
+	/**
+	 * Prueba que la segunda peticion sale del cache sin cargar ni mapear de nuevo.
+	 */
+	@Test
+	void testAcierto() throws EntityNotFoundException {
+		ResponseEntity<byte[]> primera = get();
+		ResponseEntity<byte[]> segunda = get();
+
+		assertEquals(HttpStatus.OK, segunda.getStatusCode());
+		assertArrayEquals(primera.getBody(), segunda.getBody());
+		assertEquals(primera.getHeaders().getETag(), segunda.getHeaders().getETag());
+		assertEquals(1, cargas.get());
+		assertEquals(1, mapeos.get());
+	}
+
+	/**
+	 * Prueba que las cargas del cache se publican en las metricas de SingleFlightController.
+	 */
+	@Test
+	void testMetricasDeCargas() throws EntityNotFoundException {
+		get();
+		get();
+
+		Map<String, SingleFlight.Metrics> metricas = context.getBean(SingleFlightController.class).metrics().getBody();
+		assertEquals(1, metricas.size());
+		SingleFlight.Metrics carga = metricas.values().iterator().next();
+		assertEquals(1, carga.getExecutions());
+		assertEquals(0, carga.getCoalesced());
+	}
+
+	/**
+	 * Prueba que un cambio en el recurso o en una entidad anidada hace que la siguiente peticion cargue de nuevo.
+	 */
+	@Test
+	void testFalloDespuesDeInvalidar() throws EntityNotFoundException {
+		get();
+		museo.setNombre("Museo actualizado");
+		cache.onResourceChanged(new ResourceChangedEvent(MuseoEntity.class, museo.getId()));
+
+		ResponseEntity<byte[]> despues = get();
+		assertEquals(2, cargas.get());
+		assertEquals(2, mapeos.get());
+		assertTrue(new String(despues.getBody(), StandardCharsets.UTF_8).contains("Museo actualizado"));
+
+		cache.onResourceChanged(new ResourceChangedEvent(PaisEntity.class, museo.getUbicacion().getId()));
+		get();
+		assertEquals(3, cargas.get());
+	}
+
+	/**
+	 * Prueba que un cambio en un recurso del que no depende la respuesta no la invalida.
+	 */
+	@Test
+	void testCambioAjenoNoInvalida() throws EntityNotFoundException {
+		get();
+		cache.onResourceChanged(new ResourceChangedEvent(ArtistaEntity.class, 99L));
+		get();
+
+		assertEquals(1, cargas.get());
+		assertEquals(1, mapeos.get());
+	}
+}
@@ -0,0 +1,154 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Prueba que DetailAssembler reutiliza los fragmentos del DtoFragmentCache y
+ * que un cambio en una entidad anidada solo invalida los fragmentos que
+ * dependen de ella (segun DtoDependencies).
+ */
+public class DtoFragmentCacheTest {
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private AnnotationConfigApplicationContext context;
+
+	private DetailAssembler assembler;
+
+	private DtoFragmentCache fragments;
+
+	private PaisEntity pais;
+
+	private MuseoEntity museo;
+
+	private ArtistaEntity artistaCambia;
+
+	private ArtistaEntity artistaIgual;
+
+	private ObraEntity obraCambia;
+
+	private ObraEntity obraIgual;
+
+	@BeforeEach
+	void setUp() {
+		context = new AnnotationConfigApplicationContext(ModelMapper.class, DtoMapper.class, DtoFragmentCache.class,
+				DetailAssembler.class);
+		assembler = context.getBean(DetailAssembler.class);
+		fragments = context.getBean(DtoFragmentCache.class);
+
+		pais = entity(PaisEntity.class, 1L);
+		museo = entity(MuseoEntity.class, 10L);
+		museo.setUbicacion(pais);
+		artistaCambia = entity(ArtistaEntity.class, 20L);
+		artistaIgual = entity(ArtistaEntity.class, 21L);
+		obraCambia = entity(ObraEntity.class, 30L);
+		obraCambia.setMuseo(museo);
+		obraCambia.setArtista(artistaCambia);
+		obraIgual = entity(ObraEntity.class, 31L);
+		obraIgual.setMuseo(museo);
+		obraIgual.setArtista(artistaIgual);
+		museo.setArtistas(List.of(artistaCambia, artistaIgual));
+		museo.setObras(List.of(obraCambia, obraIgual));
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	private <E extends BaseEntity> E entity(Class<E> type, Long id) {
+		E entity = factory.manufacturePojo(type);
+		entity.setId(id);
+		return entity;
+	}
+
+	/**
+	 * Prueba que un segundo armado reutiliza los fragmentos sin volver a mapear las entidades.
+	 */
+	@Test
+	void testSegundoArmadoReutilizaFragmentos() {
+		MuseoDetailDTO primero = assembler.museoDetail(museo, Expansion.NONE);
+		String nombreOriginal = artistaCambia.getNombre();
+		artistaCambia.setNombre("Nombre sin evento");
+
+		MuseoDetailDTO segundo = assembler.museoDetail(museo, Expansion.NONE);
+
+		assertNotSame(primero, segundo);
+		for (int i = 0; i < 2; i++) {
+			assertSame(primero.getArtistas().get(i), segundo.getArtistas().get(i));
+			assertSame(primero.getObras().get(i), segundo.getObras().get(i));
+		}
+		assertEquals(nombreOriginal, segundo.getArtistas().get(0).getNombre());
+	}
+
+	/**
+	 * Prueba que cambiar un artista solo invalida su fragmento y los fragmentos que lo contienen.
+	 */
+	@Test
+	void testCambioInvalidaSoloFragmentosDependientes() {
+		MuseoDetailDTO primero = assembler.museoDetail(museo, Expansion.NONE);
+
+		artistaCambia.setNombre("Nombre nuevo");
+		artistaCambia.setVersion(artistaCambia.getVersion() + 1);
+		MuseoDetailDTO segundo = assembler.museoDetail(museo, Expansion.NONE);
+
+		assertNotSame(primero.getArtistas().get(0), segundo.getArtistas().get(0));
+		assertEquals("Nombre nuevo", segundo.getArtistas().get(0).getNombre());
+		assertNotSame(primero.getObras().get(0), segundo.getObras().get(0));
+		assertEquals("Nombre nuevo", segundo.getObras().get(0).getArtista().getNombre());
+
+		assertSame(primero.getArtistas().get(1), segundo.getArtistas().get(1));
+		assertSame(primero.getObras().get(1), segundo.getObras().get(1));
+	}
+
+	/**
+	 * Prueba que un fragmento mapeado desde una lectura vieja (cargada antes de un
+	 * cambio) no se reutiliza para la entidad con la version nueva.
+	 */
+	@Test
+	void testLecturaViejaNoSeReutiliza() {
+		ArtistaEntity leido = entity(ArtistaEntity.class, artistaCambia.getId());
+		leido.setNombre("Nombre viejo");
+		artistaCambia.setNombre("Nombre nuevo");
+		artistaCambia.setVersion(leido.getVersion() + 1);
+
+		fragments.get(ArtistaEntity.class, leido, ArtistaDTO.class, Expansion.NONE);
+		ArtistaDTO actual = fragments.get(ArtistaEntity.class, artistaCambia, ArtistaDTO.class, Expansion.NONE);
+
+		assertEquals("Nombre nuevo", actual.getNombre());
+		assertSame(actual, fragments.get(ArtistaEntity.class, artistaCambia, ArtistaDTO.class, Expansion.NONE));
+	}
+
+	/**
+	 * Prueba que las dependencias de un detalle incluyen cada entidad anidada.
+	 */
+	@Test
+	void testDependenciasDelDetalle() {
+		MuseoDetailDTO detail = assembler.museoDetail(museo, Expansion.NONE);
+
+		assertEquals(Set.of("MuseoEntity:10", "PaisEntity:1", "ArtistaEntity:20", "ArtistaEntity:21", "ObraEntity:30",
+				"ObraEntity:31"), DtoDependencies.of(detail));
+		assertEquals(Set.of("ArtistaEntity:21"), DtoDependencies.of(detail.getArtistas().get(1)));
+	}
+}
@@ -0,0 +1,188 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ArtistaDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.CiudadDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MovimientoArtisticoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDetailDTO;
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.BaseEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.CiudadEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Prueba que las conversiones de DtoMappers producen lo mismo que el
+ * ModelMapper para cada par de entidad y DTO que usan los controladores.
+ */
+public class DtoMappersTest {
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private ModelMapper modelMapper = new ModelMapper();
+
+	private PaisEntity pais;
+
+	private CiudadEntity ciudad;
+
+	private MuseoEntity museo;
+
+	private ArtistaEntity artista;
+
+	private MovimientoArtisticoEntity movimiento;
+
+	private ObraEntity obra;
+
+	@BeforeEach
+	void setUp() {
+		pais = entity(PaisEntity.class);
+		PaisEntity otroPais = entity(PaisEntity.class);
+		ciudad = entity(CiudadEntity.class);
+		museo = entity(MuseoEntity.class);
+		artista = entity(ArtistaEntity.class);
+		movimiento = entity(MovimientoArtisticoEntity.class);
+		obra = entity(ObraEntity.class);
+
+		ciudad.setPais(pais);
+		museo.setUbicacion(pais);
+		artista.setLugarNacimiento(pais);
+		artista.setLugarFallecimiento(otroPais);
+		movimiento.setLugarOrigen(otroPais);
+		obra.setMuseo(museo);
+		obra.setArtista(artista);
+		obra.setMovimiento(movimiento);
+
+		pais.setCiudades(List.of(ciudad));
+		pais.setMuseos(List.of(museo));
+		pais.setArtistasNacimiento(List.of(artista));
+		otroPais.setArtistasFallecimiento(List.of(artista));
+		otroPais.setMovimientoArtisticos(List.of(movimiento));
+		museo.setArtistas(List.of(artista));
+		museo.setObras(List.of(obra));
+		museo.setMovimientos(List.of(movimiento));
+		artista.setMuseos(Set.of(museo));
+		artista.setObras(List.of(obra));
+		artista.setMovimientos(Set.of(movimiento));
+		movimiento.setObras(List.of(obra));
+		movimiento.setMuseos(Set.of(museo));
+		movimiento.setArtistas(List.of(artista));
+	}
+
+	/**
+	 * Prueba las conversiones de entidades a DTO.
+	 */
+	@Test
+	void testEntidadesADTO() {
+		assertSame(pais, PaisDTO.class, DtoMappers.paisDTO(pais));
+		assertSame(pais, PaisDetailDTO.class, DtoMappers.paisDetailDTO(pais));
+		assertSame(movimiento.getLugarOrigen(), PaisDetailDTO.class, DtoMappers.paisDetailDTO(movimiento.getLugarOrigen()));
+		assertSame(ciudad, CiudadDTO.class, DtoMappers.ciudadDTO(ciudad));
+		assertThat(DtoMappers.ciudadDTO(ciudad).getNombre()).isEqualTo(ciudad.getNombreCiudad());
+		assertThat(DtoMappers.paisDTO(pais).getCoordenadas()).isEqualTo(pais.getCoordenadasPais());
+		assertSame(museo, MuseoDTO.class, DtoMappers.museoDTO(museo));
+		assertSame(museo, MuseoDetailDTO.class, DtoMappers.museoDetailDTO(museo));
+		assertSame(artista, ArtistaDTO.class, DtoMappers.artistaDTO(artista));
+		assertSame(artista, ArtistaDetailDTO.class, DtoMappers.artistaDetailDTO(artista));
+		assertSame(movimiento, MovimientoArtisticoDTO.class, DtoMappers.movimientoArtisticoDTO(movimiento));
+		assertSame(movimiento, MovimientoArtisticoDetailDTO.class, DtoMappers.movimientoArtisticoDetailDTO(movimiento));
+		assertSame(obra, ObraDTO.class, DtoMappers.obraDTO(obra));
+		assertSame(obra, ObraDetailDTO.class, DtoMappers.obraDetailDTO(obra));
+	}
+
+	/**
+	 * Prueba las conversiones de entidades sin asociaciones a DTO.
+	 */
+	@Test
+	void testEntidadesSinAsociacionesADTO() {
+		obra.setMuseo(null);
+		obra.setArtista(null);
+		obra.setMovimiento(null);
+		museo.setUbicacion(null);
+		assertSame(obra, ObraDetailDTO.class, DtoMappers.obraDetailDTO(obra));
+		assertSame(museo, MuseoDetailDTO.class, DtoMappers.museoDetailDTO(museo));
+	}
+
+	/**
+	 * Prueba las conversiones de los DTO que reciben los controladores a entidades.
+	 */
+	@Test
+	void testDTOAEntidades() {
+		PaisDTO paisDTO = factory.manufacturePojo(PaisDTO.class);
+		CiudadDTO ciudadDTO = factory.manufacturePojo(CiudadDTO.class);
+		MuseoDTO museoDTO = factory.manufacturePojo(MuseoDTO.class);
+		ArtistaDTO artistaDTO = factory.manufacturePojo(ArtistaDTO.class);
+		MovimientoArtisticoDTO movimientoDTO = factory.manufacturePojo(MovimientoArtisticoDTO.class);
+		ObraDTO obraDTO = factory.manufacturePojo(ObraDTO.class);
+
+		assertSame(paisDTO, PaisEntity.class, DtoMappers.paisEntity(paisDTO));
+		assertSame(ciudadDTO, CiudadEntity.class, DtoMappers.ciudadEntity(ciudadDTO));
+		assertSame(museoDTO, MuseoEntity.class, DtoMappers.museoEntity(museoDTO));
+		assertSame(artistaDTO, ArtistaEntity.class, DtoMappers.artistaEntity(artistaDTO));
+		assertSame(movimientoDTO, MovimientoArtisticoEntity.class, DtoMappers.movimientoArtisticoEntity(movimientoDTO));
+		assertSame(obraDTO, ObraEntity.class, DtoMappers.obraEntity(obraDTO));
+
+		obraDTO.setMuseo(null);
+		assertSame(obraDTO, ObraEntity.class, DtoMappers.obraEntity(obraDTO));
+	}
+
+	/**
+	 * Prueba las conversiones de fragmentos a DTO de detalle.
+	 */
+	@Test
+	void testFragmentosADetalle() {
+		MuseoDTO museoDTO = DtoMappers.museoDTO(museo);
+		ArtistaDTO artistaDTO = DtoMappers.artistaDTO(artista);
+		MovimientoArtisticoDTO movimientoDTO = DtoMappers.movimientoArtisticoDTO(movimiento);
+		ObraDTO obraDTO = DtoMappers.obraDTO(obra);
+
+		assertSame(museoDTO, MuseoDetailDTO.class, DtoMappers.museoDetailDTO(museoDTO));
+		assertSame(artistaDTO, ArtistaDetailDTO.class, DtoMappers.artistaDetailDTO(artistaDTO));
+		assertSame(movimientoDTO, MovimientoArtisticoDetailDTO.class, DtoMappers.movimientoArtisticoDetailDTO(movimientoDTO));
+		assertSame(obraDTO, ObraDetailDTO.class, DtoMappers.obraDetailDTO(obraDTO));
+	}
+
+	/**
+	 * Prueba que DtoMapper usa la conversion directa tambien con subclases del tipo de origen.
+	 */
+	@Test
+	void testDtoMapperConSubclases() {
+		DtoMapper dtoMapper = new DtoMapper("direct");
+		MuseoEntity subclase = new MuseoEntity() {
+		};
+		subclase.setId(museo.getId());
+		subclase.setNombre(museo.getNombre());
+		MuseoDTO dto = dtoMapper.map(subclase, MuseoDTO.class);
+		assertThat(dto.getId()).isEqualTo(museo.getId());
+		assertThat(dto.getNombre()).isEqualTo(museo.getNombre());
+		assertThat(dtoMapper.mapAll(List.of(museo), MuseoDetailDTO.class)).hasSize(1);
+	}
+
+	private void assertSame(Object source, Class<?> type, Object direct) {
+		assertThat(direct).usingRecursiveComparison().isEqualTo(modelMapper.map(source, type));
+	}
+
+	private <T extends BaseEntity> T entity(Class<T> type) {
+		T entity = factory.manufacturePojo(type);
+		entity.setId(factory.manufacturePojo(Long.class));
+		return entity;
+	}
+}
@@ -0,0 +1,88 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.MainApplication;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.PaisEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.MuseoService;
+import co.edu.uniandes.dse.museoartemoderno.services.PaisService;
+
+/**
+ * Prueba GET /Museos/stream con mas museos de los que caben en un bloque de
+ * JsonListStreamer: el cuerpo completo debe ser un arreglo JSON valido con cada
+ * museo exactamente una vez y en orden de id.
+ */
+public class JsonListStreamerTest {
+
+	private static final int CHUNK_SIZE = 3;
+
+	private static ConfigurableApplicationContext context;
+
+	private static List<Long> ids = new ArrayList<>();
+
+	private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		context = new SpringApplicationBuilder(MainApplication.class).properties(
+				"server.port=0",
+				"spring.datasource.url=jdbc:h2:mem:json-list-streamer;DB_CLOSE_DELAY=-1",
+				"museoartemoderno.invalidation.channel=json-list-streamer-test",
+				"museoartemoderno.warm-up.enabled=false",
+				"museoartemoderno.streaming.chunk-size=" + CHUNK_SIZE).run();
+
+		PaisEntity pais = new PaisEntity();
+		pais.setNombrePais("Pais streaming");
+		pais.setCoordenadasPais("6.24, -75.58");
+		pais = context.getBean(PaisService.class).createPais(pais);
+		MuseoService museoService = context.getBean(MuseoService.class);
+		for (int i = 0; i < 2 * CHUNK_SIZE + 1; i++) {
+			MuseoEntity museo = new MuseoEntity();
+			museo.setNombre("Museo streaming " + i);
+			museo.setUbicacion(pais);
+			ids.add(museoService.createMuseo(museo).getId());
+		}
+	}
+
+	@AfterAll
+	static void tearDown() {
+		if (context != null)
+			context.close();
+	}
+
+	/**
+	 * Prueba que varios bloques forman un solo arreglo JSON con cada museo una vez.
+	 */
+	@Test
+	void testStreamVariosBloques() throws Exception {
+		String port = context.getEnvironment().getProperty("local.server.port");
+		ResponseEntity<String> response = restTemplate.getForEntity("http://localhost:" + port + "/api/Museos/stream",
+				String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+
+		JsonNode body = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS).readTree(response.getBody());
+		assertTrue(body.isArray());
+		List<Long> recibidos = new ArrayList<>();
+		for (JsonNode museo : body)
+			recibidos.add(museo.get("id").asLong());
+		assertEquals(ids, recibidos);
+	}
+}
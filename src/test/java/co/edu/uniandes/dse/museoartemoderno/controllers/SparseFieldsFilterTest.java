@@ -0,0 +1,181 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.museoartemoderno.dto.MuseoDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.ObraDTO;
+import co.edu.uniandes.dse.museoartemoderno.dto.PaisDTO;
+
+/**
+ * Prueba la interpretacion de los parametros fields y expand y el filtro que
+ * escribe solo los campos pedidos y las asociaciones expandidas.
+ */
+public class SparseFieldsFilterTest {
+
+	private ObjectMapper objectMapper;
+
+	private ObraDTO obra;
+
+	@BeforeEach
+	void setUp() {
+		objectMapper = new ObjectMapper();
+		objectMapper.setFilterProvider(SparseFieldsFilter.ALL);
+		objectMapper.addMixIn(ObraDTO.class, SparseFieldsFilter.Filtered.class);
+		objectMapper.addMixIn(MuseoDTO.class, SparseFieldsFilter.Filtered.class);
+		objectMapper.addMixIn(PaisDTO.class, SparseFieldsFilter.Filtered.class);
+
+		PaisDTO pais = new PaisDTO();
+		pais.setId(3L);
+		pais.setNombrePais("Colombia");
+		MuseoDTO museo = new MuseoDTO();
+		museo.setId(2L);
+		museo.setNombre("Museo");
+		museo.setDireccion("Calle 1");
+		museo.setUbicacion(pais);
+		obra = new ObraDTO();
+		obra.setId(1L);
+		obra.setNombre("Obra");
+		obra.setTipo("Oleo");
+		obra.setMuseo(museo);
+	}
+
+	/**
+	 * Prueba la interpretacion del parametro, incluidos los valores vacios y repetidos
+	 */
+	@Test
+	void testParse() {
+		assertTrue(FieldSelection.parse(null).isAll());
+		assertTrue(FieldSelection.parse(" , ").isAll());
+
+		FieldSelection plana = FieldSelection.parse("id, nombre,,id");
+		assertTrue(plana.isFlat());
+		assertEquals(List.of("id", "nombre"), List.copyOf(plana.getFields().keySet()));
+
+		FieldSelection anidada = FieldSelection.parse("nombre,museo.nombre");
+		assertFalse(anidada.isFlat());
+		assertTrue(anidada.includes(List.of("museo"), "nombre"));
+		assertFalse(anidada.includes(List.of("museo"), "direccion"));
+
+		FieldSelection completa = FieldSelection.parse("museo.nombre,museo");
+		assertTrue(completa.isFlat());
+		assertTrue(completa.includes(List.of("museo"), "direccion"));
+	}
+
+	/**
+	 * Prueba que el filtro escribe solo los campos pedidos, tambien en los objetos anidados y en listas
+	 */
+	@Test
+	void testFiltroEscribeSoloLosCampos() throws Exception {
+		FieldSelection selection = FieldSelection.parse("nombre,museo.ubicacion.nombrePais,noExiste");
+		JsonNode json = objectMapper.readTree(
+				objectMapper.writer(SparseFieldsFilter.filters(selection, null)).writeValueAsBytes(List.of(obra, obra)));
+
+		assertEquals(2, json.size());
+		assertEquals("{\"nombre\":\"Obra\",\"museo\":{\"ubicacion\":{\"nombrePais\":\"Colombia\"}}}",
+				json.get(0).toString());
+		assertEquals(json.get(0), json.get(1));
+	}
+
+	/**
+	 * Prueba que sin seleccion se escriben todos los campos
+	 */
+	@Test
+	void testSinSeleccionEscribeTodo() throws Exception {
+		JsonNode filtrado = objectMapper.readTree(objectMapper.writeValueAsBytes(obra));
+		JsonNode completo = new ObjectMapper().readTree(new ObjectMapper().writeValueAsBytes(obra));
+		assertEquals(completo, filtrado);
+	}
+
+	/**
+	 * Prueba que recortar un JSON ya serializado da lo mismo que filtrar al serializar
+	 */
+	@Test
+	void testRetainIgualAlFiltro() throws Exception {
+		FieldSelection selection = FieldSelection.parse("id,museo.nombre,museo.ubicacion");
+		JsonNode filtrado = objectMapper
+				.readTree(objectMapper.writer(SparseFieldsFilter.filters(selection, null)).writeValueAsBytes(obra));
+		JsonNode recortado = SparseFieldsFilter.retain(objectMapper.readTree(objectMapper.writeValueAsBytes(obra)), selection);
+		assertEquals(filtrado, recortado);
+	}
+
+	/**
+	 * Prueba la interpretacion de expand y las rutas que implican los campos anidados
+	 */
+	@Test
+	void testParseExpansion() {
+		assertTrue(Expansion.parse(null).isNone());
+		assertTrue(Expansion.parse(" , ").isNone());
+
+		Expansion expansion = Expansion.of("museo, artista.lugarNacimiento,museo", FieldSelection.parse("nombre,movimiento.nombre"));
+		assertEquals("artista(lugarNacimiento),movimiento,museo", expansion.toString());
+		assertTrue(expansion.includes(List.of("artista", "lugarNacimiento")));
+		assertFalse(expansion.includes(List.of("museo", "ubicacion")));
+		assertEquals(List.of("artista.lugarNacimiento", "movimiento", "museo"), expansion.getFetchPaths(ObraDTO.class));
+	}
+
+	/**
+	 * Prueba que sin expansion los objetos anidados se escriben solo con su id
+	 */
+	@Test
+	void testSinExpansionEscribeReferencias() throws Exception {
+		JsonNode json = objectMapper.readTree(objectMapper
+				.writer(SparseFieldsFilter.filters(FieldSelection.ALL, Expansion.NONE)).writeValueAsBytes(obra));
+		assertEquals("{\"id\":2}", json.get("museo").toString());
+		assertEquals("Obra", json.get("nombre").asText());
+	}
+
+	/**
+	 * Prueba que una ruta expandida se escribe completa y lo que sigue dentro de ella como referencia
+	 */
+	@Test
+	void testExpansionEscribeLaRuta() throws Exception {
+		JsonNode json = objectMapper.readTree(objectMapper
+				.writer(SparseFieldsFilter.filters(FieldSelection.ALL, Expansion.parse("museo"))).writeValueAsBytes(obra));
+		assertEquals("Calle 1", json.get("museo").get("direccion").asText());
+		assertEquals("{\"id\":3}", json.get("museo").get("ubicacion").toString());
+	}
+
+	/**
+	 * Prueba que con dedupe un objeto expandido que se repite en la misma ruta se escribe como referencia
+	 */
+	@Test
+	void testDedupeEscribeRepetidosComoReferencia() throws Exception {
+		ObraDTO otra = new ObraDTO();
+		otra.setId(4L);
+		otra.setNombre("Otra");
+		otra.setMuseo(obra.getMuseo());
+		Expansion expansion = Expansion.of("museo.ubicacion", FieldSelection.ALL, true);
+		JsonNode json = objectMapper.readTree(objectMapper
+				.writer(SparseFieldsFilter.filters(FieldSelection.ALL, expansion)).writeValueAsBytes(List.of(obra, otra)));
+
+		assertEquals("Calle 1", json.get(0).get("museo").get("direccion").asText());
+		assertEquals("Colombia", json.get(0).get("museo").get("ubicacion").get("nombrePais").asText());
+		assertEquals("{\"id\":2}", json.get(1).get("museo").toString());
+		assertEquals("Otra", json.get(1).get("nombre").asText());
+	}
+
+	/**
+	 * Prueba que con dedupe el id de los objetos anidados se escribe aunque no este en fields
+	 */
+	@Test
+	void testDedupeConservaLosIds() throws Exception {
+		FieldSelection selection = FieldSelection.parse("nombre,museo.nombre");
+		Expansion expansion = Expansion.of(null, selection, true);
+		JsonNode filtrado = objectMapper.readTree(
+				objectMapper.writer(SparseFieldsFilter.filters(selection, expansion)).writeValueAsBytes(obra));
+		assertEquals("{\"nombre\":\"Obra\",\"museo\":{\"id\":2,\"nombre\":\"Museo\"}}", filtrado.toString());
+
+		JsonNode recortado = SparseFieldsFilter.retain(objectMapper.readTree(objectMapper.writeValueAsBytes(obra)), selection, true);
+		assertEquals(filtrado, recortado);
+	}
+}
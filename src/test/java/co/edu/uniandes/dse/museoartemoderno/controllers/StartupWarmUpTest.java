@@ -0,0 +1,122 @@
+package co.edu.uniandes.dse.museoartemoderno.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import co.edu.uniandes.dse.museoartemoderno.MainApplication;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.services.MuseoService;
+
+/**
+ * Prueba GET /readiness mientras dura el calentamiento de StartupWarmUp y
+ * despues. La aplicacion arranca completa en otro hilo; el listado de museos
+ * del calentamiento se detiene hasta que la prueba lo libera y luego falla,
+ * para comprobar que un paso que falla no deja la aplicacion sin aceptar
+ * trafico.
+ */
+public class StartupWarmUpTest {
+
+	private static final CountDownLatch EN_CALENTAMIENTO = new CountDownLatch(1);
+
+	private static final CountDownLatch LIBERAR = new CountDownLatch(1);
+
+	private static volatile int port;
+
+	private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+	private CompletableFuture<ConfigurableApplicationContext> arranque;
+
+	/**
+	 * Beans que se agregan a la aplicacion. No es @Configuration para que el
+	 * escaneo de componentes de las demas pruebas no lo registre.
+	 */
+	static class Instance {
+
+		@Bean
+		@Primary
+		MuseoService museoServiceQueFalla() {
+			return new MuseoService() {
+				@Override
+				public List<MuseoEntity> getMuseos(Long after, int limit, Collection<String> paths) {
+					EN_CALENTAMIENTO.countDown();
+					try {
+						LIBERAR.await(30, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					throw new IllegalStateException("Falla de prueba del calentamiento");
+				}
+			};
+		}
+
+		@EventListener
+		void onWebServerInitialized(WebServerInitializedEvent event) {
+			port = event.getWebServer().getPort();
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		LIBERAR.countDown();
+		if (arranque != null)
+			arranque.get(60, TimeUnit.SECONDS).close();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity<Map> readiness() {
+		return restTemplate.getForEntity("http://localhost:" + port + "/api/readiness", Map.class);
+	}
+
+	/**
+	 * Prueba que la sonda responde 503 durante el calentamiento y 200 con la
+	 * duracion de cada paso al terminar, aunque un paso haya fallado.
+	 */
+	@Test
+	@SuppressWarnings("rawtypes")
+	void testReadinessDuranteYDespuesDelCalentamiento() throws Exception {
+		arranque = CompletableFuture.supplyAsync(() -> new SpringApplicationBuilder(MainApplication.class, Instance.class)
+				.properties("server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:startup-warm-up;DB_CLOSE_DELAY=-1",
+						"museoartemoderno.invalidation.channel=startup-warm-up-test",
+						"museoartemoderno.warm-up.iterations=1",
+						"museoartemoderno.warm-up.details=1")
+				.run());
+		assertTrue(EN_CALENTAMIENTO.await(60, TimeUnit.SECONDS));
+
+		ResponseEntity<Map> durante = readiness();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, durante.getStatusCode());
+		assertEquals("REFUSING_TRAFFIC", durante.getBody().get("readiness"));
+		assertTrue(((Map) durante.getBody().get("warmUp")).isEmpty());
+
+		LIBERAR.countDown();
+		arranque.get(60, TimeUnit.SECONDS);
+
+		ResponseEntity<Map> despues = readiness();
+		assertEquals(HttpStatus.OK, despues.getStatusCode());
+		assertEquals("ACCEPTING_TRAFFIC", despues.getBody().get("readiness"));
+		Map warmUp = (Map) despues.getBody().get("warmUp");
+		assertEquals(List.of("datos de referencia", "listado de museos", "listado de artistas", "listado de movimientos",
+				"listado de obras", "detalles", "total"), List.copyOf(warmUp.keySet()));
+		for (Object millis : warmUp.values())
+			assertTrue(((Number) millis).longValue() >= 0);
+	}
+}
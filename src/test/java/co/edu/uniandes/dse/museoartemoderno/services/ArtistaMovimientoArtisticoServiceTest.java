@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -112,7 +113,7 @@ public class ArtistaMovimientoArtisticoServiceTest {
 		artista.setFechaFallecimiento(fechaList.get(1));
 		artista.setLugarNacimiento(paisList.get(0));
 		artista.setLugarFallecimiento(paisList.get(0));
-		artista.setMuseos(museoList);
+		artista.setMuseos(new HashSet<>(museoList));
 //		artista.setMovimientos(movimientoArtisticoList);
 		entityManager.persist(artista);
 
@@ -138,8 +139,8 @@ public class ArtistaMovimientoArtisticoServiceTest {
 		newArtista.setObras(obraList);
 		newArtista.setLugarNacimiento(paisList.get(0));
 		newArtista.setLugarFallecimiento(paisList.get(1));
-		newArtista.setMuseos(museoList);
-		newArtista.setMovimientos(movimientoArtisticoList);
+		newArtista.setMuseos(new HashSet<>(museoList));
+		newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		entityManager.persist(newArtista);
 
 		MovimientoArtisticoEntity movimiento = factory.manufacturePojo(MovimientoArtisticoEntity.class);
@@ -166,8 +167,8 @@ public class ArtistaMovimientoArtisticoServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			artistaMovimientoArtisticoService.addMovimientoArtistico(newArtista.getId(), 0L);
 		});
@@ -264,8 +265,8 @@ public class ArtistaMovimientoArtisticoServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			MovimientoArtisticoEntity movimiento = factory.manufacturePojo(MovimientoArtisticoEntity.class);
 			entityManager.persist(movimiento);
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -112,8 +113,8 @@ public class ArtistaMuseoServiceTest {
 		artista.setFechaFallecimiento(fechaList.get(1));
 		artista.setLugarNacimiento(paisList.get(0));
 		artista.setLugarFallecimiento(paisList.get(1));
-		artista.setMuseos(museoList);
-		artista.setMovimientos(movimientoArtisticoList);
+		artista.setMuseos(new HashSet<>(museoList));
+		artista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		entityManager.persist(artista);
 
 		for (int i = 0; i < 3; i++) {
@@ -138,8 +139,8 @@ public class ArtistaMuseoServiceTest {
 		newArtista.setObras(obraList);
 		newArtista.setLugarNacimiento(paisList.get(0));
 		newArtista.setLugarFallecimiento(paisList.get(1));
-		newArtista.setMuseos(museoList);
-		newArtista.setMovimientos(movimientoArtisticoList);
+		newArtista.setMuseos(new HashSet<>(museoList));
+		newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		entityManager.persist(newArtista);
 
 		MuseoEntity museo = factory.manufacturePojo(MuseoEntity.class);
@@ -166,8 +167,8 @@ public class ArtistaMuseoServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			artistaMuseoService.addMuseo(newArtista.getId(), 0L);
 		});
@@ -264,8 +265,8 @@ public class ArtistaMuseoServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			MuseoEntity museo = factory.manufacturePojo(MuseoEntity.class);
 			entityManager.persist(museo);
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -35,7 +36,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(ArtistaObraService.class)
+@Import({ ArtistaObraService.class, FetchPlanService.class })
 public class ArtistaObraServiceTest {
 
 	@Autowired
@@ -110,8 +111,8 @@ public class ArtistaObraServiceTest {
 		artista.setFechaFallecimiento(fechaList.get(1));
 		artista.setLugarNacimiento(paisList.get(0));
 		artista.setLugarFallecimiento(paisList.get(0));
-		artista.setMuseos(museoList);
-		artista.setMovimientos(movimientoArtisticoList);
+		artista.setMuseos(new HashSet<>(museoList));
+		artista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		entityManager.persist(artista);
 
 		for (int i = 0; i < 3; i++) {
@@ -138,8 +139,8 @@ public class ArtistaObraServiceTest {
 		newArtista.setObras(obraList);
 		newArtista.setLugarNacimiento(paisList.get(0));
 		newArtista.setLugarFallecimiento(paisList.get(1));
-		newArtista.setMuseos(museoList);
-		newArtista.setMovimientos(movimientoArtisticoList);
+		newArtista.setMuseos(new HashSet<>(museoList));
+		newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		entityManager.persist(newArtista);
 
 		ObraEntity obraEntity = factory.manufacturePojo(ObraEntity.class);
@@ -165,8 +166,8 @@ public class ArtistaObraServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			artistaObraService.addObra(newArtista.getId(), 0L);
 		});
@@ -264,8 +265,8 @@ public class ArtistaObraServiceTest {
 			newArtista.setObras(obraList);
 			newArtista.setLugarNacimiento(paisList.get(0));
 			newArtista.setLugarFallecimiento(paisList.get(1));
-			newArtista.setMuseos(museoList);
-			newArtista.setMovimientos(movimientoArtisticoList);
+			newArtista.setMuseos(new HashSet<>(museoList));
+			newArtista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(newArtista);
 			ObraEntity obra = factory.manufacturePojo(ObraEntity.class);
 			entityManager.persist(obra);
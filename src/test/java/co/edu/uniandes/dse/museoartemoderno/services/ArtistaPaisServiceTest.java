@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -33,7 +34,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({ ArtistaPaisService.class, ArtistaService.class })
+@Import({ ArtistaPaisService.class, ArtistaService.class, KeyFilters.class, FetchPlanService.class })
 public class ArtistaPaisServiceTest {
 
 	@Autowired
@@ -120,8 +121,8 @@ public class ArtistaPaisServiceTest {
 		artista.setFechaFallecimiento(fechaList.get(1));
 		artista.setLugarNacimiento(paisList.get(0));
 		artista.setLugarFallecimiento(paisList.get(0));
-		artista.setMuseos(museoList);
-		artista.setMovimientos(movimientoArtisticoList);
+		artista.setMuseos(new HashSet<>(museoList));
+		artista.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		artista.setObras(obraList);
 		entityManager.persist(artista);
 	}
@@ -135,7 +136,7 @@ public class ArtistaPaisServiceTest {
 	void testReplacePaisNacimiento() throws EntityNotFoundException {
 		ArtistaEntity entity = artista;
 		artistaPaisService.replaceLugarNacimiento(entity.getId(), paisList.get(1).getId());
-		entity = artistaService.getArtista(entity.getId());
+		entity = artistaService.getArtista(entity.getId(), List.of());
 		assertEquals(entity.getLugarNacimiento(), paisList.get(1));
 	}
 	
@@ -147,7 +148,7 @@ public class ArtistaPaisServiceTest {
 	void testReplacePaisFallecimiento() throws EntityNotFoundException {
 		ArtistaEntity entity = artista;
 		artistaPaisService.replaceLugarFallecimiento(entity.getId(), paisList.get(1).getId());
-		entity = artistaService.getArtista(entity.getId());
+		entity = artistaService.getArtista(entity.getId(), List.of());
 		assertEquals(entity.getLugarFallecimiento(), paisList.get(1));
 	}
 	
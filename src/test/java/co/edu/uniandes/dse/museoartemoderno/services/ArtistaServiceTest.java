@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -36,7 +37,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(ArtistaService.class)
+@Import({ ArtistaService.class, KeyFilters.class, FetchPlanService.class })
 public class ArtistaServiceTest {
 
 	@Autowired
@@ -120,8 +121,8 @@ public class ArtistaServiceTest {
 			artistaEntity.setFechaFallecimiento(fechaList.get(1));
 			artistaEntity.setLugarNacimiento(paisList.get(0));
 			artistaEntity.setLugarFallecimiento(paisList.get(1));
-			artistaEntity.setMuseos(museoList);
-			artistaEntity.setMovimientos(movimientoArtisticoList);
+			artistaEntity.setMuseos(new HashSet<>(museoList));
+			artistaEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			entityManager.persist(artistaEntity);
 			artistaList.add(artistaEntity);
 		}		
@@ -140,8 +141,8 @@ public class ArtistaServiceTest {
 		newEntity.setObras(obraList);
 		newEntity.setLugarNacimiento(paisList.get(0));
 		newEntity.setLugarFallecimiento(paisList.get(1));
-		newEntity.setMuseos(museoList);
-		newEntity.setMovimientos(movimientoArtisticoList);
+		newEntity.setMuseos(new HashSet<>(museoList));
+		newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 		ArtistaEntity result = artistaService.createArtista(newEntity);
 		assertNotNull(result);
 
@@ -164,8 +165,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			newEntity.setNombre("");
 			artistaService.createArtista(newEntity);
 		});
@@ -184,13 +185,33 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			newEntity.setNombre(artistaList.get(0).getNombre());
 			artistaService.createArtista(newEntity);
 		});
 	}
 
+	/**
+	 * Prueba para crear un Artista con el nombre de uno que escribio otro nodo
+	 * (sin pasar por JPA en esta instancia, asi que los filtros no lo conocen).
+	 */
+	@Test
+	void testCreateArtistaWithNombreDeOtroNodo() {
+		entityManager.getEntityManager()
+				.createNativeQuery("insert into artista_entity (id, nombre, version) values (999999, 'Artista de otro nodo', 0)")
+				.executeUpdate();
+		assertThrows(IllegalOperationException.class, () -> {
+			ArtistaEntity newEntity = factory.manufacturePojo(ArtistaEntity.class);
+			newEntity.setFechaNacimiento(fechaList.get(0));
+			newEntity.setFechaFallecimiento(fechaList.get(1));
+			newEntity.setLugarNacimiento(paisList.get(0));
+			newEntity.setLugarFallecimiento(paisList.get(1));
+			newEntity.setNombre("Artista de otro nodo");
+			artistaService.createArtista(newEntity);
+		});
+	}
+
 	/**
 	 * Prueba para crear un Artista con una fecha de Nacimiento invalida
 	 */
@@ -204,8 +225,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -242,8 +263,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -261,8 +282,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -280,8 +301,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(null);
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -299,8 +320,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(null);
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -347,7 +368,7 @@ public class ArtistaServiceTest {
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
 			newEntity.setMuseos(null);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -365,8 +386,8 @@ public class ArtistaServiceTest {
 			newEntity.setObras(null);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
-			newEntity.setMovimientos(movimientoArtisticoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
+			newEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			artistaService.createArtista(newEntity);
 		});
 	}
@@ -384,7 +405,7 @@ public class ArtistaServiceTest {
 			newEntity.setObras(obraList);
 			newEntity.setLugarNacimiento(paisList.get(0));
 			newEntity.setLugarFallecimiento(paisList.get(1));
-			newEntity.setMuseos(museoList);
+			newEntity.setMuseos(new HashSet<>(museoList));
 			newEntity.setMovimientos(null);
 			artistaService.createArtista(newEntity);
 		});
@@ -414,7 +435,7 @@ public class ArtistaServiceTest {
 	@Test
 	void testGetArtista() throws EntityNotFoundException {
 		ArtistaEntity entity = artistaList.get(0);
-		ArtistaEntity resultEntity = artistaService.getArtista(entity.getId());
+		ArtistaEntity resultEntity = artistaService.getArtista(entity.getId(), List.of());
 		assertNotNull(resultEntity);
 		assertEquals(entity.getId(), resultEntity.getId());
 		assertEquals(entity.getNombre(), resultEntity.getNombre());
@@ -426,7 +447,7 @@ public class ArtistaServiceTest {
 	@Test
 	void testGetInvalidArtista() {
 		assertThrows(EntityNotFoundException.class,()->{
-			artistaService.getArtista(0L);
+			artistaService.getArtista(0L, List.of());
 		});
 	}
 
@@ -445,8 +466,8 @@ public class ArtistaServiceTest {
 		pojoEntity.setObras(obraList);
 		pojoEntity.setLugarNacimiento(paisList.get(0));
 		pojoEntity.setLugarFallecimiento(paisList.get(1));
-		pojoEntity.setMuseos(museoList);
-		pojoEntity.setMovimientos(movimientoArtisticoList);
+		pojoEntity.setMuseos(new HashSet<>(museoList));
+		pojoEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 
 		artistaService.updateArtista(artistaEntity.getId(), pojoEntity);
 
@@ -469,8 +490,8 @@ public class ArtistaServiceTest {
 			pojoEntity.setObras(obraList);
 			pojoEntity.setLugarNacimiento(paisList.get(0));
 			pojoEntity.setLugarFallecimiento(paisList.get(1));
-			pojoEntity.setMuseos(museoList);
-			pojoEntity.setMovimientos(movimientoArtisticoList);
+			pojoEntity.setMuseos(new HashSet<>(museoList));
+			pojoEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			pojoEntity.setId(0L);
 			artistaService.updateArtista(0L, pojoEntity);
 		});
@@ -490,8 +511,8 @@ public class ArtistaServiceTest {
 			pojoEntity.setObras(obraList);
 			pojoEntity.setLugarNacimiento(paisList.get(0));
 			pojoEntity.setLugarFallecimiento(paisList.get(1));
-			pojoEntity.setMuseos(museoList);
-			pojoEntity.setMovimientos(movimientoArtisticoList);
+			pojoEntity.setMuseos(new HashSet<>(museoList));
+			pojoEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			pojoEntity.setNombre("");
 			pojoEntity.setId(entity.getId());
 			artistaService.updateArtista(entity.getId(), pojoEntity);
@@ -512,8 +533,8 @@ public class ArtistaServiceTest {
 			pojoEntity.setObras(obraList);
 			pojoEntity.setLugarNacimiento(paisList.get(0));
 			pojoEntity.setLugarFallecimiento(paisList.get(1));
-			pojoEntity.setMuseos(museoList);
-			pojoEntity.setMovimientos(movimientoArtisticoList);
+			pojoEntity.setMuseos(new HashSet<>(museoList));
+			pojoEntity.setMovimientos(new HashSet<>(movimientoArtisticoList));
 			pojoEntity.setNombre(null);
 			pojoEntity.setId(entity.getId());
 			artistaService.updateArtista(entity.getId(), pojoEntity);
@@ -25,7 +25,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({ CiudadPaisService.class, CiudadService.class })
+@Import({ CiudadPaisService.class, CiudadService.class, KeyFilters.class, FetchPlanService.class })
 public class CiudadPaisServiceTest {
 
 	@Autowired
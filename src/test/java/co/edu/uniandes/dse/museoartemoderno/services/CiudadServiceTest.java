@@ -30,7 +30,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(CiudadService.class)
+@Import({ CiudadService.class, KeyFilters.class, FetchPlanService.class })
 public class CiudadServiceTest {
 	@Autowired
 	private CiudadService ciudadService;
@@ -167,7 +167,7 @@ public class CiudadServiceTest {
 
     CiudadEntity entity = ciudadList.get(0);
 
-    CiudadEntity resultEntity = ciudadService.getCiudad(entity.getId());
+    CiudadEntity resultEntity = ciudadService.getCiudad(entity.getId(), List.of());
 
     assertNotNull(resultEntity);
 
@@ -191,7 +191,7 @@ public class CiudadServiceTest {
 
     assertThrows(EntityNotFoundException.class,()->{
 
-    ciudadService.getCiudad(0L);
+    ciudadService.getCiudad(0L, List.of());
 
     });
 
@@ -0,0 +1,142 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+
+/**
+ * Prueba el envio de cambios entre dos instancias de la aplicacion, cada una
+ * con su propio contexto, conectadas por el LoopbackInvalidationBus que crea
+ * ClusterInvalidation cuando no hay otro InvalidationBus.
+ */
+public class ClusterInvalidationTest {
+
+	private static final String CHANNEL = "cluster-invalidation-test";
+
+	private AnnotationConfigApplicationContext nodoA;
+
+	private AnnotationConfigApplicationContext nodoB;
+
+	@BeforeEach
+	void setUp() {
+		nodoA = new AnnotationConfigApplicationContext(Instance.class);
+		nodoB = new AnnotationConfigApplicationContext(Instance.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodoA.close();
+		nodoB.close();
+	}
+
+	/**
+	 * Prueba que los cambios de una instancia llegan a la otra como eventos remotos, sin repetidos.
+	 */
+	@Test
+	void testCambiosLleganALasDemasInstancias() {
+		nodoA.publishEvent(new ResourceChangedEvent(MuseoEntity.class, 1L));
+		nodoA.publishEvent(new ResourceChangedEvent(MuseoEntity.class, 1L));
+		nodoA.publishEvent(new ResourceChangedEvent(ArtistaEntity.class, 2L));
+		nodoA.getBean(ClusterInvalidation.class).flush();
+
+		List<ResourceChangedEvent> recibidos = nodoB.getBean(Recorder.class).changes;
+		assertEquals(List.of(new ResourceChangedEvent(MuseoEntity.class, 1L, true),
+				new ResourceChangedEvent(ArtistaEntity.class, 2L, true)), recibidos);
+		assertTrue(nodoA.getBean(Recorder.class).changes.isEmpty());
+	}
+
+	/**
+	 * Prueba que las llaves nuevas de una instancia llegan a la otra.
+	 */
+	@Test
+	void testLlavesLleganALasDemasInstancias() {
+		nodoA.publishEvent(new KeysAddedEvent(Map.of("MuseoEntity.id", Set.of(5L), "MuseoEntity.nombre", Set.of("Museo")), false));
+		nodoA.getBean(ClusterInvalidation.class).flush();
+
+		List<KeysAddedEvent> recibidas = nodoB.getBean(Recorder.class).keys;
+		assertEquals(1, recibidas.size());
+		assertEquals(Set.of(5L), recibidas.get(0).getKeys().get("MuseoEntity.id"));
+		assertEquals(Set.of("Museo"), recibidas.get(0).getKeys().get("MuseoEntity.nombre"));
+	}
+
+	/**
+	 * Prueba que una rafaga de cambios sale en un solo mensaje.
+	 */
+	@Test
+	void testRafagaSeEnviaEnUnLote() throws InterruptedException {
+		AtomicInteger mensajes = new AtomicInteger();
+		LoopbackInvalidationBus observador = new LoopbackInvalidationBus(CHANNEL);
+		observador.subscribe(message -> mensajes.incrementAndGet());
+		try {
+			for (long id = 1; id <= 100; id++)
+				nodoA.publishEvent(new ResourceChangedEvent(MuseoEntity.class, id));
+
+			List<ResourceChangedEvent> recibidos = nodoB.getBean(Recorder.class).changes;
+			for (int i = 0; i < 100 && recibidos.size() < 100; i++)
+				Thread.sleep(50);
+			assertEquals(100, recibidos.size());
+			assertEquals(1, mensajes.get());
+		} finally {
+			observador.close();
+		}
+	}
+
+	/**
+	 * Beans de cada instancia (sin @Configuration para que el escaneo de las demas pruebas no la recoja)
+	 */
+	static class Instance {
+
+		@Bean
+		static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+			return new TransactionalEventListenerFactory();
+		}
+
+		@Bean
+		ClusterInvalidation clusterInvalidation() {
+			return new ClusterInvalidation(CHANNEL, 500, 1000);
+		}
+
+		@Bean
+		Recorder recorder() {
+			return new Recorder();
+		}
+	}
+
+	/**
+	 * Guarda los eventos remotos que publica la instancia
+	 */
+	static class Recorder {
+
+		private final List<ResourceChangedEvent> changes = new CopyOnWriteArrayList<>();
+
+		private final List<KeysAddedEvent> keys = new CopyOnWriteArrayList<>();
+
+		@EventListener
+		public void onResourceChanged(ResourceChangedEvent event) {
+			if (event.isRemote())
+				changes.add(event);
+		}
+
+		@EventListener
+		public void onKeysAdded(KeysAddedEvent event) {
+			if (event.isRemote())
+				keys.add(event);
+		}
+	}
+}
@@ -36,7 +36,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(EmpleadoService.class)
+@Import({ EmpleadoService.class, KeyFilters.class })
 public class EmpleadoServiceTest {
 
 	@Autowired
@@ -0,0 +1,161 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.ObraEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import(FetchPlanService.class)
+public class FetchPlanServiceTest {
+
+	@Autowired
+	private FetchPlanService fetchPlanService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+	private List<ObraEntity> obraList = new ArrayList<>();
+	private MuseoEntity museoEntity;
+
+	/**
+	 * Configuración inicial de la prueba.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+		insertData();
+	}
+
+	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from ObraEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from ArtistaEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from MuseoEntity").executeUpdate();
+	}
+
+	/**
+	 * Inserta las obras y vacia el contexto de persistencia para que las
+	 * consultas de las pruebas lean de la base de datos
+	 */
+	private void insertData() {
+		museoEntity = factory.manufacturePojo(MuseoEntity.class);
+		entityManager.persist(museoEntity);
+		ArtistaEntity artistaEntity = factory.manufacturePojo(ArtistaEntity.class);
+		entityManager.persist(artistaEntity);
+		for (int i = 0; i < 3; i++) {
+			ObraEntity obraEntity = factory.manufacturePojo(ObraEntity.class);
+			obraEntity.setMuseo(museoEntity);
+			obraEntity.setArtista(artistaEntity);
+			entityManager.persist(obraEntity);
+			obraList.add(obraEntity);
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	/**
+	 * Prueba que sin rutas las asociaciones quedan como referencias sin leer.
+	 */
+	@Test
+	void testGetPageSinRutas() {
+		List<ObraEntity> obras = fetchPlanService.getPage(ObraEntity.class, List.of(), 0L, 10);
+		assertEquals(obraList.size(), obras.size());
+		for (ObraEntity obra : obras) {
+			assertFalse(Hibernate.isInitialized(obra.getMuseo()));
+			assertFalse(Hibernate.isInitialized(obra.getArtista()));
+			assertEquals(museoEntity.getId(), obra.getMuseo().getId());
+		}
+	}
+
+	/**
+	 * Prueba que las asociaciones de las rutas se cargan y las demas no.
+	 */
+	@Test
+	void testGetPageConRutas() {
+		List<ObraEntity> obras = fetchPlanService.getPage(ObraEntity.class, List.of("museo"), 0L, 10);
+		for (ObraEntity obra : obras) {
+			assertTrue(Hibernate.isInitialized(obra.getMuseo()));
+			assertFalse(Hibernate.isInitialized(obra.getArtista()));
+		}
+	}
+
+	/**
+	 * Prueba que la pagina de un dueno solo trae sus entidades, con las asociaciones de las rutas.
+	 */
+	@Test
+	void testGetPageDeDueno() {
+		MuseoEntity otroMuseo = factory.manufacturePojo(MuseoEntity.class);
+		entityManager.persist(otroMuseo);
+		ObraEntity otraObra = factory.manufacturePojo(ObraEntity.class);
+		otraObra.setMuseo(otroMuseo);
+		entityManager.persist(otraObra);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<ObraEntity> obras = fetchPlanService.getPage(ObraEntity.class, "museo", museoEntity.getId(), List.of("artista"), 0L, 10);
+		assertEquals(obraList.size(), obras.size());
+		for (ObraEntity obra : obras) {
+			assertEquals(museoEntity.getId(), obra.getMuseo().getId());
+			assertTrue(Hibernate.isInitialized(obra.getArtista()));
+		}
+		assertEquals(List.of(otraObra.getId()),
+				fetchPlanService.getPage(ObraEntity.class, "museo", otroMuseo.getId(), List.of(), 0L, 10).stream().map(ObraEntity::getId)
+						.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Prueba que la pagina empieza despues del cursor y respeta el limite.
+	 */
+	@Test
+	void testGetPageCursor() {
+		List<ObraEntity> obras = fetchPlanService.getPage(ObraEntity.class, List.of("museo"), obraList.get(0).getId(), 1);
+		assertEquals(1, obras.size());
+		assertEquals(obraList.get(1).getId(), obras.get(0).getId());
+	}
+
+	/**
+	 * Prueba que las colecciones de las rutas se cargan completas.
+	 */
+	@Test
+	void testGetOneConColeccion() throws EntityNotFoundException {
+		MuseoEntity museo = fetchPlanService.getOne(MuseoEntity.class, museoEntity.getId(), List.of("obras", "nombreInexistente"));
+		assertTrue(Hibernate.isInitialized(museo.getObras()));
+		assertEquals(obraList.size(), museo.getObras().size());
+	}
+
+	/**
+	 * Prueba consultar una entidad que no existe.
+	 */
+	@Test
+	void testGetOneInvalido() {
+		assertThrows(EntityNotFoundException.class, () -> {
+			fetchPlanService.getOne(ObraEntity.class, 0L, List.of("museo"));
+		});
+	}
+}
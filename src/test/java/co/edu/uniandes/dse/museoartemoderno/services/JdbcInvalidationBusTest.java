@@ -0,0 +1,116 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+
+/**
+ * Prueba el JdbcInvalidationBus con dos buses sobre la misma base de datos,
+ * como dos nodos que la comparten. Los mensajes se confirman de verdad, asi que
+ * la prueba no corre dentro de la transaccion de @DataJpaTest.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JdbcInvalidationBusTest {
+
+	private static final String CHANNEL = "jdbc-invalidation-bus-test";
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcInvalidationBus nodoA;
+
+	private JdbcInvalidationBus nodoB;
+
+	private List<InvalidationMessage> recibidosB = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		borrarMensajes();
+		nodoA = new JdbcInvalidationBus(dataSource, CHANNEL, 10000, 600000);
+		nodoB = new JdbcInvalidationBus(dataSource, CHANNEL, 10000, 600000);
+		nodoB.subscribe(recibidosB::add);
+	}
+
+	@AfterEach
+	void tearDown() throws SQLException {
+		nodoA.close();
+		nodoB.close();
+		borrarMensajes();
+	}
+
+	private void borrarMensajes() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("delete from invalidation_message where channel = ?")) {
+			statement.setString(1, CHANNEL);
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * Prueba que un mensaje publicado por un nodo llega al otro con sus cambios y llaves.
+	 */
+	@Test
+	void testMensajeEntreNodos() {
+		InvalidationMessage mensaje = new InvalidationMessage("nodo-a",
+				Set.of(new ResourceChangedEvent(MuseoEntity.class, 7L)), Map.of("museo.nombre", Set.of("MAMBO")));
+		nodoA.publish(mensaje);
+		nodoB.poll();
+
+		assertEquals(1, recibidosB.size());
+		InvalidationMessage recibido = recibidosB.get(0);
+		assertEquals("nodo-a", recibido.getOrigin());
+		assertEquals(mensaje.getChanges(), recibido.getChanges());
+		assertEquals(mensaje.getKeys(), recibido.getKeys());
+	}
+
+	/**
+	 * Prueba que cada mensaje se entrega una sola vez aunque caiga en la ventana
+	 * de solapamiento de varias lecturas.
+	 */
+	@Test
+	void testSinRepetidos() {
+		nodoA.publish(new InvalidationMessage("nodo-a", Set.of(new ResourceChangedEvent(MuseoEntity.class, 1L)), Map.of()));
+		nodoB.poll();
+		nodoA.publish(new InvalidationMessage("nodo-a", Set.of(new ResourceChangedEvent(MuseoEntity.class, 2L)), Map.of()));
+		nodoB.poll();
+		nodoB.poll();
+
+		assertEquals(2, recibidosB.size());
+		assertTrue(recibidosB.get(0).getChanges().contains(new ResourceChangedEvent(MuseoEntity.class, 1L)));
+		assertTrue(recibidosB.get(1).getChanges().contains(new ResourceChangedEvent(MuseoEntity.class, 2L)));
+	}
+
+	/**
+	 * Prueba que las llaves numericas (ids) conservan su tipo al pasar por el bus.
+	 */
+	@Test
+	void testLlavesNumericas() {
+		nodoA.publish(new InvalidationMessage("nodo-a", Set.of(), Map.of("museo.id", Set.of(42L))));
+		nodoB.poll();
+
+		assertEquals(Set.of(42L), recibidosB.get(0).getKeys().get("museo.id"));
+	}
+}
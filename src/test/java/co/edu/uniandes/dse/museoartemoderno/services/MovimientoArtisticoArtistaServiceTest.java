@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -116,7 +117,7 @@ class MovimientoArtisticoArtistaServiceTest
 
 		movimientoArtistico = factory.manufacturePojo(MovimientoArtisticoEntity.class);
 		movimientoArtistico.setFechaApogeo(fechaList.get(0));
-		movimientoArtistico.setMuseos(museoList);
+		movimientoArtistico.setMuseos(new HashSet<>(museoList));
 		movimientoArtistico.setLugarOrigen(paisList.get(1));
 		movimientoArtistico.setObras(obraList);
 		entityManager.persist(movimientoArtistico);
@@ -139,7 +140,7 @@ class MovimientoArtisticoArtistaServiceTest
 	{
 		MovimientoArtisticoEntity newMovimiento = factory.manufacturePojo(MovimientoArtisticoEntity.class);
 		newMovimiento.setObras(obraList);
-		newMovimiento.setMuseos(museoList);
+		newMovimiento.setMuseos(new HashSet<>(museoList));
 		newMovimiento.setLugarOrigen(paisList.get(2));
 		newMovimiento.setFechaApogeo(fechaList.get(0));
 		newMovimiento.setArtistas(artistaList);
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -143,7 +144,7 @@ class MovimientoArtisticoMuseoServiceTest
 	{
 		MovimientoArtisticoEntity newMovimiento = factory.manufacturePojo(MovimientoArtisticoEntity.class);
 		newMovimiento.setObras(obraList);
-		newMovimiento.setMuseos(museoList);
+		newMovimiento.setMuseos(new HashSet<>(museoList));
 		newMovimiento.setLugarOrigen(paisList.get(2));
 		newMovimiento.setFechaApogeo(fechaList.get(0));
 		newMovimiento.setArtistas(artistaList);
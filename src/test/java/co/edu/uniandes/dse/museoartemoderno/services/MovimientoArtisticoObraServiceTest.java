@@ -34,7 +34,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(MovimientoArtisticoObraService.class)
+@Import({ MovimientoArtisticoObraService.class, FetchPlanService.class })
 class MovimientoArtisticoObraServiceTest 
 {
 
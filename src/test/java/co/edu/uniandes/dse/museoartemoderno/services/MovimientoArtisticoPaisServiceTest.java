@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -37,7 +38,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({MovimientoArtisticoPaisService.class, MovimientoArtisticoService.class})
+@Import({ MovimientoArtisticoPaisService.class, MovimientoArtisticoService.class, FetchPlanService.class })
 class MovimientoArtisticoPaisServiceTest
 {
 	@Autowired
@@ -126,7 +127,7 @@ class MovimientoArtisticoPaisServiceTest
 		movimientoArtistico.setFechaApogeo(fechaList.get(0));
 		movimientoArtistico.setObras(obraList);
 		movimientoArtistico.setArtistas(artistaList);
-		movimientoArtistico.setMuseos(museoList);
+		movimientoArtistico.setMuseos(new HashSet<>(museoList));
 		entityManager.persist(movimientoArtistico);
 
 		for(int i = 1; i<=3; i++)
@@ -146,7 +147,7 @@ class MovimientoArtisticoPaisServiceTest
 	{
 		PaisEntity pais = paisList.get(1);
 		movimientoArtisticoPaisService.replacePais(movimientoArtistico.getId(), pais.getId());
-		MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.getMovimientoArtistico(movimientoArtistico.getId());
+		MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.getMovimientoArtistico(movimientoArtistico.getId(), List.of());
 		assertEquals(movimientoEntity.getLugarOrigen().getId(), pais.getId());
 	}
 	
@@ -179,7 +180,7 @@ class MovimientoArtisticoPaisServiceTest
 	void testRemoveMovimientoArtistico() throws EntityNotFoundException
 	{
 		movimientoArtisticoPaisService.removeMovimientoArtistico(movimientoArtistico.getId());
-		MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.getMovimientoArtistico(movimientoArtistico.getId());
+		MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoService.getMovimientoArtistico(movimientoArtistico.getId(), List.of());
 		assertNull(movimientoEntity.getLugarOrigen());
 	}
 	
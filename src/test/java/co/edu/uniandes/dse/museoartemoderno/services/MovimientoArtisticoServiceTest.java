@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -34,7 +35,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(MovimientoArtisticoService.class)
+@Import({ MovimientoArtisticoService.class, FetchPlanService.class })
 class MovimientoArtisticoServiceTest 
 {
 	@Autowired
@@ -124,7 +125,7 @@ class MovimientoArtisticoServiceTest
             {
                     MovimientoArtisticoEntity movimientoEntity = factory.manufacturePojo(MovimientoArtisticoEntity.class);
                     movimientoEntity.setArtistas(artistaList);
-                    movimientoEntity.setMuseos(museoList);
+                    movimientoEntity.setMuseos(new HashSet<>(museoList));
                     movimientoEntity.setObras(obraList);
                     movimientoEntity.setFechaApogeo(fechaList.get(0));
                     movimientoEntity.setLugarOrigen(paisList.get(1));
@@ -142,7 +143,7 @@ class MovimientoArtisticoServiceTest
             MovimientoArtisticoEntity newEntity = factory.manufacturePojo(MovimientoArtisticoEntity.class);
             
             newEntity.setObras(obraList);
-            newEntity.setMuseos(museoList);
+            newEntity.setMuseos(new HashSet<>(museoList));
             newEntity.setArtistas(artistaList);
             newEntity.setFechaApogeo(fechaList.get(2));
             newEntity.setLugarOrigen(paisList.get(0));
@@ -215,7 +216,7 @@ class MovimientoArtisticoServiceTest
     {
             MovimientoArtisticoEntity movimientoEntity = movimientoArtisticoList.get(0);
 
-            MovimientoArtisticoEntity movimientoConsultado = movimientoArtisticoService.getMovimientoArtistico(movimientoEntity.getId());
+            MovimientoArtisticoEntity movimientoConsultado = movimientoArtisticoService.getMovimientoArtistico(movimientoEntity.getId(), List.of());
             assertNotNull(movimientoConsultado);
 
             assertEquals(movimientoEntity.getId(), movimientoConsultado.getId());
@@ -229,7 +230,7 @@ class MovimientoArtisticoServiceTest
     void testGetMovimientoInvalido()
     {
             assertThrows(EntityNotFoundException.class, ()->{
-                    movimientoArtisticoService.getMovimientoArtistico(0L);
+                    movimientoArtisticoService.getMovimientoArtistico(0L, List.of());
             });
     }
     
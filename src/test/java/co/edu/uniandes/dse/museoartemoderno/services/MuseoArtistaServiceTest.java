@@ -1,6 +1,7 @@
 package co.edu.uniandes.dse.museoartemoderno.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -130,6 +131,24 @@ public class MuseoArtistaServiceTest {
 	}
 	
 	
+	/**
+	 * Prueba que asociar dos veces el mismo Artista a un Museo deja una sola asociacion.
+	 *
+	 * @throws EntityNotFoundException, IllegalOperationException
+	 */
+	@Test
+	void testAddArtistaIdempotente() throws EntityNotFoundException, IllegalOperationException {
+		ArtistaEntity artista = factory.manufacturePojo(ArtistaEntity.class);
+		entityManager.persist(artista);
+
+		museoArtistaService.addArtista(museo.getId(), artista.getId());
+		museoArtistaService.addArtista(museo.getId(), artista.getId());
+
+		List<ArtistaEntity> artistas = museoArtistaService.getArtistas(museo.getId());
+		assertEquals(1, artistas.stream().filter(a -> a.getId().equals(artista.getId())).count());
+	}
+	
+	
 	/**
 	 * Prueba para asociar un Museo que no existe a un Artista.
 	 *
@@ -177,6 +196,33 @@ public class MuseoArtistaServiceTest {
 	}
 	
 	
+	/**
+	 * Prueba para consultar por paginas los Artistas de un Museo.
+	 */
+	@Test
+	void testGetArtistasPaginados() throws EntityNotFoundException {
+		List<ArtistaEntity> primeraPagina = museoArtistaService.getArtistas(museo.getId(), 0L, 2);
+		assertEquals(2, primeraPagina.size());
+		assertTrue(primeraPagina.get(0).getId() < primeraPagina.get(1).getId());
+
+		List<ArtistaEntity> segundaPagina = museoArtistaService.getArtistas(museo.getId(), primeraPagina.get(1).getId(), 2);
+		assertEquals(1, segundaPagina.size());
+		assertTrue(primeraPagina.get(1).getId() < segundaPagina.get(0).getId());
+		assertTrue(artistaList.contains(segundaPagina.get(0)));
+	}
+	
+	
+	/**
+	 * Prueba para consultar por paginas los Artistas de un Museo que no existe.
+	 */
+	@Test
+	void testGetArtistasPaginadosInvalidMuseo(){
+		assertThrows(EntityNotFoundException.class, ()->{
+			museoArtistaService.getArtistas(0L, 0L, 2);
+		});
+	}
+	
+	
 	/**
 	 * Prueba para consultar la lista de Artistas de un Museo que no existe.
 	 */
@@ -274,6 +320,31 @@ public class MuseoArtistaServiceTest {
 			assertTrue(artistaEntity.contains(aNuevaLista));
 		}
 	}
+
+	/**
+	 * Prueba para verificar que reemplazar los Artistas de un Museo desasocia los que no estan en la nueva lista.
+	 *
+	 * @throws EntityNotFoundException
+	 */
+	@Test
+	void testReplaceArtistasRemueveAnteriores() throws EntityNotFoundException {
+		ArtistaEntity conservado = artistaList.get(0);
+		ArtistaEntity removido = artistaList.get(artistaList.size() - 1);
+		ArtistaEntity nuevo = factory.manufacturePojo(ArtistaEntity.class);
+		entityManager.persist(nuevo);
+
+		List<ArtistaEntity> nuevaLista = new ArrayList<>();
+		nuevaLista.add(conservado);
+		nuevaLista.add(nuevo);
+		museoArtistaService.replaceArtistas(museo.getId(), nuevaLista);
+
+		List<ArtistaEntity> artistas = museoArtistaService.getArtistas(museo.getId());
+		assertEquals(2, artistas.size());
+		assertTrue(artistas.contains(conservado));
+		assertTrue(artistas.contains(nuevo));
+		assertFalse(artistas.contains(removido));
+		assertFalse(removido.getMuseos().contains(museo));
+	}
 	
 	
 	/**
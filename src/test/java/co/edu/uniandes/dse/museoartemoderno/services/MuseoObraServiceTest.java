@@ -17,6 +17,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
@@ -32,7 +34,8 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(MuseoObraService.class)
+@Import({ MuseoObraService.class, FetchPlanService.class })
+@RecordApplicationEvents
 public class MuseoObraServiceTest {
 	
 	@Autowired
@@ -41,6 +44,9 @@ public class MuseoObraServiceTest {
 	@Autowired
 	private TestEntityManager entityManager;
 
+	@Autowired
+	private ApplicationEvents applicationEvents;
+
 	private PodamFactory factory = new PodamFactoryImpl();
 	
 	private MuseoEntity museo = new MuseoEntity();
@@ -277,6 +283,28 @@ public class MuseoObraServiceTest {
 	}
 	
 	
+	/**
+	 * Prueba que reemplazar las obras de un Museo con una obra de otro Museo
+	 * tambien publica el cambio del Museo del que sale la obra.
+	 *
+	 * @throws EntityNotFoundException
+	 */
+	@Test
+	void testReplaceObrasDeOtroMuseo() throws EntityNotFoundException {
+		MuseoEntity otroMuseo = factory.manufacturePojo(MuseoEntity.class);
+		otroMuseo.setUbicacion(paisList.get(0));
+		entityManager.persist(otroMuseo);
+		ObraEntity obra = factory.manufacturePojo(ObraEntity.class);
+		obra.setMuseo(otroMuseo);
+		entityManager.persist(obra);
+
+		museoObraService.replaceObras(museo.getId(), List.of(obra));
+
+		assertEquals(museo, obra.getMuseo());
+		assertEquals(1, applicationEvents.stream(ResourceChangedEvent.class)
+				.filter(event -> event.getType() == MuseoEntity.class && event.getId().equals(otroMuseo.getId())).count());
+	}
+
 	/**
 	 * Prueba para actualizar los Obras que no existen de un Museo.
 	 *
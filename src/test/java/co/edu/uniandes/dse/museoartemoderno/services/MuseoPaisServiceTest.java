@@ -31,7 +31,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({MuseoPaisService.class, MuseoService.class})
+@Import({ MuseoPaisService.class, MuseoService.class, KeyFilters.class, FetchPlanService.class })
 public class MuseoPaisServiceTest {
 	
 	@Autowired
@@ -115,7 +115,7 @@ public class MuseoPaisServiceTest {
 	void testReplacePais() throws EntityNotFoundException 	{
 		PaisEntity pais =  paisList.get(0);
 		museoPaisService.replacePais(museo.getId(), pais.getId());
-		MuseoEntity museoEntity = museoService.getMuseo(museo.getId());
+		MuseoEntity museoEntity = museoService.getMuseo(museo.getId(), List.of());
 		assertEquals(museoEntity.getUbicacion().getId(), pais.getId());
 
 	}
@@ -155,7 +155,7 @@ public class MuseoPaisServiceTest {
 	@Test
 	void testRemovePais() throws EntityNotFoundException {
 		museoPaisService.removePais(museo.getId());
-		MuseoEntity response = museoService.getMuseo(museo.getId());
+		MuseoEntity response = museoService.getMuseo(museo.getId(), List.of());
 		assertNull(response.getUbicacion());
 	}
 
@@ -11,6 +11,8 @@ import java.util.List;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
@@ -33,7 +37,8 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(MuseoService.class)
+@Import({ MuseoService.class, ResourceVersions.class, KeyFilters.class, FetchPlanService.class })
+@RecordApplicationEvents
 public class MuseoServiceTest {
 
 
@@ -43,6 +48,9 @@ public class MuseoServiceTest {
 	@Autowired
 	private TestEntityManager entityManager;
 
+	@Autowired
+	private ApplicationEvents applicationEvents;
+
 	private PodamFactory factory = new PodamFactoryImpl();
 
 	private List<ArtistaEntity> artistaList = new ArrayList<>();
@@ -190,7 +198,7 @@ public class MuseoServiceTest {
 	@Test
 	void testGetMuseo() throws EntityNotFoundException {
 		MuseoEntity entity = museoList.get(0);
-		MuseoEntity resultEntity = museoService.getMuseo(entity.getId());
+		MuseoEntity resultEntity = museoService.getMuseo(entity.getId(), List.of());
 		assertNotNull(resultEntity);
 		assertEquals(entity.getId(), resultEntity.getId());
 		assertEquals(entity.getNombre(), resultEntity.getNombre());
@@ -202,10 +210,22 @@ public class MuseoServiceTest {
 	@Test
 	void testGetInvalidMuseo() {
 		assertThrows(EntityNotFoundException.class,()->{
-			museoService.getMuseo(0L);
+			museoService.getMuseo(0L, List.of());
 		});
 	}
 
+	/**
+	 * Prueba que consultar un Museo que no existe no llega a la base de datos.
+	 */
+	@Test
+	void testGetInvalidMuseoSinConsulta() {
+		Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		long statements = statistics.getPrepareStatementCount();
+		assertThrows(EntityNotFoundException.class, () -> museoService.getMuseo(0L, List.of()));
+		assertEquals(statements, statistics.getPrepareStatementCount());
+	}
+
 	/**
 	 * Prueba para actualizar un Museo.
 	 */
@@ -229,6 +249,67 @@ public class MuseoServiceTest {
 		assertEquals(pojoEntity.getNombre(), response.getNombre());
 	}
 
+	/**
+	 * Prueba que actualizar un Museo publica el cambio para invalidar sus respuestas en cache.
+	 */
+	@Test
+	void testUpdateMuseoPublicaCambio() throws EntityNotFoundException, IllegalOperationException {
+		MuseoEntity entity = museoList.get(0);
+		MuseoEntity pojoEntity = factory.manufacturePojo(MuseoEntity.class);
+		pojoEntity.setArtistas(artistaList);
+		pojoEntity.setObras(obraList);
+		pojoEntity.setMovimientos(movimientoArtisticoList);
+		pojoEntity.setUbicacion(paisList.get(0));
+
+		museoService.updateMuseo(entity.getId(), pojoEntity);
+
+		assertEquals(1, applicationEvents.stream(ResourceChangedEvent.class)
+				.filter(event -> event.getType() == MuseoEntity.class && event.getId().equals(entity.getId())).count());
+	}
+
+	/**
+	 * Prueba que actualizar un Museo aumenta su version.
+	 */
+	@Test
+	void testUpdateMuseoAumentaVersion() throws EntityNotFoundException, IllegalOperationException {
+		MuseoEntity entity = museoList.get(0);
+		MuseoEntity pojoEntity = factory.manufacturePojo(MuseoEntity.class);
+		pojoEntity.setArtistas(artistaList);
+		pojoEntity.setObras(obraList);
+		pojoEntity.setMovimientos(movimientoArtisticoList);
+		pojoEntity.setUbicacion(paisList.get(0));
+
+		museoService.updateMuseo(entity.getId(), pojoEntity);
+		entityManager.flush();
+		entityManager.clear();
+
+		MuseoEntity resp = entityManager.find(MuseoEntity.class, entity.getId());
+		assertEquals(1L, resp.getVersion());
+		assertEquals(pojoEntity.getNombre(), resp.getNombre());
+	}
+
+	/**
+	 * Prueba que cada actualizacion aumenta la version de la instancia
+	 * administrada sin reiniciarla.
+	 */
+	@Test
+	void testUpdateMuseoVersionAcumulada() throws EntityNotFoundException, IllegalOperationException {
+		MuseoEntity entity = museoList.get(0);
+		for (int i = 0; i < 2; i++) {
+			MuseoEntity pojoEntity = factory.manufacturePojo(MuseoEntity.class);
+			pojoEntity.setArtistas(artistaList);
+			pojoEntity.setObras(obraList);
+			pojoEntity.setMovimientos(movimientoArtisticoList);
+			pojoEntity.setUbicacion(paisList.get(0));
+			museoService.updateMuseo(entity.getId(), pojoEntity);
+		}
+		assertEquals(2L, entityManager.find(MuseoEntity.class, entity.getId()).getVersion());
+
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(2L, entityManager.find(MuseoEntity.class, entity.getId()).getVersion());
+	}
+
 	/**
 	 * Prueba para actualizar un Museo invalido.
 	 */
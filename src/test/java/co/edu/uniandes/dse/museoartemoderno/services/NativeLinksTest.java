@@ -0,0 +1,125 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Prueba que asociar dos veces a la vez el mismo artista y museo deja una sola
+ * fila en la tabla de union y ninguna de las dos transacciones falla. Las
+ * transacciones se confirman de verdad, asi que la prueba no corre dentro de la
+ * transaccion de @DataJpaTest.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MuseoArtistaService.class)
+public class NativeLinksTest {
+
+	@Autowired
+	private MuseoArtistaService museoArtistaService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private TransactionTemplate transaction;
+
+	private MuseoEntity museo;
+
+	private ArtistaEntity artista;
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		transaction.executeWithoutResult(status -> {
+			museo = factory.manufacturePojo(MuseoEntity.class);
+			entityManager.persist(museo);
+			artista = factory.manufacturePojo(ArtistaEntity.class);
+			entityManager.persist(artista);
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transaction.executeWithoutResult(status -> {
+			entityManager.createNativeQuery("delete from artista_entity_museos where museos_id = :id")
+					.setParameter("id", museo.getId()).executeUpdate();
+			entityManager.createQuery("delete from ArtistaEntity where id = :id").setParameter("id", artista.getId()).executeUpdate();
+			entityManager.createQuery("delete from MuseoEntity where id = :id").setParameter("id", museo.getId()).executeUpdate();
+		});
+	}
+
+	/**
+	 * Prueba que la segunda asociacion, que espera a que la primera confirme su
+	 * fila, termina sin error y sin duplicar la fila.
+	 */
+	@Test
+	void testAsociacionConcurrente() throws Exception {
+		CountDownLatch asociado = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> primera = executor.submit(() -> transaction.executeWithoutResult(status -> {
+				asociar();
+				asociado.countDown();
+				try {
+					// La fila sigue sin confirmar mientras la segunda intenta insertarla
+					Thread.sleep(300);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			Future<?> segunda = executor.submit(() -> {
+				asociado.await(10, TimeUnit.SECONDS);
+				transaction.executeWithoutResult(status -> asociar());
+				return null;
+			});
+			primera.get(30, TimeUnit.SECONDS);
+			segunda.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Number filas = transaction.execute(status -> (Number) entityManager
+				.createNativeQuery("select count(*) from artista_entity_museos where artistas_id = :artistaId and museos_id = :museoId")
+				.setParameter("artistaId", artista.getId()).setParameter("museoId", museo.getId()).getSingleResult());
+		assertEquals(1, filas.intValue());
+	}
+
+	private void asociar() {
+		try {
+			museoArtistaService.addArtista(museo.getId(), artista.getId());
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -39,7 +39,7 @@ import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({ ObraArtistaService.class, ArtistaService.class })
+@Import({ ObraArtistaService.class, ArtistaService.class, KeyFilters.class, FetchPlanService.class })
 
 public class ObraArtistaServiceTest {
 	
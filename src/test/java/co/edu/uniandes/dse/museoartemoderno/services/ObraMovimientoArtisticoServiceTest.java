@@ -39,7 +39,7 @@ import co.edu.uniandes.dse.museoartemoderno.entities.ArtistaEntity;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({ ObraMovimientoArtisticoService.class, MovimientoArtisticoService.class })
+@Import({ ObraMovimientoArtisticoService.class, MovimientoArtisticoService.class, FetchPlanService.class })
 
 public class ObraMovimientoArtisticoServiceTest {
 	
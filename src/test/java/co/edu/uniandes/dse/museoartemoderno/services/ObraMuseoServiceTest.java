@@ -35,7 +35,7 @@ import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import({ ObraMuseoService.class, MuseoService.class })
+@Import({ ObraMuseoService.class, MuseoService.class, KeyFilters.class, FetchPlanService.class })
 
 public class ObraMuseoServiceTest {
 	
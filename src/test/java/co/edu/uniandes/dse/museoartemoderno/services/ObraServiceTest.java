@@ -37,7 +37,7 @@ import co.edu.uniandes.dse.museoartemoderno.entities.MovimientoArtisticoEntity;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(ObraService.class)
+@Import({ ObraService.class, FetchPlanService.class })
 public class ObraServiceTest {
 	
 	@Autowired
@@ -150,7 +150,7 @@ public class ObraServiceTest {
 	void testGetObra() throws EntityNotFoundException {
 		ObraEntity obraEntity = obraList.get(0);
 
-		ObraEntity resultEntity = obraService.getObra(obraEntity.getId());
+		ObraEntity resultEntity = obraService.getObra(obraEntity.getId(), List.of());
 		assertNotNull(resultEntity);
 
 		assertEquals(obraEntity.getId(), resultEntity.getId());
@@ -159,13 +159,28 @@ public class ObraServiceTest {
 		assertEquals(obraEntity.getDescripcion(), resultEntity.getDescripcion());
 	}
 	
+	/**
+	 * Prueba para consultar las obras por paginas usando el id de la ultima obra como cursor.
+	 */
+	@Test
+	void testGetAllObrasPaginadas() {
+		List<ObraEntity> primeraPagina = obraService.getAllObras(0L, 3, List.of());
+		assertEquals(3, primeraPagina.size());
+		assertEquals(obraList.get(0).getId(), primeraPagina.get(0).getId());
+
+		Long cursor = primeraPagina.get(primeraPagina.size() - 1).getId();
+		List<ObraEntity> segundaPagina = obraService.getAllObras(cursor, 3, List.of());
+		assertEquals(1, segundaPagina.size());
+		assertEquals(obraList.get(3).getId(), segundaPagina.get(0).getId());
+	}
+
 	/**
 	 * Prueba para consultar una Obra que no existe.
 	 */
 	@Test
 	void testGetInvalidObra() {
 		assertThrows(EntityNotFoundException.class, ()->{
-			obraService.getObra(0L);
+			obraService.getObra(0L, List.of());
 		});
 	}
 
@@ -30,7 +30,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(PaisService.class)
+@Import({ PaisService.class, KeyFilters.class, FetchPlanService.class })
 public class PaisServiceTest {
 	@Autowired
 	private PaisService paisService;
@@ -193,7 +193,7 @@ public class PaisServiceTest {
 
     PaisEntity entity = paisList.get(0);
 
-    PaisEntity resultEntity = paisService.getPais(entity.getId());
+    PaisEntity resultEntity = paisService.getPais(entity.getId(), List.of());
 
     assertNotNull(resultEntity);
 
@@ -217,7 +217,7 @@ public class PaisServiceTest {
 
     assertThrows(EntityNotFoundException.class,()->{
 
-    paisService.getPais(0L);
+    paisService.getPais(0L, List.of());
 
     });
 
@@ -0,0 +1,111 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Prueba que ResourceVersions aumenta la version de forma atomica: cada
+ * transaccion concurrente sobre el mismo recurso deja una version distinta.
+ * Las transacciones se confirman de verdad, asi que la prueba no corre dentro
+ * de la transaccion de @DataJpaTest.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ResourceVersions.class)
+public class ResourceVersionsTest {
+
+	private static final int ESCRITURAS = 8;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private TransactionTemplate transaction;
+
+	private MuseoEntity museo;
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		museo = transaction.execute(status -> {
+			MuseoEntity entity = factory.manufacturePojo(MuseoEntity.class);
+			entityManager.persist(entity);
+			return entity;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transaction.executeWithoutResult(status -> entityManager.createQuery("delete from MuseoEntity where id = :id")
+				.setParameter("id", museo.getId()).executeUpdate());
+	}
+
+	/**
+	 * Prueba que escrituras concurrentes del mismo recurso no comparten version.
+	 */
+	@Test
+	void testAumentosConcurrentes() throws Exception {
+		CyclicBarrier barrier = new CyclicBarrier(ESCRITURAS);
+		Set<Long> versiones = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(ESCRITURAS);
+		try {
+			List<Future<?>> escrituras = new ArrayList<>();
+			for (int i = 0; i < ESCRITURAS; i++)
+				escrituras.add(executor.submit(() -> transaction.executeWithoutResult(status -> {
+					MuseoEntity entity = entityManager.find(MuseoEntity.class, museo.getId());
+					try {
+						barrier.await(10, TimeUnit.SECONDS);
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+					resourceVersions.onResourceChanged(new ResourceChangedEvent(MuseoEntity.class, museo.getId()));
+					versiones.add(entity.getVersion());
+				})));
+			for (Future<?> escritura : escrituras)
+				escritura.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(ESCRITURAS, versiones.size());
+		Long version = transaction.execute(status -> entityManager.find(MuseoEntity.class, museo.getId()).getVersion());
+		assertEquals(ESCRITURAS, version);
+	}
+}
@@ -0,0 +1,98 @@
+package co.edu.uniandes.dse.museoartemoderno.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import co.edu.uniandes.dse.museoartemoderno.entities.MuseoEntity;
+import co.edu.uniandes.dse.museoartemoderno.exceptions.EntityNotFoundException;
+
+public class SingleFlightTest {
+
+	private SingleFlight singleFlight;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		singleFlight = new SingleFlight(5000, 100);
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Prueba que dos lecturas concurrentes con la misma llave comparten una sola ejecucion.
+	 */
+	@Test
+	void testExecuteAgrupaLecturasConcurrentes() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute("museo:1", () -> {
+			calls.incrementAndGet();
+			started.countDown();
+			release.await();
+			return "museo";
+		}));
+		started.await(5, TimeUnit.SECONDS);
+		Future<String> follower = executor.submit(() -> singleFlight.execute("museo:1", () -> {
+			calls.incrementAndGet();
+			return "otro";
+		}));
+		while (singleFlight.getMetrics().get("museo:1").getCoalesced() == 0)
+			Thread.sleep(10);
+		release.countDown();
+
+		assertEquals("museo", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("museo", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+		assertEquals(1, singleFlight.getMetrics().get("museo:1").getExecutions());
+	}
+
+	/**
+	 * Prueba que una lectura nueva no se une a la que empezo antes de un cambio confirmado.
+	 */
+	@Test
+	void testExecuteDespuesDeUnCambio() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute("museo:1", () -> {
+			started.countDown();
+			release.await();
+			return "viejo";
+		}));
+		started.await(5, TimeUnit.SECONDS);
+		singleFlight.onResourceChanged(new ResourceChangedEvent(MuseoEntity.class, 1L));
+
+		assertEquals("nuevo", singleFlight.execute("museo:1", () -> "nuevo"));
+		release.countDown();
+		assertEquals("viejo", leader.get(5, TimeUnit.SECONDS));
+		assertEquals(2, singleFlight.getMetrics().get("museo:1").getExecutions());
+	}
+
+	/**
+	 * Prueba que la excepcion de la lectura llega a quien la ejecuta.
+	 */
+	@Test
+	void testExecuteExcepcion() {
+		assertThrows(EntityNotFoundException.class, () -> singleFlight.execute("museo:2", () -> {
+			throw new EntityNotFoundException("MUSEO NOT FOUND");
+		}));
+	}
+}